@@ -0,0 +1,115 @@
+package org.challenge.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH CSV result file (-rf csv) against the checked in baseline and fails when any benchmark regressed.
+ * A benchmark only counts as regressed when the 99.9% confidence intervals JMH reports for the two runs do not overlap,
+ * so a change the measurements cannot tell apart from noise never fails the check, however large the scores' difference.
+ * Throughput scores must not drop, time and allocation (gc.alloc.rate.norm) scores must not rise, allocation changes
+ * below one byte per operation are treated as noise. Other -prof gc rows are skipped.
+ *
+ * Usage: java -cp target/benchmarks.jar org.challenge.benchmarks.BaselineCheck results.csv [baseline.csv]
+ */
+public final class BaselineCheck {
+    private static final String DEFAULT_BASELINE = "baseline/results.csv";
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double ALLOCATION_NOISE_BYTES = 1;
+    private static final String SECONDARY_METRIC = ":";
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if(args.length == 0) {
+            System.err.println("Usage: BaselineCheck results.csv [baseline.csv]");
+            System.exit(2);
+        }
+
+        Map<String, Result> current = read(Paths.get(args[0]));
+        Map<String, Result> baseline = read(Paths.get(args.length > 1 ? args[1] : DEFAULT_BASELINE));
+
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : baseline.entrySet()) {
+            Result expected = entry.getValue();
+            Result actual = current.get(entry.getKey());
+            if(actual == null) {
+                System.out.println("MISSING    " + entry.getKey());
+                continue;
+            }
+
+            boolean worse = expected.higherIsBetter ? actual.high() < expected.low() : actual.low() > expected.high();
+            boolean better = expected.higherIsBetter ? actual.low() > expected.high() : actual.high() < expected.low();
+            if(expected.unit.equals("B/op") && Math.abs(actual.score - expected.score) < ALLOCATION_NOISE_BYTES) {
+                worse = false;
+                better = false;
+            }
+
+            regressions += worse ? 1 : 0;
+            System.out.printf("%-10s %s %.3f +/- %.3f -> %.3f +/- %.3f %s (%+.1f%%)%n", worse ? "REGRESSED" : better ? "IMPROVED" : "OK",
+                    entry.getKey(), expected.score, expected.error, actual.score, actual.error, actual.unit,
+                    (actual.score - expected.score) / expected.score * 100);
+        }
+
+        if(regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed beyond their confidence intervals");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @param error - Half the width of the 99.9% confidence interval, 0 when JMH could not compute one
+     */
+    private record Result(double score, double error, String unit, boolean higherIsBetter) {
+        private double low() {
+            return this.score - this.error;
+        }
+
+        private double high() {
+            return this.score + this.error;
+        }
+    }
+
+    private static Map<String, Result> read(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path);
+        String[] header = split(lines.get(0));
+        Map<String, Result> results = new LinkedHashMap<>();
+
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = split(line);
+            String benchmark = columns[0];
+            boolean allocation = benchmark.endsWith(ALLOCATION_METRIC);
+            if(benchmark.contains(SECONDARY_METRIC) && !allocation) {
+                continue;
+            }
+
+            StringBuilder key = new StringBuilder(benchmark);
+            for (int i = 7; i < columns.length; i++) {
+                if(!columns[i].isEmpty()) {
+                    key.append(' ').append(header[i].replace("Param: ", "")).append('=').append(columns[i]);
+                }
+            }
+
+            boolean higherIsBetter = !allocation && "thrpt".equals(columns[1]);
+            double error = Double.parseDouble(columns[5]);
+            results.put(key.toString(), new Result(Double.parseDouble(columns[4]), Double.isNaN(error) ? 0 : error, columns[6], higherIsBetter));
+        }
+
+        return results;
+    }
+
+    private static String[] split(String line) {
+        String[] columns = line.split(",", -1);
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = columns[i].replace("\"", "").trim();
+        }
+
+        return columns;
+    }
+}
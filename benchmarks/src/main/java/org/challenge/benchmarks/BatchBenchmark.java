@@ -0,0 +1,47 @@
+package org.challenge.benchmarks;
+
+import org.challenge.evaluators.BatchHandEvaluator;
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.evaluators.LookupTableHandEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands per second through the BatchHandEvaluator, each invocation scores the whole corpus
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class BatchBenchmark {
+    private static final int CORPUS_SIZE = 1 << 16;
+
+    @Param({"RANDOM", "STRAIGHT_OR_BETTER"})
+    public HandCorpus.Kind corpus;
+
+    @Param({"bitmask", "lookup"})
+    public String evaluator;
+
+    private BatchHandEvaluator batchEvaluator;
+    private long[] masks;
+    private byte[] ranks;
+    private int[] strengths;
+
+    @Setup
+    public void setUp() {
+        this.batchEvaluator = new BatchHandEvaluator("lookup".equals(this.evaluator) ? LookupTableHandEvaluator.INSTANCE : BitMaskHandEvaluator.INSTANCE);
+        this.masks = HandCorpus.generate(this.corpus, CORPUS_SIZE).getMasks();
+        this.ranks = new byte[CORPUS_SIZE];
+        this.strengths = new int[CORPUS_SIZE];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public int[] batch() {
+        this.batchEvaluator.evaluate(this.masks, 0, CORPUS_SIZE, this.ranks, this.strengths);
+        return this.strengths;
+    }
+}
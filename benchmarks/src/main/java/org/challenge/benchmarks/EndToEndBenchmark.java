@@ -0,0 +1,53 @@
+package org.challenge.benchmarks;
+
+import org.challenge.handlers.PokerHandsHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lines per second through PokerHandsHandler.handle(), from a generated file to a discarded stdout
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+    private static final int LINES = 1 << 17;
+
+    @Param({"", "--parallel"})
+    public String mode;
+
+    private Path file;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.file = Files.createTempFile("hands", ".txt");
+        Files.write(this.file, List.of(HandCorpus.generate(HandCorpus.Kind.RANDOM, LINES).getLines()), StandardCharsets.UTF_8);
+        this.originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(this.originalOut);
+        Files.deleteIfExists(this.file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void handleFile() throws Exception {
+        String[] args = this.mode.isEmpty() ? new String[]{this.file.toString()} : new String[]{this.mode, this.file.toString()};
+        new PokerHandsHandler().handle(args);
+    }
+}
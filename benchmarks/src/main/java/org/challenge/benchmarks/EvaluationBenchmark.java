@@ -0,0 +1,62 @@
+package org.challenge.benchmarks;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.evaluators.HandEvaluator;
+import org.challenge.evaluators.LookupTableHandEvaluator;
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.challenge.models.Hand;
+import org.challenge.models.HandRank;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-hand latency of evaluation, from a ready card mask and from the text tokens of a line
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+    private static final int CORPUS_SIZE = 1 << 14;
+
+    @Param({"RANDOM", "PAIRED", "STRAIGHT_OR_BETTER"})
+    public HandCorpus.Kind corpus;
+
+    @Param({"bitmask", "lookup"})
+    public String evaluator;
+
+    private HandEvaluator handEvaluator;
+    private long[] masks;
+    private String[][] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        HandCorpus hands = HandCorpus.generate(this.corpus, CORPUS_SIZE);
+        this.handEvaluator = "lookup".equals(this.evaluator) ? LookupTableHandEvaluator.INSTANCE : BitMaskHandEvaluator.INSTANCE;
+        this.masks = hands.getMasks();
+        this.tokens = new String[CORPUS_SIZE][];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            this.tokens[i] = hands.getLines()[i].split(" ");
+        }
+    }
+
+    @Benchmark
+    public int strengthFromCardMask() {
+        return this.handEvaluator.determineStrength(this.masks[this.next++ & (CORPUS_SIZE - 1)]);
+    }
+
+    @Benchmark
+    public HandRank handRankFromCardMask() {
+        return this.handEvaluator.determineHandRank(this.masks[this.next++ & (CORPUS_SIZE - 1)]);
+    }
+
+    @Benchmark
+    public HandRank handRankFromTokens() throws UnmatchedCardValueException, DuplicateCardException {
+        return new Hand(this.tokens[this.next++ & (CORPUS_SIZE - 1)]).determineHandRank(this.handEvaluator);
+    }
+}
@@ -0,0 +1,114 @@
+package org.challenge.benchmarks;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.models.Card;
+import org.challenge.models.CardRank;
+import org.challenge.models.CardSuit;
+import org.challenge.models.HandRank;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic hand corpora shared by the benchmarks.
+ * Every corpus is drawn from a standard 52 card deck with a fixed seed, so runs on different machines or builds
+ * score exactly the same hands
+ */
+public final class HandCorpus {
+    public static final long SEED = 0x5EEDC0DEL;
+
+    private static final int CARDS_IN_HAND = 5;
+    private static final String[] CARD_TEXT = new String[64];
+    private static final long[] DECK = deck();
+
+    /**
+     * The hand mix of a corpus. RANDOM follows the natural distribution (about half high card hands), the skewed kinds
+     * exercise the branches of the evaluators that random hands rarely reach
+     */
+    public enum Kind {
+        RANDOM,
+        PAIRED,
+        STRAIGHT_OR_BETTER;
+
+        boolean accepts(HandRank rank) {
+            return switch (this) {
+                case RANDOM -> true;
+                case PAIRED -> rank == HandRank.ONE_PAIR || rank == HandRank.TWO_PAIR || rank == HandRank.THREE_OF_A_KIND;
+                case STRAIGHT_OR_BETTER -> rank.ordinal() <= HandRank.STRAIGHT.ordinal();
+            };
+        }
+    }
+
+    private final long[] masks;
+    private final String[] lines;
+
+    private HandCorpus(long[] masks, String[] lines) {
+        this.masks = masks;
+        this.lines = lines;
+    }
+
+    /**
+     * @param kind - The hand mix to generate
+     * @param size - Number of hands
+     * @return HandCorpus - The hands as card masks and as text lines in the input file format
+     */
+    public static HandCorpus generate(Kind kind, int size) {
+        SplittableRandom random = new SplittableRandom(SEED + kind.ordinal());
+        long[] masks = new long[size];
+        String[] lines = new String[size];
+        int[] cards = new int[CARDS_IN_HAND];
+
+        for (int hand = 0; hand < size; hand++) {
+            long mask;
+            do {
+                mask = 0;
+                for (int i = 0; i < CARDS_IN_HAND; i++) {
+                    do {
+                        cards[i] = random.nextInt(DECK.length);
+                    } while((mask & DECK[cards[i]]) != 0);
+
+                    mask |= DECK[cards[i]];
+                }
+            } while(!kind.accepts(BitMaskHandEvaluator.INSTANCE.determineHandRank(mask)));
+
+            StringBuilder line = new StringBuilder(CARDS_IN_HAND * 3);
+            for (int i = 0; i < CARDS_IN_HAND; i++) {
+                if(i > 0) {
+                    line.append(' ');
+                }
+
+                line.append(CARD_TEXT[Long.numberOfTrailingZeros(DECK[cards[i]])]);
+            }
+
+            masks[hand] = mask;
+            lines[hand] = line.toString();
+        }
+
+        return new HandCorpus(masks, lines);
+    }
+
+    public long[] getMasks() {
+        return masks;
+    }
+
+    public String[] getLines() {
+        return lines;
+    }
+
+    private static long[] deck() {
+        long[] deck = new long[52];
+        int count = 0;
+        for (CardSuit suit : CardSuit.values()) {
+            for (CardRank rank : CardRank.values()) {
+                if(rank == CardRank.ONE) {
+                    continue;
+                }
+
+                int bit = suit.getIndex() * Card.SUIT_SHIFT + rank.getIndex();
+                CARD_TEXT[bit] = rank.getText() + suit.getText();
+                deck[count++] = 1L << bit;
+            }
+        }
+
+        return deck;
+    }
+}
@@ -0,0 +1,64 @@
+package org.challenge.benchmarks;
+
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.challenge.io.ByteCardParser;
+import org.challenge.models.Card;
+import org.challenge.models.Hand;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning card text into the model, through Card(String), Hand(String[]) and the byte level parser
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class ParsingBenchmark {
+    private static final int CORPUS_SIZE = 1 << 14;
+
+    private String[] lines;
+    private String[] cards;
+    private ByteBuffer lineBytes;
+    private int[] lineOffsets;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        this.lines = HandCorpus.generate(HandCorpus.Kind.RANDOM, CORPUS_SIZE).getLines();
+        this.cards = new String[CORPUS_SIZE];
+        this.lineOffsets = new int[CORPUS_SIZE + 1];
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            this.cards[i] = this.lines[i].substring(0, 2);
+            this.lineOffsets[i] = text.length();
+            text.append(this.lines[i]);
+        }
+
+        this.lineOffsets[CORPUS_SIZE] = text.length();
+        this.lineBytes = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public Card cardFromString() throws UnmatchedCardValueException {
+        return new Card(this.cards[this.next++ & (CORPUS_SIZE - 1)]);
+    }
+
+    @Benchmark
+    public Hand handFromLine() throws UnmatchedCardValueException, DuplicateCardException {
+        return new Hand(this.lines[this.next++ & (CORPUS_SIZE - 1)].split(" "));
+    }
+
+    @Benchmark
+    public long cardMaskFromBytes() {
+        int line = this.next++ & (CORPUS_SIZE - 1);
+        return ByteCardParser.parseLine(this.lineBytes, this.lineOffsets[line], this.lineOffsets[line + 1], 5, 5);
+    }
+}
@@ -0,0 +1,122 @@
+package org.challenge.equity;
+
+import org.challenge.models.HandRank;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The outcome of an equity calculation: each player's share of the pot, how often they won outright or tied, and the
+ * HandRank distribution of the hands they made
+ */
+public class EquityResult {
+    private final EquityTally tally;
+    private final double[] halfWidths;
+    private final long elapsedNanos;
+
+    EquityResult(EquityTally tally, double[] halfWidths, long elapsedNanos) {
+        this.tally = tally;
+        this.halfWidths = halfWidths;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getPlayerCount() {
+        return this.tally.players();
+    }
+
+    /**
+     * @return long - Number of deals the result is based on
+     */
+    public long getDeals() {
+        return this.tally.deals();
+    }
+
+    /**
+     * @return long - Number of showdowns actually settled, fewer than getDeals() when equivalent deals were collapsed
+     */
+    public long getEvaluatedDeals() {
+        return this.tally.evaluated();
+    }
+
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * @param player - Index of the player
+     * @return double - The expected share of the pot, 0 to 1, split pots count as a fraction of a win
+     */
+    public double getEquity(int player) {
+        return this.tally.share(player) / this.tally.deals();
+    }
+
+    /**
+     * @param player - Index of the player
+     * @return double - Probability of winning the whole pot
+     */
+    public double getWinProbability(int player) {
+        return (double) this.tally.wins(player) / this.tally.deals();
+    }
+
+    /**
+     * @param player - Index of the player
+     * @return double - Probability of splitting the pot
+     */
+    public double getTieProbability(int player) {
+        return (double) this.tally.ties(player) / this.tally.deals();
+    }
+
+    /**
+     * @param player - Index of the player
+     * @return double - Probability of losing the pot outright
+     */
+    public double getLossProbability(int player) {
+        return (double) (this.tally.deals() - this.tally.wins(player) - this.tally.ties(player)) / this.tally.deals();
+    }
+
+    /**
+     * @param player - Index of the player
+     * @return double - Half the width of the 95% confidence interval around getEquity(), 0 for an exact result
+     */
+    public double getConfidenceHalfWidth(int player) {
+        return this.halfWidths[player];
+    }
+
+    /**
+     * @param player - Index of the player
+     * @param rank - The category
+     * @return long - Number of deals where the player's best hand fell into the category
+     */
+    public long getRankCount(int player, HandRank rank) {
+        return this.tally.rankCount(player, rank);
+    }
+
+    /**
+     * @param player - Index of the player
+     * @param rank - The category
+     * @return double - Probability that the player's best hand falls into the category
+     */
+    public double getRankProbability(int player, HandRank rank) {
+        return (double) this.tally.rankCount(player, rank) / this.tally.deals();
+    }
+
+    /**
+     * @return List - A line per player with their equity, followed by their HandRank distribution
+     */
+    public List<String> report() {
+        List<String> report = new ArrayList<>();
+        for (int i = 0; i < getPlayerCount(); i++) {
+            report.add(String.format(Locale.ROOT, "Player %d: equity %.4f (+/-%.4f), win %.4f, tie %.4f, loss %.4f",
+                    i + 1, getEquity(i), getConfidenceHalfWidth(i), getWinProbability(i), getTieProbability(i), getLossProbability(i)));
+            for (HandRank rank : HandRank.values()) {
+                if(getRankCount(i, rank) > 0) {
+                    report.add(String.format(Locale.ROOT, "  %-16s %.4f", rank, getRankProbability(i, rank)));
+                }
+            }
+        }
+
+        report.add(String.format(Locale.ROOT, "%d deals (%d evaluated) in %.1f ms", getDeals(), getEvaluatedDeals(), this.elapsedNanos / 1_000_000.0));
+        return report;
+    }
+}
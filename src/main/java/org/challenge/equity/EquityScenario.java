@@ -0,0 +1,139 @@
+package org.challenge.equity;
+
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.challenge.models.Card;
+import org.challenge.models.CardValidation;
+import org.challenge.models.Deck;
+
+import java.util.Arrays;
+
+/**
+ * The cards known before a Texas Hold'em showdown: zero to two hole cards for each player and zero to five board cards.
+ * A player with no known cards is a random opponent, every card that is not known is dealt from the rest of the deck
+ */
+public class EquityScenario {
+    public static final int HOLE_CARDS = 2;
+    public static final int BOARD_CARDS = 5;
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = (Deck.SIZE - BOARD_CARDS) / HOLE_CARDS;
+
+    private final Card[][] playerCards;
+    private final Card[] boardCards;
+    private final long[] playerMasks;
+    private final long boardMask;
+    private final long deadMask;
+
+    /**
+     * @param players - The known hole cards of each player, i.e. {{"AH", "KH"}, {"QS"}, {}}
+     * @param board - The known board cards, i.e. {"2C", "7D", "TH"}
+     * @throws IllegalArgumentException - Wrong number of players or cards, an invalid card description or a card outside
+     *                                    the deck
+     * @throws DuplicateCardException - The same card is known more than once
+     * @throws UnmatchedCardValueException - A rank or suit could not be matched
+     */
+    public EquityScenario(String[][] players, String[] board) throws IllegalArgumentException, DuplicateCardException, UnmatchedCardValueException {
+        if(players.length < MIN_PLAYERS || players.length > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Expected " + MIN_PLAYERS + " to " + MAX_PLAYERS + " players but received " + players.length);
+        }
+
+        this.playerCards = new Card[players.length][];
+        this.playerMasks = new long[players.length];
+        long dead = 0;
+        for (int i = 0; i < players.length; i++) {
+            this.playerCards[i] = new Card[Math.min(players[i].length, HOLE_CARDS)];
+            this.playerMasks[i] = validate(players[i], HOLE_CARDS, this.playerCards[i], dead);
+            dead |= this.playerMasks[i];
+        }
+
+        this.boardCards = new Card[Math.min(board.length, BOARD_CARDS)];
+        this.boardMask = validate(board, BOARD_CARDS, this.boardCards, dead);
+        this.deadMask = dead | this.boardMask;
+    }
+
+    /**
+     * One player with known hole cards against opponents holding random cards
+     * @param hero - The known hole cards
+     * @param board - The known board cards
+     * @param opponents - Number of random opponents
+     * @return EquityScenario - The hero is player 0
+     * @throws IllegalArgumentException - Wrong number of players or cards, or an invalid card description
+     * @throws DuplicateCardException - The same card is known more than once
+     * @throws UnmatchedCardValueException - A rank or suit could not be matched
+     */
+    public static EquityScenario againstRandom(String[] hero, String[] board, int opponents) throws IllegalArgumentException, DuplicateCardException, UnmatchedCardValueException {
+        String[][] players = new String[Math.max(opponents, 0) + 1][];
+        Arrays.fill(players, new String[0]);
+        players[0] = hero;
+        return new EquityScenario(players, board);
+    }
+
+    /**
+     * @param value - Space separated card descriptions, i.e. "AH KH", blank for no cards
+     * @return String[] - The card descriptions
+     */
+    public static String[] parseCards(String value) {
+        return value.isBlank() ? new String[0] : value.trim().split("\\s+");
+    }
+
+    /**
+     * @return boolean - true when every player's hole cards are known, so only the board is left to deal
+     */
+    public boolean isHoleCardsKnown() {
+        for (long mask : this.playerMasks) {
+            if(Long.bitCount(mask) != HOLE_CARDS) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static long validate(String[] input, int maxCards, Card[] cards, long known) throws IllegalArgumentException, DuplicateCardException, UnmatchedCardValueException {
+        long mask = CardValidation.validateHand(input, 0, maxCards, cards);
+        CardValidation.throwIfError(mask, input);
+        if(!Deck.contains(mask)) {
+            throw new IllegalArgumentException("Rank 1 cards are not part of the deck: " + String.join(" ", input));
+        }
+
+        if((mask & known) != 0) {
+            throw new DuplicateCardException("Card(s) known more than once: " + String.join(" ", input));
+        }
+
+        return mask;
+    }
+
+    public int getPlayerCount() {
+        return this.playerMasks.length;
+    }
+
+    public Card[] getPlayerCards(int player) {
+        return this.playerCards[player];
+    }
+
+    public Card[] getBoardCards() {
+        return this.boardCards;
+    }
+
+    /**
+     * @param player - Index of the player
+     * @return long - The card mask of the known hole cards
+     */
+    public long getPlayerMask(int player) {
+        return this.playerMasks[player];
+    }
+
+    /**
+     * @return long - The card mask of the known board cards
+     */
+    public long getBoardMask() {
+        return this.boardMask;
+    }
+
+    /**
+     * @return long - Every known card, none of them can be dealt
+     */
+    public long getDeadMask() {
+        return this.deadMask;
+    }
+}
@@ -0,0 +1,125 @@
+package org.challenge.equity;
+
+import org.challenge.evaluators.HandStrength;
+import org.challenge.models.HandRank;
+
+/**
+ * Running totals for one worker: each player's share of the pots, outright wins, ties and the HandRank of every hand
+ * they made. A deal can carry a weight so that one evaluated deal may stand for several equivalent ones
+ */
+final class EquityTally {
+    private static final int RANKS = HandRank.values().length;
+
+    private final int players;
+    private final double[] shares;
+    private final double[] squaredShares;
+    private final long[] wins;
+    private final long[] ties;
+    private final long[] rankCounts;
+    private long deals;
+    private long evaluated;
+
+    EquityTally(int players) {
+        this.players = players;
+        this.shares = new double[players];
+        this.squaredShares = new double[players];
+        this.wins = new long[players];
+        this.ties = new long[players];
+        this.rankCounts = new long[players * RANKS];
+    }
+
+    /**
+     * Splits the pot of one deal between the players holding the best strength
+     * @param strengths - The strength of each player's best hand
+     * @param weight - Number of deals this one stands for
+     */
+    void record(int[] strengths, long weight) {
+        int best = Integer.MIN_VALUE;
+        int winners = 0;
+        for (int i = 0; i < this.players; i++) {
+            if(strengths[i] > best) {
+                best = strengths[i];
+                winners = 1;
+            } else if(strengths[i] == best) {
+                winners++;
+            }
+        }
+
+        double share = 1.0 / winners;
+        for (int i = 0; i < this.players; i++) {
+            this.rankCounts[i * RANKS + HandStrength.handRankOrdinal(strengths[i])] += weight;
+            if(strengths[i] == best) {
+                this.shares[i] += share * weight;
+                this.squaredShares[i] += share * share * weight;
+                if(winners == 1) {
+                    this.wins[i] += weight;
+                } else {
+                    this.ties[i] += weight;
+                }
+            }
+        }
+
+        this.deals += weight;
+        this.evaluated++;
+    }
+
+    void merge(EquityTally other) {
+        for (int i = 0; i < this.players; i++) {
+            this.shares[i] += other.shares[i];
+            this.squaredShares[i] += other.squaredShares[i];
+            this.wins[i] += other.wins[i];
+            this.ties[i] += other.ties[i];
+        }
+
+        for (int i = 0; i < this.rankCounts.length; i++) {
+            this.rankCounts[i] += other.rankCounts[i];
+        }
+
+        this.deals += other.deals;
+        this.evaluated += other.evaluated;
+    }
+
+    /**
+     * Half the width of the normal approximation confidence interval around a player's sampled equity
+     * @param player - Index of the player
+     * @param z - Standard normal quantile of the confidence level, i.e. 1.96 for 95%
+     * @return double - The half width, infinite before any deal is recorded
+     */
+    double halfWidth(int player, double z) {
+        if(this.deals == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double mean = this.shares[player] / this.deals;
+        double variance = Math.max(this.squaredShares[player] / this.deals - mean * mean, 0);
+        return z * Math.sqrt(variance / this.deals);
+    }
+
+    int players() {
+        return this.players;
+    }
+
+    long deals() {
+        return this.deals;
+    }
+
+    long evaluated() {
+        return this.evaluated;
+    }
+
+    double share(int player) {
+        return this.shares[player];
+    }
+
+    long wins(int player) {
+        return this.wins[player];
+    }
+
+    long ties(int player) {
+        return this.ties[player];
+    }
+
+    long rankCount(int player, HandRank rank) {
+        return this.rankCounts[player * RANKS + rank.ordinal()];
+    }
+}
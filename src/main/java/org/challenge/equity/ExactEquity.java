@@ -0,0 +1,257 @@
+package org.challenge.equity;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.evaluators.HandEvaluator;
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.challenge.models.Card;
+import org.challenge.models.CardSuit;
+import org.challenge.models.Deck;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Settles every possible completion of the board for players whose hole cards are all known, giving exact win, tie
+ * and loss fractions.
+ * Suit isomorphism cuts the work: any permutation of the suits that maps every player's hole cards and the known board
+ * onto themselves maps each completion onto one that ends in exactly the same showdown. Only the completion with the
+ * smallest card mask in each such group is evaluated, counted once for every member of the group. Pocket pairs such as
+ * AH AS against KD KC leave four permutations, so roughly a quarter of the 1,712,304 preflop boards are evaluated.
+ * Completions are split by their lowest card across a ForkJoinPool
+ */
+public class ExactEquity {
+    private static final int SUITS = CardSuit.values().length;
+    private static final long SUIT_BITS = (1L << Card.SUIT_SHIFT) - 1;
+
+    private final HandEvaluator evaluator;
+    private final int parallelism;
+    private final boolean collapseIsomorphicBoards;
+
+    /**
+     * @param parallelism - Number of worker threads
+     */
+    public ExactEquity(int parallelism) {
+        this(BitMaskHandEvaluator.INSTANCE, parallelism, true);
+    }
+
+    /**
+     * @param evaluator - Evaluator for the seven card hands, it must accept seven cards
+     * @param parallelism - Number of worker threads
+     * @param collapseIsomorphicBoards - false to evaluate every completion, only useful to check the reduction
+     */
+    ExactEquity(HandEvaluator evaluator, int parallelism, boolean collapseIsomorphicBoards) {
+        this.evaluator = evaluator;
+        this.parallelism = parallelism;
+        this.collapseIsomorphicBoards = collapseIsomorphicBoards;
+    }
+
+    /**
+     * @param scenario - The known cards, every player's hole cards must be known
+     * @return EquityResult - Exact equity and HandRank distribution of each player
+     * @throws IllegalArgumentException - A player's hole cards are not all known
+     */
+    public EquityResult calculate(EquityScenario scenario) throws IllegalArgumentException {
+        if(!scenario.isHoleCardsKnown()) {
+            throw new IllegalArgumentException("Exact equity requires every player's hole cards to be known");
+        }
+
+        long start = System.nanoTime();
+        Enumeration enumeration = new Enumeration(scenario, this.collapseIsomorphicBoards ? symmetries(scenario) : new int[][] {});
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        EquityTally tally;
+        try {
+            tally = pool.invoke(new Completions(enumeration));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return new EquityResult(tally, new double[scenario.getPlayerCount()], System.nanoTime() - start);
+    }
+
+    /**
+     * Finds the suit permutations, other than the identity, that leave each player's hole cards and the board unchanged
+     * @return int[][] - Each permutation maps a suit index to the suit index it is replaced with
+     */
+    static int[][] symmetries(EquityScenario scenario) {
+        List<int[]> symmetries = new ArrayList<>();
+        for (int[] permutation : permutations()) {
+            boolean preserved = permute(scenario.getBoardMask(), permutation) == scenario.getBoardMask();
+            for (int i = 0; i < scenario.getPlayerCount() && preserved; i++) {
+                preserved = permute(scenario.getPlayerMask(i), permutation) == scenario.getPlayerMask(i);
+            }
+
+            if(preserved) {
+                symmetries.add(permutation);
+            }
+        }
+
+        return symmetries.toArray(new int[0][]);
+    }
+
+    /**
+     * @return List - The 23 permutations of the four suits other than the identity
+     */
+    private static List<int[]> permutations() {
+        List<int[]> permutations = new ArrayList<>();
+        for (int a = 0; a < SUITS; a++) {
+            for (int b = 0; b < SUITS; b++) {
+                for (int c = 0; c < SUITS; c++) {
+                    int d = 6 - a - b - c;
+                    boolean distinct = a != b && a != c && b != c && d != a && d != b && d != c;
+                    boolean identity = a == 0 && b == 1 && c == 2;
+                    if(distinct && !identity) {
+                        permutations.add(new int[] {a, b, c, d});
+                    }
+                }
+            }
+        }
+
+        return permutations;
+    }
+
+    static long permute(long cardMask, int[] permutation) {
+        long permuted = 0;
+        for (int suit = 0; suit < SUITS; suit++) {
+            permuted |= ((cardMask >>> (suit * Card.SUIT_SHIFT)) & SUIT_BITS) << (permutation[suit] * Card.SUIT_SHIFT);
+        }
+
+        return permuted;
+    }
+
+    /**
+     * The fixed inputs of one calculation, shared by every task
+     */
+    private final class Enumeration {
+        private final long[] players;
+        private final long board;
+        private final long[] remaining;
+        private final int missing;
+        private final int[][] symmetries;
+
+        private Enumeration(EquityScenario scenario, int[][] symmetries) {
+            this.players = new long[scenario.getPlayerCount()];
+            for (int i = 0; i < this.players.length; i++) {
+                this.players[i] = scenario.getPlayerMask(i);
+            }
+
+            this.board = scenario.getBoardMask();
+            this.missing = EquityScenario.BOARD_CARDS - Long.bitCount(this.board);
+            this.remaining = new long[Deck.SIZE - Long.bitCount(scenario.getDeadMask())];
+            int count = 0;
+            for (int i = 0; i < Deck.SIZE; i++) {
+                if((Deck.cardMask(i) & scenario.getDeadMask()) == 0) {
+                    this.remaining[count++] = Deck.cardMask(i);
+                }
+            }
+
+            this.symmetries = symmetries;
+        }
+
+        /**
+         * Deals the rest of the board from remaining[from...] on top of a partial board
+         */
+        private void deal(long board, int from, int cardsLeft, int[] strengths, EquityTally tally) {
+            if(cardsLeft == 0) {
+                settle(board, strengths, tally);
+                return;
+            }
+
+            for (int i = from; i <= this.remaining.length - cardsLeft; i++) {
+                deal(board | this.remaining[i], i + 1, cardsLeft - 1, strengths, tally);
+            }
+        }
+
+        private void settle(long board, int[] strengths, EquityTally tally) {
+            int fixedBy = 1;
+            for (int[] symmetry : this.symmetries) {
+                long image = permute(board, symmetry);
+                if(image < board) {
+                    return;
+                }
+
+                if(image == board) {
+                    fixedBy++;
+                }
+            }
+
+            for (int i = 0; i < this.players.length; i++) {
+                strengths[i] = ExactEquity.this.evaluator.determineStrength(this.players[i] | board);
+            }
+
+            tally.record(strengths, (this.symmetries.length + 1) / fixedBy);
+        }
+    }
+
+    /**
+     * Splits the completions by their lowest card, one subtask each, the river alone is a single completion
+     */
+    private static final class Completions extends RecursiveTask<EquityTally> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        // Tasks are never serialized, the enumeration is shared by every subtask of one run
+        private final transient Enumeration enumeration;
+        private final int lowestCard;
+
+        private Completions(Enumeration enumeration) {
+            this(enumeration, -1);
+        }
+
+        private Completions(Enumeration enumeration, int lowestCard) {
+            this.enumeration = enumeration;
+            this.lowestCard = lowestCard;
+        }
+
+        @Override
+        protected EquityTally compute() {
+            int[] strengths = new int[this.enumeration.players.length];
+            EquityTally tally = new EquityTally(this.enumeration.players.length);
+            if(this.lowestCard >= 0) {
+                long board = this.enumeration.board | this.enumeration.remaining[this.lowestCard];
+                this.enumeration.deal(board, this.lowestCard + 1, this.enumeration.missing - 1, strengths, tally);
+                return tally;
+            }
+
+            if(this.enumeration.missing == 0) {
+                this.enumeration.settle(this.enumeration.board, strengths, tally);
+                return tally;
+            }
+
+            List<Completions> subtasks = new ArrayList<>();
+            for (int i = 0; i <= this.enumeration.remaining.length - this.enumeration.missing; i++) {
+                subtasks.add(new Completions(this.enumeration, i));
+            }
+
+            invokeAll(subtasks);
+            for (Completions subtask : subtasks) {
+                tally.merge(subtask.join());
+            }
+
+            return tally;
+        }
+    }
+
+    /**
+     * Prints the exact equity of each player, one argument per player holding both their hole cards
+     * Usage: ExactEquity [--board="2C 7D TH"] "AH KH" "QS QD"
+     */
+    public static void main(String[] args) throws IllegalArgumentException, DuplicateCardException, UnmatchedCardValueException {
+        String[] board = new String[0];
+        List<String[]> players = new ArrayList<>();
+        for (String arg : args) {
+            if(arg.startsWith("--board=")) {
+                board = EquityScenario.parseCards(arg.substring("--board=".length()));
+            } else {
+                players.add(EquityScenario.parseCards(arg));
+            }
+        }
+
+        EquityScenario scenario = new EquityScenario(players.toArray(new String[0][]), board);
+        EquityResult result = new ExactEquity(Runtime.getRuntime().availableProcessors()).calculate(scenario);
+        result.report().forEach(System.out::println);
+    }
+}
@@ -0,0 +1,199 @@
+package org.challenge.equity;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.evaluators.HandEvaluator;
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.challenge.models.Deck;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Estimates equity by dealing the unknown cards of a scenario at random and settling each showdown.
+ * Trials run in rounds: every round hands a batch to each worker along with its own SplittableRandom split from the
+ * seed, so a run is repeatable for a given seed and parallelism. Cards are dealt by drawing from the deck and
+ * rejecting any already in the 52 bit mask of used cards, so a trial allocates nothing. After each round the 95%
+ * confidence interval of every player's equity is checked and the run stops once all of them are narrow enough
+ */
+public class MonteCarloEquity {
+    public static final int DEFAULT_BATCH_SIZE = 20_000;
+    public static final double Z_95 = 1.96;
+
+    private final HandEvaluator evaluator;
+    private final int parallelism;
+    private final int batchSize;
+
+    /**
+     * @param parallelism - Number of worker threads
+     */
+    public MonteCarloEquity(int parallelism) {
+        this(BitMaskHandEvaluator.INSTANCE, parallelism, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param evaluator - Evaluator for the seven card hands, it must accept seven cards
+     * @param parallelism - Number of worker threads
+     * @param batchSize - Trials each worker runs per round, between confidence checks
+     */
+    public MonteCarloEquity(HandEvaluator evaluator, int parallelism, int batchSize) {
+        this.evaluator = evaluator;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param scenario - The known cards
+     * @param maxTrials - The most deals to run
+     * @param targetHalfWidth - Stop once every player's 95% confidence interval is at most ± this, 0 to always run
+     *                          maxTrials
+     * @param seed - Seed of the root SplittableRandom
+     * @return EquityResult - Equity and HandRank distribution of each player
+     */
+    public EquityResult calculate(EquityScenario scenario, long maxTrials, double targetHalfWidth, long seed) {
+        long start = System.nanoTime();
+        SplittableRandom root = new SplittableRandom(seed);
+        EquityTally total = new EquityTally(scenario.getPlayerCount());
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            while(total.deals() < maxTrials && !narrowEnough(total, targetHalfWidth)) {
+                long remaining = maxTrials - total.deals();
+                List<Future<EquityTally>> round = new ArrayList<>(this.parallelism);
+                for (int i = 0; i < this.parallelism && remaining > 0; i++) {
+                    long trials = Math.min(this.batchSize, remaining);
+                    remaining -= trials;
+                    SplittableRandom random = root.split();
+                    round.add(pool.submit(() -> simulate(scenario, trials, random)));
+                }
+
+                for (Future<EquityTally> batch : round) {
+                    total.merge(await(batch));
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        double[] halfWidths = new double[total.players()];
+        for (int i = 0; i < halfWidths.length; i++) {
+            halfWidths[i] = total.halfWidth(i, Z_95);
+        }
+
+        return new EquityResult(total, halfWidths, System.nanoTime() - start);
+    }
+
+    private static boolean narrowEnough(EquityTally tally, double targetHalfWidth) {
+        if(targetHalfWidth <= 0 || tally.deals() == 0) {
+            return false;
+        }
+
+        for (int i = 0; i < tally.players(); i++) {
+            if(tally.halfWidth(i, Z_95) > targetHalfWidth) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private EquityTally simulate(EquityScenario scenario, long trials, SplittableRandom random) {
+        int players = scenario.getPlayerCount();
+        long[] known = new long[players];
+        int[] missing = new int[players];
+        for (int i = 0; i < players; i++) {
+            known[i] = scenario.getPlayerMask(i);
+            missing[i] = EquityScenario.HOLE_CARDS - Long.bitCount(known[i]);
+        }
+
+        long dead = scenario.getDeadMask();
+        long knownBoard = scenario.getBoardMask();
+        int missingBoard = EquityScenario.BOARD_CARDS - Long.bitCount(knownBoard);
+        int[] strengths = new int[players];
+        EquityTally tally = new EquityTally(players);
+
+        for (long trial = 0; trial < trials; trial++) {
+            long used = dead;
+            long board = knownBoard;
+            for (int c = 0; c < missingBoard; c++) {
+                long card = deal(random, used);
+                used |= card;
+                board |= card;
+            }
+
+            for (int i = 0; i < players; i++) {
+                long hand = known[i];
+                for (int c = 0; c < missing[i]; c++) {
+                    long card = deal(random, used);
+                    used |= card;
+                    hand |= card;
+                }
+
+                strengths[i] = this.evaluator.determineStrength(hand | board);
+            }
+
+            tally.record(strengths, 1);
+        }
+
+        return tally;
+    }
+
+    /**
+     * @param random - The worker's generator
+     * @param used - Cards already known or dealt
+     * @return long - The mask bit of a card drawn uniformly from the rest of the deck
+     */
+    private static long deal(SplittableRandom random, long used) {
+        long card;
+        do {
+            card = Deck.cardMask(random.nextInt(Deck.SIZE));
+        } while((used & card) != 0);
+
+        return card;
+    }
+
+    private static EquityTally await(Future<EquityTally> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating deals", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IllegalStateException("Failed to simulate deals", e.getCause());
+        }
+    }
+
+    /**
+     * Prints the equity of each player, one argument per player holding their known cards, "" for a random opponent
+     * Usage: MonteCarloEquity [--board="2C 7D TH"] [--trials=10000000] [--precision=0.001] "AH KH" "QS QD" ""
+     */
+    public static void main(String[] args) throws IllegalArgumentException, DuplicateCardException, UnmatchedCardValueException {
+        String[] board = new String[0];
+        long trials = 10_000_000;
+        double precision = 0.001;
+        List<String[]> players = new ArrayList<>();
+        for (String arg : args) {
+            if(arg.startsWith("--board=")) {
+                board = EquityScenario.parseCards(arg.substring("--board=".length()));
+            } else if(arg.startsWith("--trials=")) {
+                trials = Long.parseLong(arg.substring("--trials=".length()));
+            } else if(arg.startsWith("--precision=")) {
+                precision = Double.parseDouble(arg.substring("--precision=".length()));
+            } else {
+                players.add(EquityScenario.parseCards(arg));
+            }
+        }
+
+        EquityScenario scenario = new EquityScenario(players.toArray(new String[0][]), board);
+        EquityResult result = new MonteCarloEquity(Runtime.getRuntime().availableProcessors())
+                .calculate(scenario, trials, precision, System.nanoTime());
+        result.report().forEach(System.out::println);
+    }
+}
@@ -0,0 +1,113 @@
+package org.challenge.evaluators;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Evaluates many hands in one call from primitive arrays, writing HandRank ordinals and strengths into
+ * caller supplied output arrays (structure of arrays). No objects are created per hand.
+ * Hands are accepted either as 64-bit card masks or as ints packing five 6-bit card indexes, see pack()
+ */
+public class BatchHandEvaluator {
+    private static final int CARD_INDEX_BITS = 6;
+    private static final int CARD_INDEX_MASK = (1 << CARD_INDEX_BITS) - 1;
+    private static final int CARDS_IN_PACKED_HAND = 5;
+
+    private final HandEvaluator evaluator;
+
+    public BatchHandEvaluator(HandEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Evaluates count card masks starting at offset
+     * @param cardMasks - Card masks, see Card.getCardMask()
+     * @param offset - Index of the first hand to evaluate
+     * @param count - Number of hands to evaluate
+     * @param ranks - Receives the HandRank ordinal of each hand, at the same index as its mask
+     * @param strengths - Receives the strength of each hand, at the same index as its mask
+     */
+    public void evaluate(long[] cardMasks, int offset, int count, byte[] ranks, int[] strengths) {
+        checkBounds(cardMasks.length, offset, count, ranks.length, strengths.length);
+        for (int i = offset; i < offset + count; i++) {
+            int strength = this.evaluator.determineStrength(cardMasks[i]);
+            strengths[i] = strength;
+            ranks[i] = (byte) HandStrength.handRankOrdinal(strength);
+        }
+    }
+
+    /**
+     * Evaluates count packed five card hands starting at offset
+     * @param packedHands - Hands packed with pack()
+     * @param offset - Index of the first hand to evaluate
+     * @param count - Number of hands to evaluate
+     * @param ranks - Receives the HandRank ordinal of each hand, at the same index as the packed hand
+     * @param strengths - Receives the strength of each hand, at the same index as the packed hand
+     */
+    public void evaluate(int[] packedHands, int offset, int count, byte[] ranks, int[] strengths) {
+        checkBounds(packedHands.length, offset, count, ranks.length, strengths.length);
+        for (int i = offset; i < offset + count; i++) {
+            int strength = this.evaluator.determineStrength(unpack(packedHands[i]));
+            strengths[i] = strength;
+            ranks[i] = (byte) HandStrength.handRankOrdinal(strength);
+        }
+    }
+
+    /**
+     * Evaluates every card mask remaining in the buffer, the buffer position is left unchanged
+     * @param cardMasks - Consecutive 64-bit card masks in the buffer's byte order
+     * @param ranks - Receives the HandRank ordinal of each hand from index 0
+     * @param strengths - Receives the strength of each hand from index 0
+     * @return int - The number of hands evaluated
+     */
+    public int evaluate(ByteBuffer cardMasks, byte[] ranks, int[] strengths) {
+        int count = cardMasks.remaining() / Long.BYTES;
+        checkBounds(count, 0, count, ranks.length, strengths.length);
+        int position = cardMasks.position();
+        for (int i = 0; i < count; i++) {
+            int strength = this.evaluator.determineStrength(cardMasks.getLong(position + i * Long.BYTES));
+            strengths[i] = strength;
+            ranks[i] = (byte) HandStrength.handRankOrdinal(strength);
+        }
+
+        return count;
+    }
+
+    /**
+     * Packs five cards into an int, six bits per card holding the card's bit position in its card mask
+     * @param cardMask - A card mask holding exactly five cards
+     * @return int - The packed hand
+     * @throws IllegalArgumentException - The mask does not hold five cards
+     */
+    public static int pack(long cardMask) throws IllegalArgumentException {
+        if(Long.bitCount(cardMask) != CARDS_IN_PACKED_HAND) {
+            throw new IllegalArgumentException("Expected 5 Cards but received " + Long.bitCount(cardMask));
+        }
+
+        int packed = 0;
+        long remaining = cardMask;
+        while(remaining != 0) {
+            packed = (packed << CARD_INDEX_BITS) | Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+        }
+
+        return packed;
+    }
+
+    /**
+     * @param packedHand - A hand produced by pack()
+     * @return long - The card mask of the hand
+     */
+    public static long unpack(int packedHand) {
+        return (1L << (packedHand & CARD_INDEX_MASK))
+                | (1L << ((packedHand >>> CARD_INDEX_BITS) & CARD_INDEX_MASK))
+                | (1L << ((packedHand >>> (2 * CARD_INDEX_BITS)) & CARD_INDEX_MASK))
+                | (1L << ((packedHand >>> (3 * CARD_INDEX_BITS)) & CARD_INDEX_MASK))
+                | (1L << ((packedHand >>> (4 * CARD_INDEX_BITS)) & CARD_INDEX_MASK));
+    }
+
+    private static void checkBounds(int inputLength, int offset, int count, int ranksLength, int strengthsLength) throws IndexOutOfBoundsException {
+        if(offset < 0 || count < 0 || offset + count > inputLength || offset + count > ranksLength || offset + count > strengthsLength) {
+            throw new IndexOutOfBoundsException("Batch of " + count + " hands from " + offset + " does not fit the supplied arrays");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.challenge.evaluators;
+
+import org.challenge.models.Card;
+import org.challenge.models.CardRank;
+import org.challenge.models.HandRank;
+
+/**
+ * Evaluator that classifies a hand using only primitive bit arithmetic on the card mask.
+ * The mask is split into one rank bitmask per suit, from which rank multiplicities (pairs, trips, quads),
+ * flushes and straights are derived without allocating any objects.
+ * Masks of five, six or seven cards are supported, the result is always the best five card hand they contain.
+ */
+public class BitMaskHandEvaluator implements HandEvaluator {
+    public static final BitMaskHandEvaluator INSTANCE = new BitMaskHandEvaluator();
+
+    static final int RANK_BITS = (1 << (CardRank.ACE.getIndex() + 1)) - 1;
+
+    private static final int WHEEL = (1 << CardRank.ACE.getIndex()) | (1 << CardRank.TWO.getIndex())
+            | (1 << CardRank.THREE.getIndex()) | (1 << CardRank.FOUR.getIndex()) | (1 << CardRank.FIVE.getIndex());
+
+    private static final int CARDS_FOR_FLUSH = 5;
+
+    @Override
+    public HandRank determineHandRank(long cardMask) {
+        return HandStrength.handRank(determineStrength(cardMask));
+    }
+
+    @Override
+    public int determineStrength(long cardMask) {
+        int clubs = suitRanks(cardMask, 0);
+        int diamonds = suitRanks(cardMask, 1);
+        int hearts = suitRanks(cardMask, 2);
+        int spades = suitRanks(cardMask, 3);
+
+        int ranks = clubs | diamonds | hearts | spades;
+        int twoOrMore = (clubs & diamonds) | (hearts & spades) | ((clubs | diamonds) & (hearts | spades));
+        int threeOrMore = (clubs & diamonds & (hearts | spades)) | (hearts & spades & (clubs | diamonds));
+        int four = clubs & diamonds & hearts & spades;
+        int flushRanks = flushRanks(clubs, diamonds, hearts, spades);
+
+        if(flushRanks != 0) {
+            int straightHigh = straightHigh(flushRanks);
+            if(straightHigh == CardRank.ACE.getIndex()) {
+                return HandStrength.encode(HandRank.ROYAL_FLUSH, straightHigh);
+            }
+
+            if(straightHigh >= 0) {
+                return HandStrength.encode(HandRank.STRAIGHT_FLUSH, straightHigh);
+            }
+        }
+
+        if(four != 0) {
+            int kickers = HandStrength.appendRanks(0, four, 1);
+            return HandStrength.encode(HandRank.FOUR_OF_A_KIND, HandStrength.appendRanks(kickers, ranks & ~four, 1));
+        }
+
+        if(threeOrMore != 0 && Integer.bitCount(twoOrMore) >= 2) {
+            int trips = Integer.highestOneBit(threeOrMore);
+            int kickers = HandStrength.appendRanks(0, trips, 1);
+            return HandStrength.encode(HandRank.FULL_HOUSE, HandStrength.appendRanks(kickers, twoOrMore & ~trips, 1));
+        }
+
+        if(flushRanks != 0) {
+            return HandStrength.encode(HandRank.FLUSH, HandStrength.appendRanks(0, flushRanks, 5));
+        }
+
+        int straightHigh = straightHigh(ranks);
+        if(straightHigh >= 0) {
+            return HandStrength.encode(HandRank.STRAIGHT, straightHigh);
+        }
+
+        if(threeOrMore != 0) {
+            int kickers = HandStrength.appendRanks(0, threeOrMore, 1);
+            return HandStrength.encode(HandRank.THREE_OF_A_KIND, HandStrength.appendRanks(kickers, ranks & ~threeOrMore, 2));
+        }
+
+        if(Integer.bitCount(twoOrMore) >= 2) {
+            int topPairs = Integer.highestOneBit(twoOrMore);
+            topPairs |= Integer.highestOneBit(twoOrMore & ~topPairs);
+            int kickers = HandStrength.appendRanks(0, topPairs, 2);
+            return HandStrength.encode(HandRank.TWO_PAIR, HandStrength.appendRanks(kickers, ranks & ~topPairs, 1));
+        }
+
+        if(twoOrMore != 0) {
+            int kickers = HandStrength.appendRanks(0, twoOrMore, 1);
+            return HandStrength.encode(HandRank.ONE_PAIR, HandStrength.appendRanks(kickers, ranks & ~twoOrMore, 3));
+        }
+
+        return HandStrength.encode(HandRank.HIGH_CARD, HandStrength.appendRanks(0, ranks, 5));
+    }
+
+    /**
+     * Extracts the rank bitmask of a single suit from the card mask
+     * @param cardMask - The card mask of the hand
+     * @param suitIndex - The CardSuit index to extract
+     * @return int - A bitmask with one bit set per CardRank index held in that suit
+     */
+    static int suitRanks(long cardMask, int suitIndex) {
+        return (int) (cardMask >>> (suitIndex * Card.SUIT_SHIFT)) & RANK_BITS;
+    }
+
+    /**
+     * Returns the rank bitmask of the suit that holds at least five cards
+     * @return int - The ranks of the flush suit, or 0 when there is no flush
+     */
+    static int flushRanks(int clubs, int diamonds, int hearts, int spades) {
+        if(Integer.bitCount(clubs) >= CARDS_FOR_FLUSH) {
+            return clubs;
+        }
+
+        if(Integer.bitCount(diamonds) >= CARDS_FOR_FLUSH) {
+            return diamonds;
+        }
+
+        if(Integer.bitCount(hearts) >= CARDS_FOR_FLUSH) {
+            return hearts;
+        }
+
+        if(Integer.bitCount(spades) >= CARDS_FOR_FLUSH) {
+            return spades;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Finds the highest straight contained in a rank bitmask, the Ace may also play low (A, 2, 3, 4, 5)
+     * @param ranks - A bitmask with one bit per CardRank index
+     * @return int - The CardRank index of the top card of the straight, or -1 when there is no straight
+     */
+    static int straightHigh(int ranks) {
+        int runs = ranks & (ranks >>> 1) & (ranks >>> 2) & (ranks >>> 3) & (ranks >>> 4);
+        if(runs != 0) {
+            return 31 - Integer.numberOfLeadingZeros(runs) + 4;
+        }
+
+        if((ranks & WHEEL) == WHEEL) {
+            return CardRank.FIVE.getIndex();
+        }
+
+        return -1;
+    }
+}
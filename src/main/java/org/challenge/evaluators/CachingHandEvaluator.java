@@ -0,0 +1,45 @@
+package org.challenge.evaluators;
+
+import org.challenge.models.HandRank;
+
+/**
+ * Puts an EvaluationCache in front of another evaluator, for inputs where the same hands recur.
+ * Only strengths are cached, the HandRank is read back out of the strength. Hands the delegate rejects are never cached
+ */
+public class CachingHandEvaluator implements HandEvaluator {
+    private final HandEvaluator delegate;
+    private final EvaluationCache cache;
+
+    /**
+     * @param delegate - Evaluates the hands that are not cached
+     * @param cache - The cache, it may be shared by several CachingHandEvaluators over the same kind of evaluator
+     */
+    public CachingHandEvaluator(HandEvaluator delegate, EvaluationCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public HandRank determineHandRank(long cardMask) {
+        return HandStrength.handRank(determineStrength(cardMask));
+    }
+
+    @Override
+    public int determineStrength(long cardMask) {
+        int strength = this.cache.get(cardMask);
+        if(strength == EvaluationCache.MISSING) {
+            strength = this.delegate.determineStrength(cardMask);
+            this.cache.put(cardMask, strength);
+        }
+
+        return strength;
+    }
+
+    public HandEvaluator getDelegate() {
+        return this.delegate;
+    }
+
+    public EvaluationCache getCache() {
+        return this.cache;
+    }
+}
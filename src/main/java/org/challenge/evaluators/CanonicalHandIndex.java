@@ -0,0 +1,184 @@
+package org.challenge.evaluators;
+
+import org.challenge.models.Card;
+
+import java.util.Arrays;
+
+/**
+ * Index of the distinct hands of a corpus once card order and suit permutation are ignored, with how often each occurs.
+ * A card mask already ignores card order, the canonical key also ignores which suit is which by sorting the four
+ * per-suit rank bitmasks, so "AH KH 2C 3D 4S" and "AS KS 2D 3H 4C" share one key. Every hand with the same key has the
+ * same strength, and the key is itself the card mask of one of those hands, so it can be evaluated directly.
+ * Keys are held in insertion order in a primitive array and in an open addressing table alongside their count and id,
+ * so each distinct hand costs at most 40 bytes and no objects. Not thread safe
+ */
+public class CanonicalHandIndex {
+    private static final int SUIT_BITS = (1 << Card.SUIT_SHIFT) - 1;
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+    private static final long EMPTY = 0;
+    private static final int ID_BITS = 29;
+    private static final int MAX_SIZE = 1 << ID_BITS;
+    private static final long ID_MASK = MAX_SIZE - 1;
+
+    private long[] keys;
+    private long[] table;
+    private int tableShift;
+    private int size;
+    private long handCount;
+
+    public CanonicalHandIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedHands - The number of distinct hands expected, the index grows past it as needed
+     */
+    public CanonicalHandIndex(int expectedHands) {
+        int capacity = Integer.highestOneBit(Math.min(Math.max(expectedHands, 16), MAX_SIZE) - 1) << 1;
+        this.keys = new long[capacity];
+        resizeTable(capacity * 2);
+    }
+
+    /**
+     * Sorts the per-suit rank bitmasks of the hand from the largest in clubs down to the smallest in spades
+     * @param cardMask - The card mask of a hand
+     * @return long - The same key for every hand that differs only in card order or by a permutation of the suits
+     */
+    public static long canonicalKey(long cardMask) {
+        long a = cardMask & SUIT_BITS;
+        long b = (cardMask >>> Card.SUIT_SHIFT) & SUIT_BITS;
+        long c = (cardMask >>> (2 * Card.SUIT_SHIFT)) & SUIT_BITS;
+        long d = (cardMask >>> (3 * Card.SUIT_SHIFT)) & SUIT_BITS;
+
+        // Sorting network for four values, largest first
+        long high = Math.max(a, b);
+        long low = Math.min(a, b);
+        long highOther = Math.max(c, d);
+        long lowOther = Math.min(c, d);
+        long first = Math.max(high, highOther);
+        long last = Math.min(low, lowOther);
+        long middle = Math.min(high, highOther);
+        long middleOther = Math.max(low, lowOther);
+
+        return first | (Math.max(middle, middleOther) << Card.SUIT_SHIFT) | (Math.min(middle, middleOther) << (2 * Card.SUIT_SHIFT))
+                | (last << (3 * Card.SUIT_SHIFT));
+    }
+
+    /**
+     * Counts one occurrence of the hand
+     * @param cardMask - The card mask of the hand, holding at least one card
+     * @return int - The id of its canonical key, ids are dense and handed out in the order keys are first seen
+     */
+    public int add(long cardMask) {
+        long key = canonicalKey(cardMask);
+        this.handCount++;
+        int slot = find(key);
+        if(this.table[slot] == key) {
+            this.table[slot + 1] += 1L << ID_BITS;
+            return (int) (this.table[slot + 1] & ID_MASK);
+        }
+
+        if(this.size == this.keys.length) {
+            if(this.size == MAX_SIZE) {
+                throw new IllegalStateException("Canonical hand index is full");
+            }
+
+            this.keys = Arrays.copyOf(this.keys, Math.min(this.keys.length * 2, MAX_SIZE));
+        }
+
+        int id = this.size++;
+        this.keys[id] = key;
+        this.table[slot] = key;
+        this.table[slot + 1] = (1L << ID_BITS) | id;
+        if(this.size * 4L > this.table.length) {
+            resizeTable(this.table.length * 2);
+        }
+
+        return id;
+    }
+
+    /**
+     * Evaluates every distinct hand once
+     * @param evaluator - Used to evaluate the canonical keys
+     * @return int[] - The strength of each distinct hand, indexed by id
+     */
+    public int[] evaluate(HandEvaluator evaluator) {
+        int[] strengths = new int[this.size];
+        new BatchHandEvaluator(evaluator).evaluate(this.keys, 0, this.size, new byte[this.size], strengths);
+        return strengths;
+    }
+
+    /**
+     * @return int - The number of distinct hands
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return long - The number of hands added, counting every occurrence
+     */
+    public long getHandCount() {
+        return handCount;
+    }
+
+    /**
+     * @param id - An id returned by add()
+     * @return long - The canonical key of the hand, which is also the card mask of a hand with the same strength
+     */
+    public long getKey(int id) {
+        return this.keys[checkId(id)];
+    }
+
+    /**
+     * @param id - An id returned by add()
+     * @return long - How many hands added share the key
+     */
+    public long getCount(int id) {
+        return this.table[find(this.keys[checkId(id)]) + 1] >>> ID_BITS;
+    }
+
+    @Override
+    public String toString() {
+        return "Canonical hand index: " + this.handCount + " hands, " + this.size + " distinct";
+    }
+
+    private int checkId(int id) {
+        if(id < 0 || id >= this.size) {
+            throw new IndexOutOfBoundsException("Unknown hand id " + id);
+        }
+
+        return id;
+    }
+
+    /**
+     * Each slot is two longs, the key and then the count and id packed together, so a repeated hand touches one cache
+     * line. A key of 0 (no cards) marks an empty slot
+     * @return int - Index of the slot holding the key, or of the empty slot where it belongs
+     */
+    private int find(long key) {
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> this.tableShift) << 1;
+        while(this.table[slot] != key && this.table[slot] != EMPTY) {
+            slot = (slot + 2) & (this.table.length - 1);
+        }
+
+        return slot;
+    }
+
+    private void resizeTable(int length) {
+        long[] old = this.table;
+        this.table = new long[length];
+        this.tableShift = Long.SIZE - Integer.numberOfTrailingZeros(length / 2);
+        if(old == null) {
+            return;
+        }
+
+        for (int slot = 0; slot < old.length; slot += 2) {
+            if(old[slot] != EMPTY) {
+                int moved = find(old[slot]);
+                this.table[moved] = old[slot];
+                this.table[moved + 1] = old[slot + 1];
+            }
+        }
+    }
+}
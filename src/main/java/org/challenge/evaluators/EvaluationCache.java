@@ -0,0 +1,320 @@
+package org.challenge.evaluators;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A bounded map from card mask to hand strength, with no boxing.
+ * A card mask already ignores the order cards were written in, so "AH KD 2C 2S 9H" and "2S AH 9H KD 2C" share an entry.
+ * The cache is split into lock stripes chosen by the high bits of the mixed mask. Each stripe keeps its entries in
+ * fixed arrays with a linear probing index over them and evicts, once full, by the configured EvictionPolicy. Lookups
+ * are optimistic reads that only take the stripe's read lock when a write raced with them, so hits never block.
+ * Hits, misses and evictions are counted so the benefit for a workload can be measured
+ */
+public class EvaluationCache {
+    /**
+     * Returned by get() for a card mask that is not cached, strengths are never negative
+     */
+    public static final int MISSING = -1;
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+    public static final EvictionPolicy DEFAULT_POLICY = EvictionPolicy.CLOCK;
+
+    private static final int MAX_STRIPES = 64;
+
+    /**
+     * How a full stripe picks the entry to replace
+     */
+    public enum EvictionPolicy {
+        /**
+         * The oldest entry, regardless of how often it is used
+         */
+        FIFO,
+        /**
+         * Second chance: the oldest entry that has not been read since the clock hand last passed it, approximating LRU
+         * without reordering anything on a hit
+         */
+        CLOCK
+    }
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final EvictionPolicy policy;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity - The most entries held, rounded down to a multiple of the stripe count
+     * @param policy - How entries are evicted once the cache is full
+     * @throws IllegalArgumentException - The capacity is not positive
+     */
+    public EvaluationCache(int capacity, EvictionPolicy policy) throws IllegalArgumentException {
+        this(capacity, policy, MAX_STRIPES);
+    }
+
+    EvaluationCache(int capacity, EvictionPolicy policy, int maxStripes) throws IllegalArgumentException {
+        if(capacity <= 0) {
+            throw new IllegalArgumentException("Expected a positive cache capacity but received " + capacity);
+        }
+
+        int stripeCount = Integer.highestOneBit(Math.min(capacity, maxStripes));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(capacity / stripeCount, policy);
+        }
+
+        this.stripeShift = Long.SIZE - Integer.numberOfTrailingZeros(stripeCount);
+        this.policy = policy;
+    }
+
+    /**
+     * @param cardMask - The hand
+     * @return int - The cached strength, or MISSING
+     */
+    public int get(long cardMask) {
+        long hash = mix(cardMask);
+        int value = stripe(hash).get((int) hash, cardMask);
+        if(value == MISSING) {
+            this.misses.increment();
+        } else {
+            this.hits.increment();
+        }
+
+        return value;
+    }
+
+    /**
+     * Caches a strength, evicting another entry from the stripe when it is full
+     * @param cardMask - The hand
+     * @param strength - Its strength, never negative
+     */
+    public void put(long cardMask, int strength) {
+        long hash = mix(cardMask);
+        if(stripe(hash).put((int) hash, cardMask, strength)) {
+            this.evictions.increment();
+        }
+    }
+
+    /**
+     * @return int - Number of entries currently held
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : this.stripes) {
+            size += stripe.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * @return int - The most entries the cache holds
+     */
+    public int capacity() {
+        return this.stripes.length * this.stripes[0].capacity();
+    }
+
+    public EvictionPolicy getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * @return Stats - The counters so far, they are read one by one so may be slightly apart under concurrent use
+     */
+    public Stats getStats() {
+        return new Stats(this.hits.sum(), this.misses.sum(), this.evictions.sum(), size(), capacity());
+    }
+
+    private Stripe stripe(long hash) {
+        return this.stripes.length == 1 ? this.stripes[0] : this.stripes[(int) (hash >>> this.stripeShift)];
+    }
+
+    /**
+     * The 64 bit finaliser of MurmurHash3, card masks are sparse so their bits need spreading before they are bucketed
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * @param hits - Lookups answered by the cache
+     * @param misses - Lookups that fell through to the evaluator
+     * @param evictions - Entries replaced to make room
+     * @param size - Entries currently held
+     * @param capacity - The most entries held
+     */
+    public record Stats(long hits, long misses, long evictions, int size, int capacity) {
+        /**
+         * @return double - Fraction of lookups answered by the cache, 0 before any lookup
+         */
+        public double hitRate() {
+            long lookups = this.hits + this.misses;
+            return lookups == 0 ? 0 : (double) this.hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "Evaluation cache: %d hits, %d misses (%.2f%% hit rate), %d evictions, %d of %d entries used",
+                    this.hits, this.misses, hitRate() * 100, this.evictions, this.size, this.capacity);
+        }
+    }
+
+    /**
+     * One lock stripe: entries live in slots 0 to capacity - 1, filled in order and then replaced in place, and index
+     * maps a hash to slot + 1 (0 is empty) with linear probing. index is at least twice the capacity so probes stay short
+     */
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private final EvictionPolicy policy;
+        private final long[] keys;
+        private final int[] values;
+        private final byte[] referenced;
+        private final int[] index;
+        private final int indexMask;
+        private int size;
+        private int hand;
+
+        private Stripe(int capacity, EvictionPolicy policy) {
+            this.policy = policy;
+            this.keys = new long[capacity];
+            this.values = new int[capacity];
+            this.referenced = new byte[capacity];
+            this.index = new int[Integer.highestOneBit(capacity) << 2];
+            this.indexMask = this.index.length - 1;
+        }
+
+        private int get(int hash, long key) {
+            long stamp = this.lock.tryOptimisticRead();
+            int slot = find(hash, key);
+            int value = slot < 0 ? MISSING : this.values[slot];
+            if(!this.lock.validate(stamp)) {
+                stamp = this.lock.readLock();
+                try {
+                    slot = find(hash, key);
+                    value = slot < 0 ? MISSING : this.values[slot];
+                } finally {
+                    this.lock.unlockRead(stamp);
+                }
+            }
+
+            if(slot >= 0 && this.policy == EvictionPolicy.CLOCK) {
+                // A racy hint for the clock hand, losing an update only costs the entry its second chance
+                this.referenced[slot] = 1;
+            }
+
+            return value;
+        }
+
+        /**
+         * @return boolean - true when an entry was evicted to make room
+         */
+        private boolean put(int hash, long key, int value) {
+            long stamp = this.lock.writeLock();
+            try {
+                int existing = find(hash, key);
+                if(existing >= 0) {
+                    this.values[existing] = value;
+                    return false;
+                }
+
+                boolean evicted = this.size == this.keys.length;
+                int slot = evicted ? victim() : this.size++;
+                if(evicted) {
+                    removeFromIndex(this.keys[slot]);
+                }
+
+                this.keys[slot] = key;
+                this.values[slot] = value;
+                this.referenced[slot] = 0;
+                int position = hash & this.indexMask;
+                while(this.index[position] != 0) {
+                    position = (position + 1) & this.indexMask;
+                }
+
+                this.index[position] = slot + 1;
+                return evicted;
+            } finally {
+                this.lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Probes at most the whole index, an optimistic read racing a write may otherwise not meet an empty position
+         * @return int - The slot holding the key, or -1
+         */
+        private int find(int hash, long key) {
+            int position = hash & this.indexMask;
+            for (int probes = 0; probes < this.index.length; probes++) {
+                int entry = this.index[position];
+                if(entry == 0) {
+                    return -1;
+                }
+
+                int slot = entry - 1;
+                if(slot < this.keys.length && this.keys[slot] == key) {
+                    return slot;
+                }
+
+                position = (position + 1) & this.indexMask;
+            }
+
+            return -1;
+        }
+
+        private int victim() {
+            if(this.policy == EvictionPolicy.CLOCK) {
+                while(this.referenced[this.hand] != 0) {
+                    this.referenced[this.hand] = 0;
+                    this.hand = (this.hand + 1) % this.keys.length;
+                }
+            }
+
+            int slot = this.hand;
+            this.hand = (this.hand + 1) % this.keys.length;
+            return slot;
+        }
+
+        /**
+         * Backward shift deletion: entries further along the probe run move up into the gap unless that would place them
+         * before their home position, so no tombstones are needed
+         */
+        private void removeFromIndex(long key) {
+            int gap = (int) mix(key) & this.indexMask;
+            while(this.index[gap] == 0 || this.keys[this.index[gap] - 1] != key) {
+                gap = (gap + 1) & this.indexMask;
+            }
+
+            this.index[gap] = 0;
+            int position = gap;
+            while(true) {
+                position = (position + 1) & this.indexMask;
+                int entry = this.index[position];
+                if(entry == 0) {
+                    return;
+                }
+
+                int home = (int) mix(this.keys[entry - 1]) & this.indexMask;
+                boolean homeAfterGap = position > gap ? home > gap && home <= position : home > gap || home <= position;
+                if(!homeAfterGap) {
+                    this.index[gap] = entry;
+                    this.index[position] = 0;
+                    gap = position;
+                }
+            }
+        }
+
+        private int size() {
+            return this.size;
+        }
+
+        private int capacity() {
+            return this.keys.length;
+        }
+    }
+}
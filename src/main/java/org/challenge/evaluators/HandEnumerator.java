@@ -0,0 +1,284 @@
+package org.challenge.evaluators;
+
+import org.challenge.models.Deck;
+import org.challenge.models.HandRank;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Walks every combination of the 52 card Deck and feeds each one, as a card mask, to an evaluator. For five cards that
+ * is all 2,598,960 hands.
+ * Combinations are numbered with the combinatorial number system, so the index space is cut into equal ranges, the
+ * first combination of each range is unranked directly and the rest are stepped through in colex order. Ranges are
+ * counted on a ForkJoinPool, each into its own array, and merged at the end.
+ * Two evaluators can be cross-checked, every hand where their strengths differ is counted and the first few are kept
+ */
+public class HandEnumerator {
+    public static final int MIN_CARDS = 5;
+    public static final int MAX_CARDS = 7;
+
+    private static final long[][] BINOMIAL = binomials();
+    private static final int RANGES_PER_THREAD = 16;
+    private static final int MAX_SAMPLE_MISMATCHES = 10;
+
+    private final int cardsPerHand;
+    private final int parallelism;
+
+    /**
+     * @param cardsPerHand - Cards in each combination, 5 to 7
+     * @param parallelism - Number of worker threads
+     * @throws IllegalArgumentException - The card count is outside 5 to 7
+     */
+    public HandEnumerator(int cardsPerHand, int parallelism) throws IllegalArgumentException {
+        if(cardsPerHand < MIN_CARDS || cardsPerHand > MAX_CARDS) {
+            throw new IllegalArgumentException("Expected 5 to 7 Cards but received " + cardsPerHand);
+        }
+
+        this.cardsPerHand = cardsPerHand;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return long - Number of combinations enumerated, C(52, cardsPerHand)
+     */
+    public long getHandCount() {
+        return BINOMIAL[Deck.SIZE][this.cardsPerHand];
+    }
+
+    /**
+     * Counts the HandRank of every combination
+     * @param evaluator - The evaluator to run
+     * @return Result - The category totals and timing
+     */
+    public Result enumerate(HandEvaluator evaluator) {
+        return crossCheck(evaluator, null);
+    }
+
+    /**
+     * Counts the HandRank of every combination with the expected evaluator and compares the strength of the other
+     * @param expected - The reference evaluator, its categories are the ones counted
+     * @param actual - The evaluator being checked, or null to only count
+     * @return Result - The category totals, the number of hands the two disagree on and the timing
+     */
+    public Result crossCheck(HandEvaluator expected, HandEvaluator actual) {
+        long start = System.nanoTime();
+        long total = getHandCount();
+        int ranges = this.parallelism * RANGES_PER_THREAD;
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            List<Future<Result>> tasks = new ArrayList<>();
+            for (int i = 0; i < ranges; i++) {
+                long from = total * i / ranges;
+                long to = total * (i + 1) / ranges;
+                tasks.add(pool.submit(() -> enumerateRange(from, to, expected, actual)));
+            }
+
+            long[] rankCounts = new long[HandRank.values().length];
+            long mismatches = 0;
+            List<Long> samples = new ArrayList<>();
+            for (Future<Result> task : tasks) {
+                Result range = await(task);
+                for (int r = 0; r < rankCounts.length; r++) {
+                    rankCounts[r] += range.rankCounts()[r];
+                }
+
+                mismatches += range.mismatches();
+                for (long mask : range.sampleMismatches()) {
+                    if(samples.size() < MAX_SAMPLE_MISMATCHES) {
+                        samples.add(mask);
+                    }
+                }
+            }
+
+            return new Result(this.cardsPerHand, rankCounts, mismatches, samples, System.nanoTime() - start);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Result enumerateRange(long from, long to, HandEvaluator expected, HandEvaluator actual) {
+        int k = this.cardsPerHand;
+        int[] combination = unrank(from, k);
+        long[] rankCounts = new long[HandRank.values().length];
+        long mismatches = 0;
+        List<Long> samples = new ArrayList<>();
+
+        for (long index = from; index < to; index++) {
+            long mask = 0;
+            for (int i = 0; i < k; i++) {
+                mask |= Deck.cardMask(combination[i]);
+            }
+
+            int strength = expected.determineStrength(mask);
+            rankCounts[HandStrength.handRankOrdinal(strength)]++;
+            if(actual != null && actual.determineStrength(mask) != strength) {
+                mismatches++;
+                if(samples.size() < MAX_SAMPLE_MISMATCHES) {
+                    samples.add(mask);
+                }
+            }
+
+            next(combination);
+        }
+
+        return new Result(k, rankCounts, mismatches, samples, 0);
+    }
+
+    /**
+     * Finds the combination at an index of the combinatorial number system, index = sum of C(c[i], i + 1)
+     * @param index - 0 to C(52, k) - 1
+     * @param k - Cards in the combination
+     * @return int[] - Ascending deck positions
+     */
+    static int[] unrank(long index, int k) {
+        int[] combination = new int[k];
+        long remaining = index;
+        int candidate = Deck.SIZE - 1;
+        for (int i = k; i > 0; i--) {
+            while(BINOMIAL[candidate][i] > remaining) {
+                candidate--;
+            }
+
+            combination[i - 1] = candidate;
+            remaining -= BINOMIAL[candidate][i];
+            candidate--;
+        }
+
+        return combination;
+    }
+
+    /**
+     * @param combination - Ascending deck positions
+     * @return long - The index of the combination in the combinatorial number system
+     */
+    static long rank(int[] combination) {
+        long index = 0;
+        for (int i = 0; i < combination.length; i++) {
+            index += BINOMIAL[combination[i]][i + 1];
+        }
+
+        return index;
+    }
+
+    /**
+     * Steps to the combination with the next index (colex order): the lowest position that can move up does, and the
+     * positions below it reset to 0, 1, 2...
+     */
+    private static void next(int[] combination) {
+        int last = combination.length - 1;
+        for (int i = 0; i < last; i++) {
+            if(combination[i] + 1 < combination[i + 1]) {
+                combination[i]++;
+                resetBelow(combination, i);
+                return;
+            }
+        }
+
+        combination[last]++;
+        resetBelow(combination, last);
+    }
+
+    private static void resetBelow(int[] combination, int position) {
+        for (int i = 0; i < position; i++) {
+            combination[i] = i;
+        }
+    }
+
+    private static long[][] binomials() {
+        long[][] binomial = new long[Deck.SIZE + 1][MAX_CARDS + 1];
+        for (int n = 0; n <= Deck.SIZE; n++) {
+            binomial[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, MAX_CARDS); k++) {
+                binomial[n][k] = binomial[n - 1][k - 1] + (k <= n - 1 ? binomial[n - 1][k] : 0);
+            }
+        }
+
+        return binomial;
+    }
+
+    private static Result await(Future<Result> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while enumerating hands", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IllegalStateException("Failed to enumerate hands", e.getCause());
+        }
+    }
+
+    /**
+     * @param cardsPerHand - Cards in each combination
+     * @param rankCounts - Number of combinations in each HandRank, indexed by ordinal
+     * @param mismatches - Number of combinations where the two evaluators disagreed on the strength
+     * @param sampleMismatches - The card masks of the first few disagreements
+     * @param elapsedNanos - Wall clock time of the run
+     */
+    public record Result(int cardsPerHand, long[] rankCounts, long mismatches, List<Long> sampleMismatches, long elapsedNanos) {
+        public long getCount(HandRank rank) {
+            return this.rankCounts[rank.ordinal()];
+        }
+
+        public long getHandCount() {
+            long hands = 0;
+            for (long count : this.rankCounts) {
+                hands += count;
+            }
+
+            return hands;
+        }
+
+        /**
+         * @return List - The count of every HandRank, the cross-check outcome and the throughput
+         */
+        public List<String> report() {
+            List<String> report = new ArrayList<>();
+            for (HandRank rank : HandRank.values()) {
+                report.add(String.format(Locale.ROOT, "%-16s %12d", rank, getCount(rank)));
+            }
+
+            report.add(String.format(Locale.ROOT, "%-16s %12d", "Total", getHandCount()));
+            report.add("Mismatches: " + this.mismatches);
+            for (long mask : this.sampleMismatches) {
+                report.add("  card mask 0x" + Long.toHexString(mask));
+            }
+
+            double seconds = this.elapsedNanos / 1_000_000_000.0;
+            report.add(String.format(Locale.ROOT, "Enumerated %d %d card hands in %.1f ms, %.0f hands/s",
+                    getHandCount(), this.cardsPerHand, this.elapsedNanos / 1_000_000.0, seconds == 0 ? 0 : getHandCount() / seconds));
+            return report;
+        }
+    }
+
+    /**
+     * Enumerates every hand and prints the totals, optionally cross-checking a second evaluator
+     * Usage: HandEnumerator [cards per hand, default 5] [bitmask | lookup] [bitmask | lookup to cross-check]
+     */
+    public static void main(String[] args) {
+        int cards = args.length > 0 ? Integer.parseInt(args[0]) : MIN_CARDS;
+        HandEvaluator expected = args.length > 1 ? evaluator(args[1]) : BitMaskHandEvaluator.INSTANCE;
+        HandEvaluator actual = args.length > 2 ? evaluator(args[2]) : null;
+        Result result = new HandEnumerator(cards, Runtime.getRuntime().availableProcessors()).crossCheck(expected, actual);
+        result.report().forEach(System.out::println);
+        if(result.mismatches() > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static HandEvaluator evaluator(String name) throws IllegalArgumentException {
+        return switch (name) {
+            case "bitmask" -> BitMaskHandEvaluator.INSTANCE;
+            case "lookup" -> LookupTableHandEvaluator.INSTANCE;
+            default -> throw new IllegalArgumentException("Unknown evaluator: " + name);
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package org.challenge.evaluators;
+
+import org.challenge.models.HandRank;
+
+/**
+ * Strategy used by Hand to turn a set of cards into a HandRank and a comparable strength value.
+ * Implementations work from the 64-bit card mask produced by Card.getCardMask() so no objects are needed per evaluation
+ */
+public interface HandEvaluator {
+    /**
+     * Determines the HandRank of the cards contained in the mask
+     * @param cardMask - Bitwise OR of the Card.getCardMask() values of each card in the hand
+     * @return HandRank - An enum representing the value of the cards in the hand
+     */
+    HandRank determineHandRank(long cardMask);
+
+    /**
+     * Determines the packed strength of the cards contained in the mask, see HandStrength for the layout
+     * @param cardMask - Bitwise OR of the Card.getCardMask() values of each card in the hand
+     * @return int - A value that orders hands by category and then kickers
+     */
+    int determineStrength(long cardMask);
+}
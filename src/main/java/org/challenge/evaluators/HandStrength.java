@@ -0,0 +1,74 @@
+package org.challenge.evaluators;
+
+import org.challenge.models.HandRank;
+
+/**
+ * Helpers for the packed integer strength produced by a HandEvaluator.
+ * A strength holds the HandRank category in its upper bits and up to five 4-bit CardRank indexes (the cards that decide
+ * ties within the category, most significant first) in its lower 20 bits, so a larger strength is always a better hand
+ */
+public final class HandStrength {
+    static final int KICKER_BITS = 20;
+
+    private static final int RANK_INDEX_BITS = 4;
+
+    private static final HandRank[] RANKS_BY_CATEGORY = categories();
+
+    private HandStrength() {
+    }
+
+    /**
+     * Combines a hand category with its packed kickers
+     * @param rank - The HandRank of the hand
+     * @param kickers - CardRank indexes packed four bits apiece, see appendRanks()
+     * @return int - The strength value
+     */
+    public static int encode(HandRank rank, int kickers) {
+        return ((RANKS_BY_CATEGORY.length - 1 - rank.ordinal()) << KICKER_BITS) | kickers;
+    }
+
+    /**
+     * Recovers the HandRank held in a strength value
+     * @param strength - A value produced by encode()
+     * @return HandRank - The category of the hand
+     */
+    public static HandRank handRank(int strength) {
+        return RANKS_BY_CATEGORY[strength >>> KICKER_BITS];
+    }
+
+    /**
+     * Recovers the HandRank ordinal held in a strength value without touching the enum
+     * @param strength - A value produced by encode()
+     * @return int - The HandRank ordinal of the hand
+     */
+    public static int handRankOrdinal(int strength) {
+        return RANKS_BY_CATEGORY.length - 1 - (strength >>> KICKER_BITS);
+    }
+
+    /**
+     * Appends the highest CardRank indexes of a rank bitmask to a packed kicker value
+     * @param kickers - The kickers packed so far
+     * @param ranks - A bitmask with one bit per CardRank index
+     * @param count - How many of the highest ranks to append
+     * @return int - The packed kickers with count more entries
+     */
+    static int appendRanks(int kickers, int ranks, int count) {
+        for (int i = 0; i < count; i++) {
+            int highest = 31 - Integer.numberOfLeadingZeros(ranks);
+            kickers = (kickers << RANK_INDEX_BITS) | highest;
+            ranks &= ~(1 << highest);
+        }
+
+        return kickers;
+    }
+
+    private static HandRank[] categories() {
+        HandRank[] ranks = HandRank.values();
+        HandRank[] byCategory = new HandRank[ranks.length];
+        for (HandRank rank : ranks) {
+            byCategory[ranks.length - 1 - rank.ordinal()] = rank;
+        }
+
+        return byCategory;
+    }
+}
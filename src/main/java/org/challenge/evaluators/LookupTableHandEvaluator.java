@@ -0,0 +1,42 @@
+package org.challenge.evaluators;
+
+import org.challenge.models.HandRank;
+
+/**
+ * Evaluator that resolves a five card hand with a handful of reads from the precomputed LookupTables.
+ * Only exact five card masks are supported.
+ */
+public class LookupTableHandEvaluator implements HandEvaluator {
+    public static final LookupTableHandEvaluator INSTANCE = new LookupTableHandEvaluator();
+
+    private static final int CARDS_IN_HAND = 5;
+
+    @Override
+    public HandRank determineHandRank(long cardMask) {
+        return HandStrength.handRank(determineStrength(cardMask));
+    }
+
+    @Override
+    public int determineStrength(long cardMask) throws IllegalArgumentException {
+        if(Long.bitCount(cardMask) != CARDS_IN_HAND) {
+            throw new IllegalArgumentException("Expected 5 Cards but received " + Long.bitCount(cardMask));
+        }
+
+        LookupTables tables = LookupTables.getInstance();
+        int clubs = BitMaskHandEvaluator.suitRanks(cardMask, 0);
+        int diamonds = BitMaskHandEvaluator.suitRanks(cardMask, 1);
+        int hearts = BitMaskHandEvaluator.suitRanks(cardMask, 2);
+        int spades = BitMaskHandEvaluator.suitRanks(cardMask, 3);
+        int ranks = clubs | diamonds | hearts | spades;
+
+        if(Integer.bitCount(ranks) == CARDS_IN_HAND) {
+            if(ranks == clubs || ranks == diamonds || ranks == hearts || ranks == spades) {
+                return tables.flush(ranks);
+            }
+
+            return tables.uniqueRanks(ranks);
+        }
+
+        return tables.hashed(LookupTables.primeProduct(cardMask));
+    }
+}
@@ -0,0 +1,283 @@
+package org.challenge.evaluators;
+
+import org.challenge.models.Card;
+import org.challenge.models.CardRank;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Precomputed strengths for every distinct five card hand, in the style of the Cactus Kev evaluator.
+ * Flushes and hands of five unique ranks are indexed directly by their rank bitmask, every other hand (one or more
+ * repeated ranks) is found through a perfect hash of the product of one prime per card rank.
+ * The tables are created on first use, read from the bundled resource when it is present and built otherwise.
+ */
+public final class LookupTables {
+    static final String RESOURCE_NAME = "lookup-tables.bin.gz";
+
+    static final int[] PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43};
+
+    private static final int MAGIC = 0x504B4C54;
+    private static final int VERSION = 1;
+    private static final int CARDS_IN_HAND = 5;
+    private static final int MAX_CARDS_PER_RANK = 4;
+    private static final int HASH_SLOTS = 1 << 14;
+    private static final int HASH_BUCKETS = 1 << 11;
+
+    private final int[] flushes;
+    private final int[] uniqueRanks;
+    private final int[] displacements;
+    private final int[] hashedStrengths;
+
+    private LookupTables(int[] flushes, int[] uniqueRanks, int[] displacements, int[] hashedStrengths) {
+        this.flushes = flushes;
+        this.uniqueRanks = uniqueRanks;
+        this.displacements = displacements;
+        this.hashedStrengths = hashedStrengths;
+    }
+
+    private static final class Holder {
+        private static final LookupTables INSTANCE = load();
+    }
+
+    /**
+     * @return LookupTables - The shared tables, loaded on the first call
+     */
+    public static LookupTables getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @param ranks - Bitmask of five ranks all held in one suit
+     * @return int - The strength of the flush (or straight/royal flush)
+     */
+    int flush(int ranks) {
+        return this.flushes[ranks];
+    }
+
+    /**
+     * @param ranks - Bitmask of five distinct ranks spread over more than one suit
+     * @return int - The strength of the high card hand or straight
+     */
+    int uniqueRanks(int ranks) {
+        return this.uniqueRanks[ranks];
+    }
+
+    /**
+     * @param product - Product of PRIMES for each card rank of a hand holding a repeated rank
+     * @return int - The strength of the hand
+     */
+    int hashed(int product) {
+        int displacement = this.displacements[hash(product, 0) & (HASH_BUCKETS - 1)];
+        return this.hashedStrengths[hash(product, displacement) & (HASH_SLOTS - 1)];
+    }
+
+    /**
+     * Multiplies together the prime of each card rank held in the mask
+     * @param cardMask - The card mask of the hand
+     * @return int - The prime product, unique to the multiset of ranks
+     */
+    static int primeProduct(long cardMask) {
+        int product = 1;
+        long remaining = cardMask;
+        while(remaining != 0) {
+            product *= PRIMES[Long.numberOfTrailingZeros(remaining) & (Card.SUIT_SHIFT - 1)];
+            remaining &= remaining - 1;
+        }
+
+        return product;
+    }
+
+    private static int hash(int key, int seed) {
+        int h = (key ^ seed) * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private static LookupTables load() {
+        try(InputStream inputStream = LookupTables.class.getClassLoader().getResourceAsStream(RESOURCE_NAME)) {
+            if(inputStream != null) {
+                return read(inputStream);
+            }
+        } catch (IOException e) {
+            // A missing or stale resource is not fatal, the tables are simply rebuilt below
+        }
+
+        return build();
+    }
+
+    /**
+     * Builds every table from scratch using the BitMaskHandEvaluator as the source of truth
+     * @return LookupTables - The populated tables
+     */
+    static LookupTables build() {
+        int tableSize = 1 << (CardRank.ACE.getIndex() + 1);
+        int[] flushes = new int[tableSize];
+        int[] uniqueRanks = new int[tableSize];
+        List<int[]> hashedHands = new ArrayList<>();
+
+        collectRankCounts(new int[CardRank.values().length], 0, 0, flushes, uniqueRanks, hashedHands);
+
+        int[] displacements = new int[HASH_BUCKETS];
+        int[] hashedStrengths = new int[HASH_SLOTS];
+        buildPerfectHash(hashedHands, displacements, hashedStrengths);
+
+        return new LookupTables(flushes, uniqueRanks, displacements, hashedStrengths);
+    }
+
+    private static void collectRankCounts(int[] counts, int rankIndex, int cards, int[] flushes, int[] uniqueRanks, List<int[]> hashedHands) {
+        if(cards == CARDS_IN_HAND) {
+            long cardMask = 0;
+            int ranks = 0;
+            boolean repeated = false;
+            for (int rank = 0; rank < counts.length; rank++) {
+                for (int suit = 0; suit < counts[rank]; suit++) {
+                    cardMask |= 1L << (suit * Card.SUIT_SHIFT + rank);
+                }
+
+                ranks |= counts[rank] > 0 ? 1 << rank : 0;
+                repeated |= counts[rank] > 1;
+            }
+
+            if(repeated) {
+                hashedHands.add(new int[]{primeProduct(cardMask), BitMaskHandEvaluator.INSTANCE.determineStrength(cardMask)});
+            } else {
+                long spreadMask = (cardMask & ~(long) Integer.lowestOneBit(ranks)) | ((long) Integer.lowestOneBit(ranks) << Card.SUIT_SHIFT);
+                flushes[ranks] = BitMaskHandEvaluator.INSTANCE.determineStrength(cardMask);
+                uniqueRanks[ranks] = BitMaskHandEvaluator.INSTANCE.determineStrength(spreadMask);
+            }
+
+            return;
+        }
+
+        if(rankIndex == counts.length) {
+            return;
+        }
+
+        for (int count = 0; count <= Math.min(MAX_CARDS_PER_RANK, CARDS_IN_HAND - cards); count++) {
+            counts[rankIndex] = count;
+            collectRankCounts(counts, rankIndex + 1, cards + count, flushes, uniqueRanks, hashedHands);
+        }
+
+        counts[rankIndex] = 0;
+    }
+
+    /**
+     * Hash and displace construction: keys are grouped into buckets by a first hash, then, largest bucket first,
+     * each bucket searches for a seed that sends all of its keys to free slots of the final table
+     */
+    private static void buildPerfectHash(List<int[]> hashedHands, int[] displacements, int[] hashedStrengths) {
+        List<List<int[]>> buckets = new ArrayList<>();
+        for (int i = 0; i < HASH_BUCKETS; i++) {
+            buckets.add(new ArrayList<>());
+        }
+
+        for (int[] hand : hashedHands) {
+            buckets.get(hash(hand[0], 0) & (HASH_BUCKETS - 1)).add(hand);
+        }
+
+        Integer[] order = new Integer[HASH_BUCKETS];
+        for (int i = 0; i < HASH_BUCKETS; i++) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+        boolean[] used = new boolean[HASH_SLOTS];
+        for (int bucketIndex : order) {
+            List<int[]> bucket = buckets.get(bucketIndex);
+            if(bucket.isEmpty()) {
+                break;
+            }
+
+            int[] slots = new int[bucket.size()];
+            int seed = 0;
+            boolean placed = false;
+            while(!placed) {
+                seed++;
+                placed = true;
+                for (int i = 0; i < bucket.size() && placed; i++) {
+                    slots[i] = hash(bucket.get(i)[0], seed) & (HASH_SLOTS - 1);
+                    placed = !used[slots[i]];
+                    for (int j = 0; j < i && placed; j++) {
+                        placed = slots[j] != slots[i];
+                    }
+                }
+            }
+
+            displacements[bucketIndex] = seed;
+            for (int i = 0; i < bucket.size(); i++) {
+                used[slots[i]] = true;
+                hashedStrengths[slots[i]] = bucket.get(i)[1];
+            }
+        }
+    }
+
+    static LookupTables read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(inputStream)));
+        if(in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Unrecognised lookup table resource");
+        }
+
+        return new LookupTables(readArray(in), readArray(in), readArray(in), readArray(in));
+    }
+
+    void write(OutputStream outputStream) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(outputStream);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeArray(out, this.flushes);
+        writeArray(out, this.uniqueRanks);
+        writeArray(out, this.displacements);
+        writeArray(out, this.hashedStrengths);
+        out.flush();
+        gzip.finish();
+    }
+
+    /**
+     * Reads the array bytes in one go and converts them in bulk, reading int by int costs more than inflating the resource
+     * while the JVM is still interpreting
+     */
+    private static int[] readArray(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt() * Integer.BYTES];
+        in.readFully(bytes);
+        int[] values = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(values);
+        return values;
+    }
+
+    private static void writeArray(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    boolean sameTablesAs(LookupTables other) {
+        return Arrays.equals(this.flushes, other.flushes) && Arrays.equals(this.uniqueRanks, other.uniqueRanks)
+                && Arrays.equals(this.displacements, other.displacements) && Arrays.equals(this.hashedStrengths, other.hashedStrengths);
+    }
+
+    /**
+     * Regenerates the bundled resource, run whenever the evaluator or the strength layout changes
+     * @param args - Optional output path, defaults to src/main/resources/lookup-tables.bin.gz
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : "src/main/resources/" + RESOURCE_NAME);
+        try(OutputStream outputStream = Files.newOutputStream(path)) {
+            build().write(outputStream);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.challenge.flow;
+
+import org.challenge.evaluators.BatchHandEvaluator;
+import org.challenge.evaluators.HandEvaluator;
+import org.challenge.models.CardValidation;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Evaluates ParsedHands in batches and publishes a LineResult for each, in the order the hands arrived.
+ * Upstream is asked for one batch at a time and only once the previous batch has been handed to the subscribers, and
+ * handing over blocks while any subscriber's buffer is full, so demand flows from the slowest subscriber back to the
+ * HandPublisher and no more than one batch plus the subscriber buffers is ever held in memory.
+ * The valid hands of a batch are evaluated in one BatchHandEvaluator call, lines that are not valid hands become a
+ * LineError carrying the text of the exception the throwing API would have raised.
+ * Subscribe to the processor before subscribing it to the HandPublisher, results published with no subscriber are dropped
+ */
+public class HandEvaluationProcessor extends SubmissionPublisher<LineResult> implements Flow.Processor<ParsedHand, LineResult> {
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final BatchHandEvaluator evaluator;
+    private final int batchSize;
+    private final ParsedHand[] batch;
+    private final long[] cardMasks;
+    private final byte[] ranks;
+    private final int[] strengths;
+
+    private Flow.Subscription subscription;
+    private int count;
+
+    /**
+     * Delivers results on virtual threads with buffers of Flow.defaultBufferSize()
+     * @param evaluator - Used to evaluate the hands, it must support the number of cards the HandPublisher allows
+     * @param batchSize - The number of hands requested from upstream and evaluated together
+     */
+    public HandEvaluationProcessor(HandEvaluator evaluator, int batchSize) {
+        this(evaluator, batchSize, command -> Thread.ofVirtual().start(command), Flow.defaultBufferSize());
+    }
+
+    /**
+     * @param evaluator - Used to evaluate the hands, it must support the number of cards the HandPublisher allows
+     * @param batchSize - The number of hands requested from upstream and evaluated together
+     * @param executor - Delivers the results to the subscribers, one task per subscriber at a time
+     * @param maxBufferCapacity - The most results buffered for each subscriber before evaluation waits for it
+     */
+    public HandEvaluationProcessor(HandEvaluator evaluator, int batchSize, Executor executor, int maxBufferCapacity) {
+        super(executor, maxBufferCapacity);
+        this.evaluator = new BatchHandEvaluator(Objects.requireNonNull(evaluator, "evaluator"));
+        this.batchSize = checkBatchSize(batchSize);
+        this.batch = new ParsedHand[batchSize];
+        this.cardMasks = new long[batchSize];
+        this.ranks = new byte[batchSize];
+        this.strengths = new int[batchSize];
+    }
+
+    /**
+     * @return int - The number of hands requested from upstream and evaluated together
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if(this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        subscription.request(this.batchSize);
+    }
+
+    @Override
+    public void onNext(ParsedHand hand) {
+        if(isClosed()) {
+            this.subscription.cancel();
+            return;
+        }
+
+        this.batch[this.count++] = hand;
+        if(this.count == this.batchSize) {
+            if(flush()) {
+                this.subscription.request(this.batchSize);
+            } else {
+                this.subscription.cancel();
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        flush();
+        closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if(flush()) {
+            close();
+        }
+    }
+
+    /**
+     * Evaluates the hands held so far and publishes their results in arrival order. An evaluator failure, i.e. a
+     * LookupTableHandEvaluator given a seven card hand, closes the processor with that exception
+     * @return boolean - True when the processor is still open to further results
+     */
+    private boolean flush() {
+        try {
+            int valid = 0;
+            for (int i = 0; i < this.count; i++) {
+                if(this.batch[i].isValid()) {
+                    this.cardMasks[valid++] = this.batch[i].result();
+                }
+            }
+
+            this.evaluator.evaluate(this.cardMasks, 0, valid, this.ranks, this.strengths);
+
+            valid = 0;
+            for (int i = 0; i < this.count && !isClosed(); i++) {
+                ParsedHand hand = this.batch[i];
+                if(hand.isValid()) {
+                    submit(new HandResult(hand.lineNumber(), hand.line(), hand.result(), this.strengths[valid++]));
+                } else {
+                    submit(new LineError(hand.lineNumber(), hand.line(), hand.error(), CardValidation.describe(hand.result(), hand.line().split(" "))));
+                }
+            }
+
+            return !isClosed();
+        } catch (RuntimeException e) {
+            closeExceptionally(e);
+            return false;
+        } finally {
+            Arrays.fill(this.batch, 0, this.count, null);
+            this.count = 0;
+        }
+    }
+
+    private static int checkBatchSize(int batchSize) {
+        if(batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        return batchSize;
+    }
+}
@@ -0,0 +1,166 @@
+package org.challenge.flow;
+
+import org.challenge.models.CardValidation;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the lines of an input as ParsedHands, reading a line only once the subscriber has requested it, so a slow
+ * subscriber holds back the reading rather than lines queueing up in memory. Empty lines are skipped but still counted
+ * for line numbers, lines that are not valid hands are published with their CardValidation result code.
+ * Lines are read and delivered on the executor, one task at a time, never on the thread calling request(). The lines can
+ * be read only once, so a publisher accepts a single subscriber
+ */
+public class HandPublisher implements Flow.Publisher<ParsedHand> {
+    private final Iterator<String> lines;
+    private final int minCards;
+    private final int maxCards;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Publishes five card hands, reading on a new virtual thread whenever there is demand to meet
+     * @param lines - The lines of the input, i.e. BufferedReader.lines().iterator()
+     */
+    public HandPublisher(Iterator<String> lines) {
+        this(lines, 5, 5, command -> Thread.ofVirtual().start(command));
+    }
+
+    /**
+     * @param lines - The lines of the input, i.e. BufferedReader.lines().iterator(), an exception thrown while reading
+     *                is passed to the subscriber's onError
+     * @param minCards - The fewest cards a valid line may hold
+     * @param maxCards - The most cards a valid line may hold, 7 for Hold'em
+     * @param executor - Runs the reading, it may block when the lines come from a file or socket
+     */
+    public HandPublisher(Iterator<String> lines, int minCards, int maxCards, Executor executor) {
+        if(minCards < 1 || maxCards < minCards) {
+            throw new IllegalArgumentException("Invalid card range " + minCards + " to " + maxCards);
+        }
+
+        this.lines = Objects.requireNonNull(lines, "lines");
+        this.minCards = minCards;
+        this.maxCards = maxCards;
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ParsedHand> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if(!this.subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new LineSubscription(null));
+            subscriber.onError(new IllegalStateException("A HandPublisher accepts a single subscriber"));
+            return;
+        }
+
+        LineSubscription subscription = new LineSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private long parse(String line) {
+        return CardValidation.validateHand(line.split(" "), this.minCards, this.maxCards, null);
+    }
+
+    /**
+     * Tracks the outstanding demand of the subscriber. request() and cancel() only record what is asked for and make
+     * sure a drain task is scheduled, the task then reads and delivers as many lines as have been requested. The pending
+     * counter lets a request arriving mid-drain be picked up by the running task rather than start a second one
+     */
+    private final class LineSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super ParsedHand> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+        private volatile boolean done;
+        private long lineNumber;
+
+        private LineSubscription(Flow.Subscriber<? super ParsedHand> subscriber) {
+            this.subscriber = subscriber;
+            this.done = subscriber == null;
+        }
+
+        @Override
+        public void request(long n) {
+            if(n <= 0) {
+                this.invalidRequest = new IllegalArgumentException("Requested " + n + " hands, demand must be positive");
+            } else {
+                this.demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        private void schedule() {
+            if(this.done || this.pending.getAndIncrement() != 0) {
+                return;
+            }
+
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                this.done = true;
+                this.subscriber.onError(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = this.pending.addAndGet(-missed);
+            } while(missed != 0);
+        }
+
+        private void drain() {
+            try {
+                while(!this.done && !this.cancelled) {
+                    if(this.invalidRequest != null) {
+                        this.done = true;
+                        this.subscriber.onError(this.invalidRequest);
+                        return;
+                    }
+
+                    // The end of the input is signalled even without demand, so a subscriber that asks for exactly the
+                    // number of lines still completes
+                    if(!lines.hasNext()) {
+                        this.done = true;
+                        this.subscriber.onComplete();
+                        return;
+                    }
+
+                    if(this.demand.get() == 0) {
+                        return;
+                    }
+
+                    String line = lines.next();
+                    this.lineNumber++;
+                    if(line.isEmpty()) {
+                        continue;
+                    }
+
+                    this.demand.decrementAndGet();
+                    this.subscriber.onNext(new ParsedHand(this.lineNumber, line, parse(line)));
+                }
+            } catch (RuntimeException e) {
+                if(!this.done) {
+                    this.done = true;
+                    this.subscriber.onError(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.challenge.flow;
+
+import org.challenge.evaluators.HandStrength;
+import org.challenge.models.HandRank;
+
+/**
+ * A line that holds a valid hand, with its strength
+ * @param lineNumber - The 1-based position of the line within the input
+ * @param line - The line as read from the input
+ * @param cardMask - The card mask of the hand, see Card.getCardMask()
+ * @param strength - The strength of the hand, see HandStrength, higher beats lower
+ */
+public record HandResult(long lineNumber, String line, long cardMask, int strength) implements LineResult {
+    /**
+     * @return HandRank - The rank of the hand
+     */
+    public HandRank rank() {
+        return HandStrength.handRank(this.strength);
+    }
+
+    @Override
+    public String toString() {
+        return this.line + " => " + rank();
+    }
+}
@@ -0,0 +1,90 @@
+package org.challenge.flow;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Hands each LineResult to the callback for its type, requesting results a batch at a time so it never holds more than
+ * it has asked for. getCompletion() completes with the number of results once the input is done, or exceptionally
+ * with the failure of the stream or of a callback, which also cancels the subscription
+ */
+public class HandResultSubscriber implements Flow.Subscriber<LineResult> {
+    private final int batchSize;
+    private final Consumer<? super HandResult> resultHandler;
+    private final Consumer<? super LineError> errorHandler;
+    private final CompletableFuture<Long> completion = new CompletableFuture<>();
+
+    private Flow.Subscription subscription;
+    private long received;
+    private int outstanding;
+
+    /**
+     * @param batchSize - The number of results requested at a time
+     * @param resultHandler - Receives each line that holds a valid hand
+     * @param errorHandler - Receives each line that does not
+     */
+    public HandResultSubscriber(int batchSize, Consumer<? super HandResult> resultHandler, Consumer<? super LineError> errorHandler) {
+        if(batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        this.batchSize = batchSize;
+        this.resultHandler = Objects.requireNonNull(resultHandler, "resultHandler");
+        this.errorHandler = Objects.requireNonNull(errorHandler, "errorHandler");
+    }
+
+    /**
+     * @return CompletableFuture - Completes with the number of results received once the stream ends
+     */
+    public CompletableFuture<Long> getCompletion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if(this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        this.outstanding = this.batchSize;
+        subscription.request(this.batchSize);
+    }
+
+    @Override
+    public void onNext(LineResult item) {
+        if(this.completion.isDone()) {
+            return;
+        }
+
+        try {
+            switch (item) {
+                case HandResult result -> this.resultHandler.accept(result);
+                case LineError error -> this.errorHandler.accept(error);
+            }
+        } catch (RuntimeException e) {
+            this.subscription.cancel();
+            this.completion.completeExceptionally(e);
+            return;
+        }
+
+        this.received++;
+        if(--this.outstanding == 0) {
+            this.outstanding = this.batchSize;
+            this.subscription.request(this.batchSize);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        this.completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        this.completion.complete(this.received);
+    }
+}
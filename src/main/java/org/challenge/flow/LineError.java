@@ -0,0 +1,18 @@
+package org.challenge.flow;
+
+import org.challenge.models.ValidationError;
+
+/**
+ * A line that holds no valid hand. No exception is created, the error and message describe the one the throwing API
+ * would have raised
+ * @param lineNumber - The 1-based position of the line within the input
+ * @param line - The line as read from the input
+ * @param error - Why the line is not a valid hand
+ * @param message - The text of the exception, i.e. "org.challenge.exceptions.DuplicateCardException: Hand contains duplicate card(s)"
+ */
+public record LineError(long lineNumber, String line, ValidationError error, String message) implements LineResult {
+    @Override
+    public String toString() {
+        return "Line #" + this.lineNumber + " (" + this.line + ") failed with exception: " + this.message;
+    }
+}
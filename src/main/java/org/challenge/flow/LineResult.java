@@ -0,0 +1,17 @@
+package org.challenge.flow;
+
+/**
+ * The outcome of one line of input, either the rank of its hand or why it holds no valid hand.
+ * toString() gives the text the command line prints for the line
+ */
+public sealed interface LineResult permits HandResult, LineError {
+    /**
+     * @return long - The 1-based position of the line within the input
+     */
+    long lineNumber();
+
+    /**
+     * @return String - The line as read from the input
+     */
+    String line();
+}
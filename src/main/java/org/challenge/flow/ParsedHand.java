@@ -0,0 +1,26 @@
+package org.challenge.flow;
+
+import org.challenge.models.CardValidation;
+import org.challenge.models.ValidationError;
+
+/**
+ * One non-empty line of input as parsed by a HandPublisher, before it is evaluated
+ * @param lineNumber - The 1-based position of the line within the input
+ * @param line - The line as read from the input
+ * @param result - The card mask of the hand, or a CardValidation result code when the line is not a valid hand
+ */
+public record ParsedHand(long lineNumber, String line, long result) {
+    /**
+     * @return boolean - True when the line holds a valid hand and result is its card mask
+     */
+    public boolean isValid() {
+        return !CardValidation.isError(this.result);
+    }
+
+    /**
+     * @return ValidationError - Why the line is not a valid hand, or null when it is
+     */
+    public ValidationError error() {
+        return isValid() ? null : CardValidation.error(this.result);
+    }
+}
@@ -0,0 +1,139 @@
+package org.challenge.handlers;
+
+import org.challenge.io.BinaryHandFormat;
+import org.challenge.io.InputFiles.InputFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Cuts text hand files into byte ranges of about the same size, each starting at the beginning of a line, so the work
+ * of a large file can be shared between threads
+ */
+final class FileSegments {
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private FileSegments() {
+    }
+
+    /**
+     * A byte range of an input file, always starting at the beginning of a line
+     * @param firstLineNumber - The 1-based line number of the line at start, always 1 when lines were not numbered
+     */
+    record Segment(InputFile file, long start, long end, long firstLineNumber) {
+        long size() {
+            return this.end - this.start;
+        }
+    }
+
+    /**
+     * Cuts a file into segments that start just after a \n. Empty files give no segments, binary hand files are skipped
+     * with a warning as they can only be read whole
+     * @param pool - Runs the line counts when the segments must be numbered
+     * @param file - The file to cut
+     * @param segmentSize - The size a segment grows to before the next line starts a new one
+     * @param numberLines - true to count the lines before each segment in parallel, false when line numbers are not needed
+     * @return List - The segments in file order
+     * @throws IOException - The file could not be read
+     */
+    static List<Segment> split(ForkJoinPool pool, InputFile file, long segmentSize, boolean numberLines) throws IOException {
+        long size = Files.size(file.path());
+        if(size == 0) {
+            return List.of();
+        }
+
+        if(BinaryHandFormat.isBinaryHandFile(file.path())) {
+            System.err.println("Skipping binary hand file " + file.path() + ", supply it on its own to score it");
+            return List.of();
+        }
+
+        if(size <= segmentSize) {
+            return List.of(new Segment(file, 0, size, 1));
+        }
+
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        try(FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            long next = segmentSize;
+            while(next < size) {
+                long boundary = nextLineStart(channel, next, size);
+                if(boundary >= size) {
+                    break;
+                }
+
+                boundaries.add(boundary);
+                next = boundary + segmentSize;
+            }
+        }
+
+        boundaries.add(size);
+        List<Future<Long>> counts = new ArrayList<>();
+        for (int i = 0; numberLines && i < boundaries.size() - 2; i++) {
+            long start = boundaries.get(i);
+            long end = boundaries.get(i + 1);
+            counts.add(pool.submit(() -> countLines(file.path(), start, end)));
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        long firstLineNumber = 1;
+        for (int i = 0; i < boundaries.size() - 1; i++) {
+            segments.add(new Segment(file, boundaries.get(i), boundaries.get(i + 1), firstLineNumber));
+            if(i < counts.size()) {
+                firstLineNumber += MultiFileProcessor.await(counts.get(i));
+            }
+        }
+
+        return segments;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from;
+        while(position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if(read <= 0) {
+                break;
+            }
+
+            for (int i = 0; i < read; i++) {
+                if(buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+
+            position += read;
+        }
+
+        return size;
+    }
+
+    /**
+     * Counts lines the way MappedHandFileProcessor numbers them, \n, \r and \r\n each end one line.
+     * The range always ends just after a \n, so a \r\n pair is never split between ranges
+     */
+    private static long countLines(Path path, long start, long end) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            long lines = 0;
+            int limit = buffer.limit();
+            for (int i = 0; i < limit; i++) {
+                byte b = buffer.get(i);
+                if(b == '\n' || (b == '\r' && (i + 1 == limit || buffer.get(i + 1) != '\n'))) {
+                    lines++;
+                }
+            }
+
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package org.challenge.handlers;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.evaluators.EvaluationCache;
+import org.challenge.evaluators.HandEvaluator;
+import org.challenge.evaluators.LookupTableHandEvaluator;
+import org.challenge.metrics.MetricsReporter;
+import org.challenge.models.HandRank;
+import org.challenge.server.ScoringServer;
+import org.challenge.store.ResultStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Options parsed from the application arguments.
+ * Arguments starting with "--" are treated as options in the form --name=value, anything else is an input: a file, a
+ * directory or a glob pattern
+ */
+public class HandlerOptions {
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+    /**
+     * File path that reads the hands from stdin
+     */
+    public static final String STANDARD_INPUT = "-";
+
+    private static final String OPTION_PREFIX = "--";
+    private static final int UNSET = 0;
+
+    private final List<String> filePaths = new ArrayList<>();
+    private HandEvaluator evaluator = BitMaskHandEvaluator.INSTANCE;
+    private boolean holdem;
+    private boolean follow;
+    private boolean summary;
+    private boolean dedup;
+    private int parallelism = UNSET;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private String convertTo;
+    private String outputPath;
+    private String outputDirectory;
+    private String serveAddress;
+    private int maxConnections = ScoringServer.DEFAULT_MAX_CONNECTIONS;
+    private int cacheCapacity = UNSET;
+    private EvaluationCache.EvictionPolicy cachePolicy;
+    private String metricsTarget;
+    private long metricsIntervalMillis = MetricsReporter.DEFAULT_INTERVAL_MILLIS;
+    private HandRank queryRank;
+    private long storeMemoryBytes = -1;
+    private String spillDirectory;
+
+    /**
+     * Parses the arguments from the application entrypoint
+     *
+     * @param args - The arguments from the application entrypoint, may be null
+     * @return HandlerOptions - The options, with defaults for anything not supplied
+     * @throws IllegalArgumentException - An unknown option / value was supplied, or options that cannot be combined
+     */
+    public static HandlerOptions parse(String[] args) throws IllegalArgumentException {
+        HandlerOptions options = new HandlerOptions();
+        if(args == null) {
+            return options;
+        }
+
+        for (String arg : args) {
+            if(arg == null) {
+                continue;
+            }
+
+            if(arg.startsWith(OPTION_PREFIX)) {
+                options.applyOption(arg);
+            } else {
+                options.filePaths.add(arg);
+            }
+        }
+
+        if(options.holdem && options.evaluator != BitMaskHandEvaluator.INSTANCE) {
+            throw new IllegalArgumentException("Hold'em hands can only be used with the bitmask evaluator");
+        }
+
+        if(options.filePaths.size() > 1 && options.filePaths.contains(STANDARD_INPUT)) {
+            throw new IllegalArgumentException("stdin cannot be combined with other inputs");
+        }
+
+        boolean namedFile = options.filePaths.size() == 1 && !options.filePaths.get(0).equals(STANDARD_INPUT);
+        if(options.follow && !namedFile) {
+            throw new IllegalArgumentException("--follow requires a single file path");
+        }
+
+        if(options.summary && (options.follow || options.convertTo != null || options.outputDirectory != null)) {
+            throw new IllegalArgumentException("--summary cannot be combined with --follow, --convert or --output-dir");
+        }
+
+        if(options.dedup && (!namedFile || options.follow || options.summary || options.convertTo != null || options.queryRank != null)) {
+            throw new IllegalArgumentException("--dedup requires a single file path and cannot be combined with --follow, --summary, --convert or --query");
+        }
+
+        if(options.outputDirectory != null && (options.filePaths.isEmpty() || options.filePaths.contains(STANDARD_INPUT) || options.outputPath != null
+                || options.follow || options.convertTo != null || options.dedup || options.serveAddress != null)) {
+            throw new IllegalArgumentException("--output-dir requires file inputs and cannot be combined with stdin, --output, --follow, --convert, --dedup or --serve");
+        }
+
+        if(options.serveAddress != null && (!options.filePaths.isEmpty() || options.outputPath != null || options.summary
+                || options.follow || options.dedup || options.convertTo != null)) {
+            throw new IllegalArgumentException("--serve cannot be combined with file inputs, stdin, --output, --summary, --follow, --dedup or --convert");
+        }
+
+        if(options.cachePolicy != null && options.cacheCapacity == UNSET) {
+            throw new IllegalArgumentException("--cache-policy requires --cache");
+        }
+
+        if(options.queryRank != null && (options.summary || options.follow || options.convertTo != null || options.outputDirectory != null
+                || options.serveAddress != null || options.filePaths.size() > 1)) {
+            throw new IllegalArgumentException("--query requires at most one input and cannot be combined with --summary, --follow, --convert, --output-dir or --serve");
+        }
+
+        if(options.queryRank == null && (options.storeMemoryBytes >= 0 || options.spillDirectory != null)) {
+            throw new IllegalArgumentException("--store-memory and --spill-dir require --query");
+        }
+
+        if(options.convertTo != null && !namedFile) {
+            throw new IllegalArgumentException("--convert requires a single file path");
+        }
+
+        return options;
+    }
+
+    private void applyOption(String arg) throws IllegalArgumentException {
+        int separator = arg.indexOf('=');
+        String name = separator < 0 ? arg.substring(OPTION_PREFIX.length()) : arg.substring(OPTION_PREFIX.length(), separator);
+        String value = separator < 0 ? "" : arg.substring(separator + 1);
+
+        switch (name) {
+            case "evaluator" -> this.evaluator = parseEvaluator(value);
+            case "holdem" -> this.holdem = true;
+            case "follow" -> this.follow = true;
+            case "summary" -> this.summary = true;
+            case "dedup" -> this.dedup = true;
+            case "parallel" -> this.parallelism = value.isEmpty() ? Runtime.getRuntime().availableProcessors() : parsePositiveInt(arg, value);
+            case "chunk-size" -> this.chunkSize = parsePositiveInt(arg, value);
+            case "convert" -> this.convertTo = requireValue(arg, value);
+            case "output" -> this.outputPath = requireValue(arg, value);
+            case "output-dir" -> this.outputDirectory = requireValue(arg, value);
+            case "serve" -> this.serveAddress = requireValue(arg, value);
+            case "max-connections" -> this.maxConnections = parsePositiveInt(arg, value);
+            case "cache" -> this.cacheCapacity = value.isEmpty() ? EvaluationCache.DEFAULT_CAPACITY : parsePositiveInt(arg, value);
+            case "cache-policy" -> this.cachePolicy = parseCachePolicy(value);
+            case "metrics" -> this.metricsTarget = value.isEmpty() ? MetricsReporter.STANDARD_ERROR : value;
+            case "metrics-interval" -> this.metricsIntervalMillis = parsePositiveInt(arg, value);
+            case "query" -> this.queryRank = parseHandRank(value);
+            case "store-memory" -> this.storeMemoryBytes = parseNonNegativeInt(arg, value) * (1L << 20);
+            case "spill-dir" -> this.spillDirectory = requireValue(arg, value);
+            default -> throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+    }
+
+    private static String requireValue(String arg, String value) throws IllegalArgumentException {
+        if(value.isEmpty()) {
+            throw new IllegalArgumentException("Expected a value for option: " + arg);
+        }
+
+        return value;
+    }
+
+    private static int parsePositiveInt(String arg, String value) throws IllegalArgumentException {
+        try {
+            int number = Integer.parseInt(value);
+            if(number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the full option for context
+        }
+
+        throw new IllegalArgumentException("Expected a positive number for option: " + arg);
+    }
+
+    private static int parseNonNegativeInt(String arg, String value) throws IllegalArgumentException {
+        return "0".equals(value) ? 0 : parsePositiveInt(arg, value);
+    }
+
+    /**
+     * @param value - A HandRank name in any case, with underscores, hyphens or spaces between words, i.e. full-house
+     * @return HandRank - The matching rank
+     * @throws IllegalArgumentException - The value names no HandRank
+     */
+    private static HandRank parseHandRank(String value) throws IllegalArgumentException {
+        String name = value.toUpperCase(Locale.ROOT).replace('-', '_').replace(' ', '_');
+        for (HandRank rank : HandRank.values()) {
+            if(rank.name().equals(name)) {
+                return rank;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown hand rank: " + value);
+    }
+
+    private static HandEvaluator parseEvaluator(String value) throws IllegalArgumentException {
+        return switch (value) {
+            case "bitmask" -> BitMaskHandEvaluator.INSTANCE;
+            case "lookup" -> LookupTableHandEvaluator.INSTANCE;
+            default -> throw new IllegalArgumentException("Unknown evaluator: " + value);
+        };
+    }
+
+    private static EvaluationCache.EvictionPolicy parseCachePolicy(String value) throws IllegalArgumentException {
+        return switch (value) {
+            case "fifo" -> EvaluationCache.EvictionPolicy.FIFO;
+            case "clock" -> EvaluationCache.EvictionPolicy.CLOCK;
+            default -> throw new IllegalArgumentException("Unknown cache policy: " + value);
+        };
+    }
+
+    /**
+     * @return String - The path to the first input, STANDARD_INPUT to read stdin, or null to use the bundled sample file
+     */
+    public String getFilePath() {
+        return filePaths.isEmpty() ? null : filePaths.get(0);
+    }
+
+    /**
+     * @return List - Every input supplied, files, directories or glob patterns, in argument order
+     */
+    public List<String> getFilePaths() {
+        return filePaths;
+    }
+
+    public HandEvaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /**
+     * @return boolean - true when each line holds 5 to 7 cards and the best five card hand should be reported
+     */
+    public boolean isHoldem() {
+        return holdem;
+    }
+
+    /**
+     * @return boolean - true when the file should be scored and then polled for appended lines until the process is stopped
+     */
+    public boolean isFollow() {
+        return follow;
+    }
+
+    /**
+     * @return boolean - true when only the HandRank distribution of the input should be reported, not a line per hand
+     */
+    public boolean isSummary() {
+        return summary;
+    }
+
+    /**
+     * @return boolean - true when each distinct hand of the file should be evaluated once and its rank fanned out to every
+     *                   line holding it
+     */
+    public boolean isDedup() {
+        return dedup;
+    }
+
+    /**
+     * @return int - Number of threads used to score lines, 1 processes the input on the calling thread
+     */
+    public int getParallelism() {
+        return getParallelism(1);
+    }
+
+    /**
+     * @param whenUnset - The parallelism to use when --parallel was not supplied
+     * @return int - Number of threads used to score lines
+     */
+    public int getParallelism(int whenUnset) {
+        return parallelism == UNSET ? whenUnset : parallelism;
+    }
+
+    /**
+     * @return int - Number of lines handed to a worker at a time when processing in parallel
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return String - The binary hand file to convert the input into, or null to score the input
+     */
+    public String getConvertTo() {
+        return convertTo;
+    }
+
+    /**
+     * @return String - The file the results are written to, or null to write them to stdout
+     */
+    public String getOutputPath() {
+        return outputPath;
+    }
+
+    /**
+     * @return String - The directory that receives one result file per input, or null to merge the results into one stream
+     */
+    public String getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    /**
+     * @return String - The port or Unix domain socket path to serve on, or null to score the input and exit
+     */
+    public String getServeAddress() {
+        return serveAddress;
+    }
+
+    /**
+     * @return int - The most connections the scoring server handles at once
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * @return int - The most hand strengths the evaluation cache holds, 0 when hands are always evaluated
+     */
+    public int getCacheCapacity() {
+        return cacheCapacity;
+    }
+
+    /**
+     * @return EvictionPolicy - How the evaluation cache makes room once full
+     */
+    public EvaluationCache.EvictionPolicy getCachePolicy() {
+        return cachePolicy == null ? EvaluationCache.DEFAULT_POLICY : cachePolicy;
+    }
+
+    /**
+     * @return String - The file the metrics snapshots are written to, MetricsReporter.STANDARD_ERROR for stderr, or null
+     *                  when no metrics are recorded
+     */
+    public String getMetricsTarget() {
+        return metricsTarget;
+    }
+
+    /**
+     * @return long - Time between metrics snapshots
+     */
+    public long getMetricsIntervalMillis() {
+        return metricsIntervalMillis;
+    }
+
+    /**
+     * @return HandRank - The rank whose hands are listed once the input has been scored into a ResultStore, or null to
+     *                    write a result per line
+     */
+    public HandRank getQueryRank() {
+        return queryRank;
+    }
+
+    /**
+     * @return long - Bytes of direct memory the ResultStore may use before spilling to a file
+     */
+    public long getStoreMemoryBytes() {
+        return storeMemoryBytes < 0 ? ResultStore.DEFAULT_MEMORY_LIMIT : storeMemoryBytes;
+    }
+
+    /**
+     * @return String - The directory the ResultStore spills to, or null for the system temporary directory
+     */
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+}
@@ -0,0 +1,14 @@
+package org.challenge.handlers;
+
+/**
+ * Converts one line of input into the text written for it
+ */
+@FunctionalInterface
+public interface LineScorer {
+    /**
+     * @param line - The line as read from the input
+     * @param lineNumber - The 1-based position of the line within the input
+     * @return String - The text to output for the line, or null when nothing should be written
+     */
+    String score(String line, long lineNumber);
+}
@@ -0,0 +1,229 @@
+package org.challenge.handlers;
+
+import org.challenge.io.ByteLineScorer;
+import org.challenge.io.HandResultWriter;
+import org.challenge.io.InputFiles.InputFile;
+import org.challenge.io.MappedHandFileProcessor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Scores many hand files on a work stealing ForkJoinPool.
+ * Files are cut into segments of about segmentSize bytes: a large file is split at line boundaries into several
+ * segments (their starting line numbers are found with a parallel newline count first), while consecutive small files
+ * are batched together into a single task, so every task carries a similar amount of work whatever the mix of file
+ * sizes. Idle workers steal queued tasks from busy ones. Results are written strictly in file and line order, either to
+ * one merged stream where every line is tagged with its source file and line number, or to one output file per input.
+ * A single file can also be split across the workers with its results written untagged, as --parallel does.
+ * At most parallelism * IN_FLIGHT_TASKS_PER_THREAD tasks are held at once, so memory stays bounded.
+ * Binary hand files are skipped with a warning, they can be scored by supplying them on their own
+ */
+public class MultiFileProcessor {
+    static final long DEFAULT_SEGMENT_SIZE = 1L << 20;
+    static final String OUTPUT_SUFFIX = ".out";
+
+    private static final int IN_FLIGHT_TASKS_PER_THREAD = 4;
+    private static final int TASK_BUFFER_SIZE = 64 << 10;
+
+    private final int parallelism;
+    private final long segmentSize;
+    private final Supplier<ByteLineScorer> scorers;
+
+    /**
+     * @param parallelism - Number of worker threads
+     * @param scorers - Creates a scorer for each task, ByteLineScorer is not thread safe
+     */
+    public MultiFileProcessor(int parallelism, Supplier<ByteLineScorer> scorers) {
+        this(parallelism, DEFAULT_SEGMENT_SIZE, scorers);
+    }
+
+    MultiFileProcessor(int parallelism, long segmentSize, Supplier<ByteLineScorer> scorers) {
+        this.parallelism = parallelism;
+        this.segmentSize = segmentSize;
+        this.scorers = scorers;
+    }
+
+    private record SegmentResult(InputFile file, byte[] output) {
+    }
+
+    /**
+     * Writes the results of every file to a single stream, each line prefixed with "file:lineNumber: "
+     * @param files - The files to score, in output order
+     * @param writer - Where the tagged results are written
+     * @throws IOException - A file could not be read or the output could not be written
+     */
+    public void processMerged(List<InputFile> files, HandResultWriter writer) throws IOException {
+        process(files, true, result -> writer.write(result.output(), 0, result.output().length));
+    }
+
+    /**
+     * Splits a single file across the workers and writes its results untagged, exactly as MappedHandFileProcessor
+     * would write them on one thread
+     * @param path - The regular text file to score
+     * @param writer - Where the results are written
+     * @throws IOException - The file could not be read or the output could not be written
+     */
+    public void processFile(Path path, HandResultWriter writer) throws IOException {
+        process(List.of(new InputFile(path, path.getFileName())), false, result -> writer.write(result.output(), 0, result.output().length));
+    }
+
+    /**
+     * Writes the results of each file to outputDirectory/outputName.out, see InputFile.outputName()
+     * @param files - The files to score
+     * @param outputDirectory - The directory the result files are created in, missing directories are created
+     * @throws IOException - A file could not be read or written
+     * @throws IllegalArgumentException - Two files would write the same result file, checked before any file is scored
+     */
+    public void processPerFile(List<InputFile> files, Path outputDirectory) throws IOException, IllegalArgumentException {
+        Map<Path, InputFile> outputs = new HashMap<>();
+        for (InputFile file : files) {
+            Path output = outputPath(outputDirectory, file);
+            InputFile previous = outputs.putIfAbsent(output.toAbsolutePath().normalize(), file);
+            if(previous != null) {
+                throw new IllegalArgumentException("Inputs " + previous.path() + " and " + file.path() + " would both write " + output);
+            }
+        }
+
+        PerFileSink sink = new PerFileSink(outputDirectory);
+        try {
+            process(files, false, sink);
+        } finally {
+            sink.close();
+        }
+    }
+
+    private static Path outputPath(Path outputDirectory, InputFile file) {
+        return outputDirectory.resolve(file.outputName().toString() + OUTPUT_SUFFIX);
+    }
+
+    @FunctionalInterface
+    private interface ResultSink {
+        void accept(SegmentResult result) throws IOException;
+    }
+
+    private static class PerFileSink implements ResultSink {
+        private final Path outputDirectory;
+        private InputFile current;
+        private HandResultWriter writer;
+
+        PerFileSink(Path outputDirectory) {
+            this.outputDirectory = outputDirectory;
+        }
+
+        @Override
+        public void accept(SegmentResult result) throws IOException {
+            if(result.file() != this.current) {
+                close();
+                Path output = outputPath(this.outputDirectory, result.file());
+                Files.createDirectories(output.toAbsolutePath().getParent());
+                this.writer = HandResultWriter.toFile(output);
+                this.current = result.file();
+            }
+
+            this.writer.write(result.output(), 0, result.output().length);
+        }
+
+        void close() throws IOException {
+            if(this.writer != null) {
+                this.writer.close();
+                this.writer = null;
+            }
+        }
+    }
+
+    private void process(List<InputFile> files, boolean tagLines, ResultSink sink) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            Deque<Future<List<SegmentResult>>> inFlight = new ArrayDeque<>();
+            int maxInFlight = this.parallelism * IN_FLIGHT_TASKS_PER_THREAD;
+            List<FileSegments.Segment> batch = new ArrayList<>();
+            long batchBytes = 0;
+
+            for (InputFile file : files) {
+                for (FileSegments.Segment segment : FileSegments.split(pool, file, this.segmentSize, true)) {
+                    batch.add(segment);
+                    batchBytes += segment.size();
+                    if(batchBytes >= this.segmentSize) {
+                        submit(pool, inFlight, maxInFlight, batch, tagLines, sink);
+                        batch = new ArrayList<>();
+                        batchBytes = 0;
+                    }
+                }
+            }
+
+            if(!batch.isEmpty()) {
+                submit(pool, inFlight, maxInFlight, batch, tagLines, sink);
+            }
+
+            while(!inFlight.isEmpty()) {
+                write(await(inFlight.removeFirst()), sink);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void submit(ForkJoinPool pool, Deque<Future<List<SegmentResult>>> inFlight, int maxInFlight, List<FileSegments.Segment> batch,
+                        boolean tagLines, ResultSink sink) throws IOException {
+        if(inFlight.size() == maxInFlight) {
+            write(await(inFlight.removeFirst()), sink);
+        }
+
+        inFlight.addLast(pool.submit(() -> scoreBatch(batch, tagLines)));
+    }
+
+    private static void write(List<SegmentResult> results, ResultSink sink) throws IOException {
+        for (SegmentResult result : results) {
+            sink.accept(result);
+        }
+    }
+
+    private List<SegmentResult> scoreBatch(List<FileSegments.Segment> batch, boolean tagLines) throws IOException {
+        ByteLineScorer scorer = this.scorers.get();
+        MappedHandFileProcessor processor = new MappedHandFileProcessor(scorer);
+        List<SegmentResult> results = new ArrayList<>(batch.size());
+        for (FileSegments.Segment segment : batch) {
+            scorer.setSourceTag(tagLines ? segment.file().path().toString() : null);
+            ByteArrayOutputStream output = new ByteArrayOutputStream((int) Math.min(segment.size(), this.segmentSize) * 2);
+            try(HandResultWriter writer = new HandResultWriter(output, TASK_BUFFER_SIZE)) {
+                processor.process(segment.file().path(), segment.start(), segment.end(), segment.firstLineNumber(), writer);
+            }
+
+            results.add(new SegmentResult(segment.file(), output.toByteArray()));
+        }
+
+        return results;
+    }
+
+    static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a file segment to be scored", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+
+            if(e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IOException("Failed to score file segment", e.getCause());
+        }
+    }
+}
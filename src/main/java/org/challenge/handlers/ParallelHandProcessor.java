@@ -0,0 +1,105 @@
+package org.challenge.handlers;
+
+import org.challenge.io.HandResultWriter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Scores lines on a ForkJoinPool while preserving the original output order.
+ * The reader groups lines into fixed size chunks, each chunk is scored by a worker into a single block of text and the
+ * blocks are written strictly in submission order. At most parallelism * IN_FLIGHT_CHUNKS_PER_THREAD chunks are held at
+ * once, so memory stays bounded however large the input is.
+ */
+public class ParallelHandProcessor {
+    private static final int IN_FLIGHT_CHUNKS_PER_THREAD = 4;
+
+    private final int parallelism;
+    private final int chunkSize;
+    private final LineScorer scorer;
+
+    public ParallelHandProcessor(int parallelism, int chunkSize, LineScorer scorer) {
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.scorer = scorer;
+    }
+
+    /**
+     * Reads every line from the reader and writes the scored output, in line order, to the output stream
+     * @param reader - The source of lines
+     * @param writer - Where the scored lines are written
+     * @throws IOException - The reader or writer failed, or a worker failed while scoring a chunk
+     */
+    public void process(BufferedReader reader, HandResultWriter writer) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        Deque<Future<String>> inFlight = new ArrayDeque<>();
+        int maxInFlight = this.parallelism * IN_FLIGHT_CHUNKS_PER_THREAD;
+
+        try {
+            String[] chunk = new String[this.chunkSize];
+            int size = 0;
+            long firstLineNumber = 1;
+            String line;
+            while((line = reader.readLine()) != null) {
+                chunk[size++] = line;
+                if(size == this.chunkSize) {
+                    if(inFlight.size() == maxInFlight) {
+                        writer.write(await(inFlight.removeFirst()));
+                    }
+
+                    inFlight.addLast(submit(pool, chunk, size, firstLineNumber));
+                    firstLineNumber += size;
+                    chunk = new String[this.chunkSize];
+                    size = 0;
+                }
+            }
+
+            if(size > 0) {
+                inFlight.addLast(submit(pool, chunk, size, firstLineNumber));
+            }
+
+            while(!inFlight.isEmpty()) {
+                writer.write(await(inFlight.removeFirst()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Future<String> submit(ForkJoinPool pool, String[] chunk, int size, long firstLineNumber) {
+        return pool.submit(() -> scoreChunk(chunk, size, firstLineNumber));
+    }
+
+    private String scoreChunk(String[] chunk, int size, long firstLineNumber) {
+        String separator = System.lineSeparator();
+        StringBuilder output = new StringBuilder(size * 32);
+        for (int i = 0; i < size; i++) {
+            String result = this.scorer.score(chunk[i], firstLineNumber + i);
+            if(result != null) {
+                output.append(result).append(separator);
+            }
+        }
+
+        return output.toString();
+    }
+
+    private static String await(Future<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a chunk to be scored", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IOException("Failed to score chunk", e.getCause());
+        }
+    }
+}
@@ -1,42 +1,158 @@
 package org.challenge.handlers;
 
 import org.challenge.Main;
-import org.challenge.exceptions.DuplicateCardException;
-import org.challenge.exceptions.UnmatchedCardValueException;
-import org.challenge.models.Hand;
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.evaluators.CachingHandEvaluator;
+import org.challenge.evaluators.EvaluationCache;
+import org.challenge.evaluators.HandEvaluator;
+import org.challenge.io.BinaryHandFileProcessor;
+import org.challenge.io.ByteLineScorer;
+import org.challenge.io.BinaryHandFormat;
+import org.challenge.io.DeduplicatingHandFileProcessor;
+import org.challenge.io.HandResultWriter;
+import org.challenge.io.InputFiles;
+import org.challenge.io.MappedHandFileProcessor;
+import org.challenge.io.StreamingHandProcessor;
+import org.challenge.io.TextToBinaryConverter;
+import org.challenge.metrics.HandMetrics;
+import org.challenge.metrics.MetricsRecorder;
+import org.challenge.metrics.MetricsReporter;
+import org.challenge.models.CardValidation;
+import org.challenge.models.HandRank;
+import org.challenge.server.ScoringServer;
+import org.challenge.store.ResultStore;
 
 import java.io.*;
+import java.net.SocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class PokerHandsHandler {
     private static final String DEFAULT_FILE_NAME = "challenge-samples.txt";
+    private static final int CARDS_IN_HAND = 5;
+    private static final int MAX_HOLDEM_CARDS = 7;
+    private static final byte[] LINE_SEPARATOR = {':', ' '};
+
+    private HandEvaluator evaluator = BitMaskHandEvaluator.INSTANCE;
+    private EvaluationCache cache;
+    private HandMetrics metrics;
+    private boolean holdem;
+    private int parallelism = 1;
+    private int chunkSize = HandlerOptions.DEFAULT_CHUNK_SIZE;
 
     public void handle(String[] args) throws Exception {
-        String file = handleArguments(args);
-        InputStream inputStream = getInputStream(file);
-        processInputStream(inputStream);
+        HandlerOptions options = handleArguments(args);
+        this.evaluator = options.getEvaluator();
+        this.holdem = options.isHoldem();
+        this.parallelism = options.getParallelism();
+        this.chunkSize = options.getChunkSize();
+        if(options.getCacheCapacity() > 0) {
+            this.cache = new EvaluationCache(options.getCacheCapacity(), options.getCachePolicy());
+            this.evaluator = new CachingHandEvaluator(this.holdem ? BitMaskHandEvaluator.INSTANCE : this.evaluator, this.cache);
+        }
+
+        MetricsReporter reporter = null;
+        if(options.getMetricsTarget() != null) {
+            this.metrics = new HandMetrics();
+            this.metrics.setCache(this.cache);
+            reporter = MetricsReporter.start(this.metrics, options.getMetricsTarget(), options.getMetricsIntervalMillis());
+        }
+
+        try {
+            process(options);
+        } finally {
+            if(reporter != null) {
+                reporter.close();
+            }
+        }
     }
 
     /**
-     * Handles arguments from the entrypoint of the application
-     *
-     * @param args - The arguments from the application entrypoint
-     * @return String - If arguments are supplied the string to the file will be returned otherwise null
-     * @throws IllegalArgumentException - Too many arguments provided
+     * Runs the mode selected by the options: serving, summarising, converting or scoring
+     * @param options - The parsed options
+     * @throws Exception - The input could not be read or the output could not be written
      */
-    private String handleArguments(String[] args) throws IllegalArgumentException {
-        if(args == null || args.length == 0) {
-            return null;
+    private void process(HandlerOptions options) throws Exception {
+        if(options.getServeAddress() != null) {
+            serve(ScoringServer.parseAddress(options.getServeAddress()), options.getMaxConnections());
+            return;
+        }
+
+        if(options.isSummary()) {
+            summarise(options);
+            return;
+        }
+
+        if(options.getQueryRank() != null) {
+            query(options);
+            return;
+        }
+
+        List<String> filePaths = options.getFilePaths();
+        if(filePaths.size() > 1 || (filePaths.size() == 1 && InputFiles.isMultiFile(filePaths.get(0))) || options.getOutputDirectory() != null) {
+            processFiles(InputFiles.expand(filePaths), options);
+            return;
+        }
+
+        if(HandlerOptions.STANDARD_INPUT.equals(options.getFilePath())) {
+            try(HandResultWriter writer = createWriter(options.getOutputPath())) {
+                if(this.parallelism == 1) {
+                    createStreamingProcessor().process(Channels.newChannel(System.in), writer);
+                } else {
+                    processInputStream(System.in, writer);
+                }
+            }
+
+            return;
+        }
+
+        if(options.getFilePath() != null) {
+            Path path = getFilePath(options.getFilePath(), options.isFollow());
+            if(options.getConvertTo() != null) {
+                convertFile(path, Paths.get(options.getConvertTo()));
+                return;
+            }
+
+            try(HandResultWriter writer = createWriter(options.getOutputPath())) {
+                if(options.isFollow()) {
+                    createStreamingProcessor().follow(path, writer, StreamingHandProcessor.DEFAULT_POLL_MILLIS);
+                } else if(options.isDedup()) {
+                    dedupFile(path, writer);
+                } else if(!Files.isRegularFile(path)) {
+                    streamFile(path, writer);
+                } else if(BinaryHandFormat.isBinaryHandFile(path)) {
+                    new BinaryHandFileProcessor(lineEvaluator()).process(path, writer);
+                } else if(this.parallelism == 1) {
+                    processFile(path, writer);
+                } else {
+                    new MultiFileProcessor(this.parallelism, this::createByteLineScorer).processFile(path, writer);
+                }
+            }
+
+            return;
         }
 
-        if (args.length == 1) {
-            return args[0];
+        try(HandResultWriter writer = createWriter(options.getOutputPath())) {
+            processInputStream(getInputStream(null), writer);
         }
+    }
 
-        throw new IllegalArgumentException("Too many arguments have been supplied");
+    /**
+     * Handles arguments from the entrypoint of the application
+     *
+     * @param args - The arguments from the application entrypoint
+     * @return HandlerOptions - The file path (null when not supplied) and any options such as --evaluator=lookup
+     * @throws IllegalArgumentException - An unknown option supplied or options that cannot be combined
+     */
+    private HandlerOptions handleArguments(String[] args) throws IllegalArgumentException {
+        return HandlerOptions.parse(args);
     }
 
     /**
@@ -49,41 +165,351 @@ public class PokerHandsHandler {
      */
     private InputStream getInputStream(String customFilePath) throws IOException, IllegalArgumentException {
         if(null != customFilePath) {
-            Path path = Paths.get(customFilePath);
-            if(!Files.exists(path)) {
-                throw new FileNotFoundException("File not found: " + customFilePath);
+            return new FileInputStream(getFilePath(customFilePath, false).toFile());
+        } else {
+            ClassLoader cl = Main.class.getClassLoader();
+            return cl.getResourceAsStream(DEFAULT_FILE_NAME);
+        }
+    }
+
+    /**
+     * Validates that the supplied file can be processed, pipes and other special files are not checked for content as
+     * their size is not known up front
+     * @param customFilePath - the path to the provided file
+     * @param allowEmpty - true when following a file, which may not have been written to yet
+     * @return Path - The path to the file
+     * @throws IOException - File Not Found
+     * @throws IllegalArgumentException - File was found but is empty
+     */
+    private Path getFilePath(String customFilePath, boolean allowEmpty) throws IOException, IllegalArgumentException {
+        Path path = Paths.get(customFilePath);
+        if(!Files.exists(path)) {
+            throw new FileNotFoundException("File not found: " + customFilePath);
+        }
+
+        if(!allowEmpty && Files.isRegularFile(path) && Files.size(path) == 0) {
+            throw new IllegalArgumentException("File is empty");
+        }
+
+        return path;
+    }
+
+    /**
+     * Runs the scoring server until the process is stopped, each line sent to it is scored exactly as in file mode
+     * @param address - The loopback TCP port or Unix domain socket to listen on
+     * @param maxConnections - The most connections served at once
+     * @throws IOException - The address could not be bound
+     */
+    private void serve(SocketAddress address, int maxConnections) throws IOException {
+        try(ScoringServer server = new ScoringServer(address, this::createByteLineScorer, maxConnections)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> closeQuietly(server)));
+            System.out.println("Scoring server listening on " + server.getLocalAddress());
+            server.serve();
+        }
+    }
+
+    private static void closeQuietly(ScoringServer server) {
+        try {
+            server.close();
+        } catch (IOException e) {
+            // Already shutting down, nothing more can be done
+        }
+    }
+
+    /**
+     * Results are buffered and written in large chunks rather than one println per line
+     * @param outputPath - The file to write the results to, or null for stdout
+     * @return HandResultWriter - The writer to score the input into
+     * @throws IOException - The output file could not be created
+     */
+    private HandResultWriter createWriter(String outputPath) throws IOException {
+        if(outputPath != null) {
+            return HandResultWriter.toFile(Paths.get(outputPath));
+        }
+
+        return new HandResultWriter(System.out);
+    }
+
+    /**
+     * Writes the hands of a text file to a binary hand file, invalid lines are reported and skipped
+     * @param path - The validated text file
+     * @param binaryFile - The binary hand file to create
+     * @throws IOException - Either file could not be read or written
+     */
+    private void convertFile(Path path, Path binaryFile) throws IOException {
+        long hands = new TextToBinaryConverter(this.holdem).convert(path, binaryFile, System.out);
+        System.out.println("Converted " + hands + " hands to " + binaryFile);
+    }
+
+    /**
+     * Memory maps the file and parses each line straight from its bytes, see MappedHandFileProcessor
+     * @param path - The validated file to process
+     * @param writer - Where the scored lines are written
+     * @throws IOException - The file could not be read or the output could not be written
+     */
+    private void processFile(Path path, HandResultWriter writer) throws IOException {
+        new MappedHandFileProcessor(createByteLineScorer()).process(path, writer);
+    }
+
+    /**
+     * Evaluates each distinct hand of the file once and fans the ranks back out to its lines, see
+     * DeduplicatingHandFileProcessor. The number of distinct hands is added to the metrics when --metrics is set
+     * @param path - The validated file to process, read twice so it must be a regular file
+     * @param writer - Where the scored lines are written
+     * @throws IOException - The file could not be read or the output could not be written
+     * @throws IllegalArgumentException - The path is a pipe or other special file
+     */
+    private void dedupFile(Path path, HandResultWriter writer) throws IOException, IllegalArgumentException {
+        if(!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("--dedup requires a regular file: " + path);
+        }
+
+        int maxCards = this.holdem ? MAX_HOLDEM_CARDS : CARDS_IN_HAND;
+        DeduplicatingHandFileProcessor processor = new DeduplicatingHandFileProcessor(createByteLineScorer(), lineEvaluator(), CARDS_IN_HAND, maxCards);
+        processor.process(path, writer);
+        if(this.metrics != null) {
+            Map<String, Long> totals = new LinkedHashMap<>();
+            totals.put("hands", processor.getIndex().getHandCount());
+            totals.put("distinct", (long) processor.getIndex().size());
+            this.metrics.setTotals("dedup", totals);
+        }
+    }
+
+    /**
+     * Reports the HandRank distribution of the input rather than a line per hand, see SummaryProcessor.
+     * Files, directories and globs are counted in parallel, stdin and the bundled sample file on the calling thread
+     * @param options - The parsed options
+     * @throws IOException - The input could not be read or the report could not be written
+     */
+    private void summarise(HandlerOptions options) throws IOException {
+        int maxCards = this.holdem ? MAX_HOLDEM_CARDS : CARDS_IN_HAND;
+        SummaryProcessor processor = new SummaryProcessor(options.getParallelism(Runtime.getRuntime().availableProcessors()), lineEvaluator(), CARDS_IN_HAND, maxCards);
+        RankSummary summary;
+        if(options.getFilePath() == null || HandlerOptions.STANDARD_INPUT.equals(options.getFilePath())) {
+            InputStream inputStream = options.getFilePath() == null ? getInputStream(null) : System.in;
+            try(BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
+                summary = processor.summarise(reader);
             }
+        } else {
+            summary = processor.summarise(InputFiles.expand(options.getFilePaths()));
+        }
 
-            if(Files.size(path) == 0) {
-                throw new IllegalArgumentException("File is empty");
+        try(HandResultWriter writer = createWriter(options.getOutputPath())) {
+            for (String line : summary.report()) {
+                writer.writeLine(line);
             }
+        }
+    }
 
-            return new FileInputStream(customFilePath);
-        } else {
-            ClassLoader cl = Main.class.getClassLoader();
-            return cl.getResourceAsStream(DEFAULT_FILE_NAME);
+    /**
+     * Scores the input into an off-heap ResultStore rather than writing a line per hand, then lists the hands of the
+     * queried rank in line order, i.e. "12: 3C 3S 9S 9H 9C => Full House". Warnings for invalid lines are written as
+     * they are found, the size of the store is added to the metrics when --metrics is set
+     * @param options - The parsed options
+     * @throws IOException - The input could not be read, the store could not spill or the output could not be written
+     */
+    private void query(HandlerOptions options) throws IOException {
+        Path spillDirectory = Paths.get(options.getSpillDirectory() != null ? options.getSpillDirectory() : System.getProperty("java.io.tmpdir"));
+        ByteLineScorer scorer = createByteLineScorer();
+        try(ResultStore store = new ResultStore(options.getStoreMemoryBytes(), spillDirectory);
+            HandResultWriter writer = createWriter(options.getOutputPath())) {
+            scorer.setResultStore(store);
+            String filePath = options.getFilePath();
+            if(filePath == null || HandlerOptions.STANDARD_INPUT.equals(filePath)) {
+                InputStream inputStream = filePath == null ? getInputStream(null) : System.in;
+                new StreamingHandProcessor(scorer).process(Channels.newChannel(inputStream), writer);
+            } else {
+                Path path = getFilePath(filePath, false);
+                if(Files.isRegularFile(path)) {
+                    new MappedHandFileProcessor(scorer).process(path, writer);
+                } else {
+                    try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                        new StreamingHandProcessor(scorer).process(channel, writer);
+                    }
+                }
+            }
+
+            HandRank rank = options.getQueryRank();
+            byte[] text = new byte[MAX_HOLDEM_CARDS * 3];
+            long matches = store.scan(rank, (index, lineNumber, cardMask, strength) -> {
+                writer.writeNumber(lineNumber);
+                writer.write(LINE_SEPARATOR, 0, LINE_SEPARATOR.length);
+                writer.writeResult(text, 0, cardText(cardMask, text), rank);
+            });
+            if(this.metrics != null) {
+                Map<String, Long> totals = new LinkedHashMap<>();
+                totals.put("hands", store.size());
+                totals.put("matches", matches);
+                totals.put("memoryBytes", store.getMemoryBytes());
+                totals.put("spilledBytes", store.getSpilledBytes());
+                this.metrics.setTotals("store", totals);
+            }
+        }
+    }
+
+    /**
+     * @param cardMask - The card mask of a hand
+     * @param text - Receives the cards separated by spaces, in card mask order
+     * @return int - The number of bytes written to text
+     */
+    private static int cardText(long cardMask, byte[] text) {
+        int length = 0;
+        long remaining = cardMask;
+        while(remaining != 0) {
+            if(length > 0) {
+                text[length++] = ' ';
+            }
+
+            byte[] card = BinaryHandFormat.cardText((byte) Long.numberOfTrailingZeros(remaining));
+            text[length++] = card[0];
+            text[length++] = card[1];
+            remaining &= remaining - 1;
+        }
+
+        return length;
+    }
+
+    /**
+     * Scores many files across every core (or --parallel threads), either merged into one tagged stream or written to one
+     * result file per input when --output-dir is supplied, even for a single file, see MultiFileProcessor
+     * @param files - The expanded inputs
+     * @param options - The parsed options
+     * @throws IOException - A file could not be read or the output could not be written
+     */
+    private void processFiles(List<InputFiles.InputFile> files, HandlerOptions options) throws IOException {
+        MultiFileProcessor processor = new MultiFileProcessor(options.getParallelism(Runtime.getRuntime().availableProcessors()), this::createByteLineScorer);
+        if(options.getOutputDirectory() != null) {
+            processor.processPerFile(files, Paths.get(options.getOutputDirectory()));
+            return;
+        }
+
+        try(HandResultWriter writer = createWriter(options.getOutputPath())) {
+            processor.processMerged(files, writer);
+        }
+    }
+
+    /**
+     * Scores a named pipe or other special file as its lines arrive
+     * @param path - The file to read until its writer closes it
+     * @param writer - Where the scored lines are written
+     * @throws IOException - The file could not be read or the output could not be written
+     */
+    private void streamFile(Path path, HandResultWriter writer) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            createStreamingProcessor().process(channel, writer);
         }
     }
 
-    private void processInputStream(InputStream inputStream) throws IOException {
+    /**
+     * @return StreamingHandProcessor - Scores lines incrementally with a fixed read buffer, flushing after every read
+     */
+    private StreamingHandProcessor createStreamingProcessor() {
+        return new StreamingHandProcessor(createByteLineScorer());
+    }
+
+    private ByteLineScorer createByteLineScorer() {
+        int maxCards = this.holdem ? MAX_HOLDEM_CARDS : CARDS_IN_HAND;
+        ByteLineScorer scorer = new ByteLineScorer(lineEvaluator(), CARDS_IN_HAND, maxCards, new FallbackLineScorer());
+        scorer.setMetrics(this.metrics);
+        return scorer;
+    }
+
+    private void processInputStream(InputStream inputStream, HandResultWriter writer) throws IOException {
         try(BufferedReader br = new BufferedReader(new InputStreamReader(inputStream))) {
-            AtomicInteger lineCount = new AtomicInteger();
-            br.lines().forEach(line -> {
-                lineCount.getAndIncrement();
-
-                try {
-                    processPokerHandLine(line);
-                } catch (IllegalArgumentException | UnmatchedCardValueException | DuplicateCardException e) {
-                    System.out.println("Line #" + lineCount + " (" + line + ") failed with exception: " + e);
+            if(this.parallelism > 1) {
+                new ParallelHandProcessor(this.parallelism, this.chunkSize, this::scoreRecordedLine).process(br, writer);
+                return;
+            }
+
+            MetricsRecorder recorder = this.metrics == null ? null : this.metrics.threadRecorder();
+            long lineCount = 0;
+            String line;
+            while((line = br.readLine()) != null) {
+                String result = scoreLine(line, ++lineCount, recorder);
+                if(result != null) {
+                    writer.writeLine(result);
                 }
-            });
+            }
         }
     }
 
-    private void processPokerHandLine(String line) throws IllegalArgumentException, UnmatchedCardValueException, DuplicateCardException {
-        if(null != line && !line.isEmpty()) {
-            Hand hand = new Hand(line.split(" "));
-            System.out.println(line + " => " + hand.determineHandRank());
+    /**
+     * Scores a single line of the input, invalid lines are reported with the same text their exception would give
+     * but are detected through CardValidation result codes, so no exception is thrown
+     * @param line - The line as read from the input
+     * @param lineNumber - The 1-based position of the line within the input
+     * @return String - The line with its HandRank, the warning for an invalid line, or null for an empty line
+     */
+    private String scoreLine(String line, long lineNumber) {
+        return scoreLine(line, lineNumber, null);
+    }
+
+    /**
+     * Scores a line as scoreLine(String, long) does and records it in the calling thread's metrics, for the code paths
+     * that score Strings directly rather than through a ByteLineScorer, which records its own lines
+     */
+    private String scoreRecordedLine(String line, long lineNumber) {
+        return scoreLine(line, lineNumber, this.metrics == null ? null : this.metrics.threadRecorder());
+    }
+
+    private String scoreLine(String line, long lineNumber, MetricsRecorder recorder) {
+        if(null == line || line.isEmpty()) {
+            return null;
         }
+
+        boolean sampled = recorder != null && recorder.sampleNext();
+        long parseStart = sampled ? System.nanoTime() : 0;
+        String[] cards = line.split(" ");
+        long cardMask = validateLine(cards);
+        if(CardValidation.isError(cardMask)) {
+            if(recorder != null) {
+                recorder.recordError(CardValidation.error(cardMask), line.length() + 1);
+            }
+
+            return failureMessage(line, lineNumber, CardValidation.describe(cardMask, cards));
+        }
+
+        long evaluateStart = sampled ? System.nanoTime() : 0;
+        HandRank rank = lineEvaluator().determineHandRank(cardMask);
+        if(recorder != null) {
+            if(sampled) {
+                recorder.recordSample(evaluateStart - parseStart, System.nanoTime() - evaluateStart, 0);
+            }
+
+            recorder.recordHand(line.length() + 1);
+        }
+
+        return line + " => " + rank;
+    }
+
+    /**
+     * Scores the lines a ByteLineScorer rejects through scoreLine(String, long). A class rather than a method reference,
+     * as it is created on the path of every single file run and the lambda bootstrap would add to its startup time
+     */
+    private final class FallbackLineScorer implements LineScorer {
+        @Override
+        public String score(String line, long lineNumber) {
+            return scoreLine(line, lineNumber);
+        }
+    }
+
+    private static String failureMessage(String line, long lineNumber, String failure) {
+        return "Line #" + lineNumber + " (" + line + ") failed with exception: " + failure;
+    }
+
+    /**
+     * @param cards - The card descriptions of one line
+     * @return long - The card mask of the line, or a CardValidation result code
+     */
+    private long validateLine(String[] cards) {
+        return CardValidation.validateHand(cards, CARDS_IN_HAND, this.holdem ? MAX_HOLDEM_CARDS : CARDS_IN_HAND, null);
+    }
+
+    /**
+     * @return HandEvaluator - Hold'em lines may hold more than five cards, which only the bitmask evaluator supports. A
+     *                         cache, when enabled, already wraps the evaluator suited to the lines
+     */
+    private HandEvaluator lineEvaluator() {
+        return this.holdem && this.cache == null ? BitMaskHandEvaluator.INSTANCE : this.evaluator;
     }
 }
@@ -0,0 +1,50 @@
+package org.challenge.handlers;
+
+import org.challenge.models.HandRank;
+import org.challenge.models.ValidationError;
+
+/**
+ * The summary counters of a single thread, kept in one primitive array.
+ * The counters sit between PADDING unused slots on either side, so the arrays of two threads can never share a cache
+ * line (or the neighbouring line the hardware prefetches alongside it). Each thread only ever writes its own array, no
+ * atomics or locks are involved, and the arrays are merged into a RankSummary once every thread has finished
+ */
+final class RankCounters {
+    private static final int PADDING = 16;
+    private static final int RANK_OFFSET = PADDING;
+    private static final int ERROR_OFFSET = RANK_OFFSET + HandRank.values().length;
+    private static final int LINES = ERROR_OFFSET + ValidationError.values().length;
+    private static final int BYTES = LINES + 1;
+
+    private final long[] counts = new long[BYTES + 1 + PADDING];
+
+    void countRank(HandRank rank) {
+        this.counts[RANK_OFFSET + rank.ordinal()]++;
+        this.counts[LINES]++;
+    }
+
+    void countError(ValidationError error) {
+        this.counts[ERROR_OFFSET + error.ordinal()]++;
+        this.counts[LINES]++;
+    }
+
+    void countBytes(long bytes) {
+        this.counts[BYTES] += bytes;
+    }
+
+    long rankCount(HandRank rank) {
+        return this.counts[RANK_OFFSET + rank.ordinal()];
+    }
+
+    long errorCount(ValidationError error) {
+        return this.counts[ERROR_OFFSET + error.ordinal()];
+    }
+
+    long lineCount() {
+        return this.counts[LINES];
+    }
+
+    long byteCount() {
+        return this.counts[BYTES];
+    }
+}
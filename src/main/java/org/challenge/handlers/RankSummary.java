@@ -0,0 +1,137 @@
+package org.challenge.handlers;
+
+import org.challenge.models.HandRank;
+import org.challenge.models.ValidationError;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The HandRank distribution of a corpus, with the invalid lines grouped by the exception they would have raised and the
+ * throughput of the run. Built by merging the RankCounters of every thread that took part
+ */
+public class RankSummary {
+    private final long[] rankCounts = new long[HandRank.values().length];
+    private final long[] errorCounts = new long[ValidationError.values().length];
+    private final long lines;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    RankSummary(Collection<RankCounters> counters, long elapsedNanos) {
+        long lineCount = 0;
+        long byteCount = 0;
+        for (RankCounters threadCounters : counters) {
+            for (HandRank rank : HandRank.values()) {
+                this.rankCounts[rank.ordinal()] += threadCounters.rankCount(rank);
+            }
+
+            for (ValidationError error : ValidationError.values()) {
+                this.errorCounts[error.ordinal()] += threadCounters.errorCount(error);
+            }
+
+            lineCount += threadCounters.lineCount();
+            byteCount += threadCounters.byteCount();
+        }
+
+        this.lines = lineCount;
+        this.bytes = byteCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getCount(HandRank rank) {
+        return this.rankCounts[rank.ordinal()];
+    }
+
+    public long getErrorCount(ValidationError error) {
+        return this.errorCounts[error.ordinal()];
+    }
+
+    /**
+     * @return long - Number of valid hands, the sum of every HandRank count
+     */
+    public long getHandCount() {
+        long hands = 0;
+        for (long count : this.rankCounts) {
+            hands += count;
+        }
+
+        return hands;
+    }
+
+    /**
+     * @return long - Number of non empty lines read, valid or not
+     */
+    public long getLineCount() {
+        return this.lines;
+    }
+
+    /**
+     * @return long - Number of bytes read
+     */
+    public long getByteCount() {
+        return this.bytes;
+    }
+
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * @return List - The report, one line per entry: the count and share of each HandRank, the invalid lines by exception
+     * type and the throughput
+     */
+    public List<String> report() {
+        List<String> report = new ArrayList<>();
+        long hands = getHandCount();
+        report.add(String.format(Locale.ROOT, "%-16s %14s %9s", "Hand Rank", "Count", "Percent"));
+        for (HandRank rank : HandRank.values()) {
+            report.add(String.format(Locale.ROOT, "%-16s %14d %8.4f%%", rank, getCount(rank), percent(getCount(rank), hands)));
+        }
+
+        report.add(String.format(Locale.ROOT, "%-16s %14d %8.4f%%", "Total", hands, percent(hands, hands)));
+
+        long invalid = this.lines - hands;
+        report.add("Invalid lines: " + invalid);
+        for (Map.Entry<Class<? extends Throwable>, List<ValidationError>> entry : errorsByExceptionType().entrySet()) {
+            long total = 0;
+            StringBuilder detail = new StringBuilder();
+            for (ValidationError error : entry.getValue()) {
+                long count = getErrorCount(error);
+                total += count;
+                if(count > 0) {
+                    detail.append(detail.isEmpty() ? "" : ", ").append(error).append(' ').append(count);
+                }
+            }
+
+            if(total > 0) {
+                report.add("  " + entry.getKey().getName() + ": " + total + " (" + detail + ")");
+            }
+        }
+
+        double seconds = this.elapsedNanos / 1_000_000_000.0;
+        report.add(String.format(Locale.ROOT, "Processed %d lines (%d bytes) in %.1f ms, %.0f lines/s, %.1f MB/s",
+                this.lines, this.bytes, this.elapsedNanos / 1_000_000.0, rate(this.lines, seconds), rate(this.bytes, seconds) / (1 << 20)));
+        return report;
+    }
+
+    private static Map<Class<? extends Throwable>, List<ValidationError>> errorsByExceptionType() {
+        Map<Class<? extends Throwable>, List<ValidationError>> types = new LinkedHashMap<>();
+        for (ValidationError error : ValidationError.values()) {
+            types.computeIfAbsent(error.getExceptionType(), type -> new ArrayList<>()).add(error);
+        }
+
+        return types;
+    }
+
+    private static double percent(long count, long total) {
+        return total == 0 ? 0 : count * 100.0 / total;
+    }
+
+    private static double rate(long count, double seconds) {
+        return seconds == 0 ? 0 : count / seconds;
+    }
+}
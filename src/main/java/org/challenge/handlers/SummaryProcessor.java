@@ -0,0 +1,159 @@
+package org.challenge.handlers;
+
+import org.challenge.evaluators.HandEvaluator;
+import org.challenge.io.ByteCardParser;
+import org.challenge.io.InputFiles.InputFile;
+import org.challenge.io.MappedHandFileProcessor;
+import org.challenge.models.CardValidation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Counts the HandRank of every line instead of writing a result per line.
+ * Files are cut into segments (see FileSegments) and counted on a ForkJoinPool, every worker thread counts into its own
+ * padded RankCounters so the hot loop never touches shared state, and the counters are merged once all segments are
+ * done. Lines are parsed straight from the mapped bytes, only lines the ByteCardParser rejects are decoded to find out
+ * which validation failed
+ */
+public class SummaryProcessor {
+    private final int parallelism;
+    private final long segmentSize;
+    private final HandEvaluator evaluator;
+    private final int minCards;
+    private final int maxCards;
+
+    /**
+     * @param parallelism - Number of worker threads used for files
+     * @param evaluator - Used to rank each valid hand
+     * @param minCards - The fewest cards a valid line may hold
+     * @param maxCards - The most cards a valid line may hold
+     */
+    public SummaryProcessor(int parallelism, HandEvaluator evaluator, int minCards, int maxCards) {
+        this(parallelism, MultiFileProcessor.DEFAULT_SEGMENT_SIZE, evaluator, minCards, maxCards);
+    }
+
+    SummaryProcessor(int parallelism, long segmentSize, HandEvaluator evaluator, int minCards, int maxCards) {
+        this.parallelism = parallelism;
+        this.segmentSize = segmentSize;
+        this.evaluator = evaluator;
+        this.minCards = minCards;
+        this.maxCards = maxCards;
+    }
+
+    /**
+     * @param files - The text hand files to count
+     * @return RankSummary - The merged counts of every file
+     * @throws IOException - A file could not be read
+     */
+    public RankSummary summarise(List<InputFile> files) throws IOException {
+        long start = System.nanoTime();
+        ConcurrentLinkedQueue<RankCounters> allCounters = new ConcurrentLinkedQueue<>();
+        ThreadLocal<RankCounters> threadCounters = ThreadLocal.withInitial(() -> {
+            RankCounters counters = new RankCounters();
+            allCounters.add(counters);
+            return counters;
+        });
+
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            List<Future<Void>> tasks = new ArrayList<>();
+            List<FileSegments.Segment> batch = new ArrayList<>();
+            long batchBytes = 0;
+            for (InputFile file : files) {
+                for (FileSegments.Segment segment : FileSegments.split(pool, file, this.segmentSize, false)) {
+                    batch.add(segment);
+                    batchBytes += segment.size();
+                    if(batchBytes >= this.segmentSize) {
+                        tasks.add(submit(pool, batch, threadCounters));
+                        batch = new ArrayList<>();
+                        batchBytes = 0;
+                    }
+                }
+            }
+
+            if(!batch.isEmpty()) {
+                tasks.add(submit(pool, batch, threadCounters));
+            }
+
+            for (Future<Void> task : tasks) {
+                MultiFileProcessor.await(task);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return new RankSummary(allCounters, System.nanoTime() - start);
+    }
+
+    /**
+     * Counts a stream of lines on the calling thread, used for stdin and the bundled sample file
+     * @param reader - The source of lines
+     * @return RankSummary - The counts of every line
+     * @throws IOException - The reader failed
+     */
+    public RankSummary summarise(BufferedReader reader) throws IOException {
+        long start = System.nanoTime();
+        RankCounters counters = new RankCounters();
+        String line;
+        while((line = reader.readLine()) != null) {
+            counters.countBytes(line.length() + 1L);
+            if(!line.isEmpty()) {
+                count(line, counters);
+            }
+        }
+
+        return new RankSummary(List.of(counters), System.nanoTime() - start);
+    }
+
+    private Future<Void> submit(ForkJoinPool pool, List<FileSegments.Segment> batch, ThreadLocal<RankCounters> threadCounters) {
+        return pool.submit(() -> {
+            countBatch(batch, threadCounters.get());
+            return null;
+        });
+    }
+
+    private void countBatch(List<FileSegments.Segment> batch, RankCounters counters) throws IOException {
+        byte[][] lineBytes = {new byte[128]};
+        for (FileSegments.Segment segment : batch) {
+            counters.countBytes(segment.size());
+            MappedHandFileProcessor.forEachLine(segment.file().path(), segment.start(), segment.end(), segment.firstLineNumber(),
+                    (buffer, start, end, lineNumber) -> {
+                        if(start == end) {
+                            return;
+                        }
+
+                        long cardMask = ByteCardParser.parseLine(buffer, start, end, this.minCards, this.maxCards);
+                        if(cardMask == ByteCardParser.INVALID) {
+                            lineBytes[0] = decode(buffer, start, end, lineBytes[0]);
+                            count(new String(lineBytes[0], 0, end - start, StandardCharsets.UTF_8), counters);
+                            return;
+                        }
+
+                        counters.countRank(this.evaluator.determineHandRank(cardMask));
+                    });
+        }
+    }
+
+    private static byte[] decode(ByteBuffer buffer, int start, int end, byte[] scratch) {
+        byte[] bytes = scratch.length < end - start ? new byte[end - start] : scratch;
+        buffer.get(start, bytes, 0, end - start);
+        return bytes;
+    }
+
+    private void count(String line, RankCounters counters) {
+        long cardMask = CardValidation.validateHand(line.split(" "), this.minCards, this.maxCards, null);
+        if(CardValidation.isError(cardMask)) {
+            counters.countError(CardValidation.error(cardMask));
+        } else {
+            counters.countRank(this.evaluator.determineHandRank(cardMask));
+        }
+    }
+}
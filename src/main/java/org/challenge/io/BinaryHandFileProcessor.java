@@ -0,0 +1,57 @@
+package org.challenge.io;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.evaluators.HandEvaluator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Scores a binary hand file, streaming each record straight into the evaluator with no text parsing.
+ * Output matches the text path, i.e. "3H JS 3C 7C 5D => One Pair", with the cards written in their canonical form
+ */
+public class BinaryHandFileProcessor {
+    private static final int CARDS_IN_HAND = 5;
+    private static final int MAX_CARDS = 7;
+    private static final byte SPACE = ' ';
+
+    private final HandEvaluator evaluator;
+
+    /**
+     * @param evaluator - Used for five card hands, larger hands are always scored by the BitMaskHandEvaluator
+     */
+    public BinaryHandFileProcessor(HandEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * @param path - The binary hand file
+     * @param writer - Where the scored hands are written
+     * @throws IOException - The file could not be read, or the output could not be written
+     */
+    public void process(Path path, HandResultWriter writer) throws IOException {
+        byte[] cards = new byte[MAX_CARDS];
+        byte[] text = new byte[MAX_CARDS * 3];
+
+        try(BinaryHandReader reader = new BinaryHandReader(path)) {
+            int count;
+            while((count = reader.readHand(cards)) > 0) {
+                long cardMask = 0;
+                int length = 0;
+                for (int i = 0; i < count; i++) {
+                    cardMask |= BinaryHandFormat.cardBit(cards[i]);
+                    byte[] cardText = BinaryHandFormat.cardText(cards[i]);
+                    if(i > 0) {
+                        text[length++] = SPACE;
+                    }
+
+                    text[length++] = cardText[0];
+                    text[length++] = cardText[1];
+                }
+
+                HandEvaluator handEvaluator = count == CARDS_IN_HAND ? this.evaluator : BitMaskHandEvaluator.INSTANCE;
+                writer.writeResult(text, 0, length, handEvaluator.determineHandRank(cardMask));
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.challenge.io;
+
+import org.challenge.models.Card;
+import org.challenge.models.CardRank;
+import org.challenge.models.CardSuit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Layout of the compact binary hand file.
+ *
+ * <pre>
+ * Header (28 bytes, big endian)
+ *   int   magic          "PKHB"
+ *   short version        currently 1
+ *   byte  record type    CARD_BYTES or CARD_MASK
+ *   byte  cards per hand number of card bytes per record for CARD_BYTES, 0 for CARD_MASK
+ *   int   block size     hands per index block, 0 when the file has no index
+ *   long  hand count     number of records
+ *   long  index offset   file offset of the block index, 0 when the file has no index
+ * Records
+ *   CARD_BYTES: one byte per card in the original order, the byte is the card's bit position in its card mask
+ *   CARD_MASK:  the 64-bit card mask of the hand, for hands of varying size (card order is not kept)
+ * Block index (optional)
+ *   int   block count, then per block: long file offset of its first record, long source line number of its first hand
+ * </pre>
+ */
+public final class BinaryHandFormat {
+    public static final int MAGIC = 0x504B4842;
+    public static final short VERSION = 1;
+    public static final byte CARD_BYTES = 0;
+    public static final byte CARD_MASK = 1;
+    public static final int HEADER_SIZE = 28;
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+    private static final int MAX_CARD_BYTE = 4 * Card.SUIT_SHIFT;
+    private static final byte[][] CARD_TEXT = cardText();
+
+    private BinaryHandFormat() {
+    }
+
+    /**
+     * Checks whether the buffer starts with the binary hand file magic
+     * @param buffer - The first bytes of a file, read from position 0
+     * @return boolean - true when the bytes are a binary hand file
+     */
+    public static boolean isBinaryHandFile(ByteBuffer buffer) {
+        return buffer.limit() >= HEADER_SIZE && buffer.getInt(0) == MAGIC;
+    }
+
+    /**
+     * Reads the header of the file and checks it for the binary hand file magic
+     * @param path - The file to check
+     * @return boolean - true when the file should be read with the BinaryHandFileProcessor
+     * @throws IOException - The file could not be read
+     */
+    public static boolean isBinaryHandFile(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            return isBinaryHandFile(header.flip());
+        }
+    }
+
+    /**
+     * @param cardByte - A card byte from a CARD_BYTES record
+     * @return long - The card mask bit of the card
+     * @throws IllegalArgumentException - The byte does not describe a card
+     */
+    public static long cardBit(byte cardByte) throws IllegalArgumentException {
+        if(cardByte < 0 || cardByte >= MAX_CARD_BYTE || (cardByte & (Card.SUIT_SHIFT - 1)) > CardRank.ACE.getIndex()) {
+            throw new IllegalArgumentException("Invalid card byte " + cardByte);
+        }
+
+        return 1L << cardByte;
+    }
+
+    /**
+     * @param cardByte - A valid card byte
+     * @return byte[] - The two character text of the card, i.e. "AH"
+     */
+    public static byte[] cardText(byte cardByte) {
+        return CARD_TEXT[cardByte];
+    }
+
+    private static byte[][] cardText() {
+        byte[][] text = new byte[MAX_CARD_BYTE][];
+        for (CardSuit suit : CardSuit.values()) {
+            for (CardRank rank : CardRank.values()) {
+                text[suit.getIndex() * Card.SUIT_SHIFT + rank.getIndex()] = new byte[]{(byte) rank.getText().charAt(0), (byte) suit.getText().charAt(0)};
+            }
+        }
+
+        return text;
+    }
+}
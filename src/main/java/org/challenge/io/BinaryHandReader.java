@@ -0,0 +1,161 @@
+package org.challenge.io;
+
+import org.challenge.evaluators.HandEnumerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams the hands of a binary hand file, see BinaryHandFormat for the layout.
+ * Records are read through one reusable direct buffer, reading a hand creates no objects
+ */
+public class BinaryHandReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte recordType;
+    private final int cardsPerHand;
+    private final int blockSize;
+    private final long handCount;
+    private final long indexOffset;
+
+    private long handsRead;
+
+    /**
+     * Opens the file and reads its header
+     * @param path - The binary hand file
+     * @throws IOException - The file could not be read or is not a supported binary hand file
+     */
+    public BinaryHandReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(BinaryHandFormat.HEADER_SIZE);
+            while(header.hasRemaining() && this.channel.read(header) >= 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+
+            header.flip();
+            if(!BinaryHandFormat.isBinaryHandFile(header)) {
+                throw new IOException("Not a binary hand file: " + path);
+            }
+
+            header.position(Integer.BYTES);
+            short version = header.getShort();
+            if(version != BinaryHandFormat.VERSION) {
+                throw new IOException("Unsupported binary hand file version " + version);
+            }
+
+            this.recordType = header.get();
+            this.cardsPerHand = header.get();
+            if(this.recordType != BinaryHandFormat.CARD_BYTES && this.recordType != BinaryHandFormat.CARD_MASK) {
+                throw new IOException("Unsupported binary hand record type " + this.recordType);
+            }
+
+            if(this.recordType == BinaryHandFormat.CARD_BYTES
+                    && (this.cardsPerHand < HandEnumerator.MIN_CARDS || this.cardsPerHand > HandEnumerator.MAX_CARDS)) {
+                throw new IOException("Unsupported cards per hand " + this.cardsPerHand + ", expected " + HandEnumerator.MIN_CARDS
+                        + " to " + HandEnumerator.MAX_CARDS);
+            }
+
+            this.blockSize = header.getInt();
+            this.handCount = header.getLong();
+            this.indexOffset = header.getLong();
+        } catch (IOException e) {
+            this.channel.close();
+            throw e;
+        }
+
+        this.buffer.limit(0);
+    }
+
+    /**
+     * Reads the next hand
+     * @param cards - Receives the card bytes of the hand, must hold at least 7 entries
+     * @return int - The number of cards read, or 0 once every hand has been read
+     * @throws IOException - The file could not be read or ended early
+     */
+    public int readHand(byte[] cards) throws IOException {
+        if(this.handsRead == this.handCount) {
+            return 0;
+        }
+
+        this.handsRead++;
+        if(this.recordType == BinaryHandFormat.CARD_BYTES) {
+            fill(this.cardsPerHand);
+            this.buffer.get(cards, 0, this.cardsPerHand);
+            return this.cardsPerHand;
+        }
+
+        fill(Long.BYTES);
+        long remaining = this.buffer.getLong();
+        if(Long.bitCount(remaining) > HandEnumerator.MAX_CARDS) {
+            throw new IOException("Corrupt hand " + this.handsRead + ", its card mask holds " + Long.bitCount(remaining) + " cards");
+        }
+
+        int count = 0;
+        while(remaining != 0) {
+            cards[count++] = (byte) Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+        }
+
+        return count;
+    }
+
+    /**
+     * Moves the reader so the next hand read is the first hand of the given index block
+     * @param block - The block to seek to
+     * @return long - The source line number of the first hand in the block
+     * @throws IOException - The file has no index or the block does not exist
+     */
+    public long seekToBlock(int block) throws IOException {
+        if(this.indexOffset == 0) {
+            throw new IOException("Binary hand file has no block index");
+        }
+
+        ByteBuffer entry = ByteBuffer.allocate(Integer.BYTES + 2 * Long.BYTES);
+        this.channel.read(entry.limit(Integer.BYTES), this.indexOffset);
+        if(block < 0 || block >= entry.getInt(0)) {
+            throw new IOException("Block " + block + " does not exist");
+        }
+
+        entry.clear().limit(2 * Long.BYTES);
+        this.channel.read(entry, this.indexOffset + Integer.BYTES + (long) block * 2 * Long.BYTES);
+        this.channel.position(entry.getLong(0));
+        this.buffer.limit(0);
+        this.handsRead = (long) block * this.blockSize;
+        return entry.getLong(Long.BYTES);
+    }
+
+    public long getHandCount() {
+        return handCount;
+    }
+
+    public byte getRecordType() {
+        return recordType;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private void fill(int bytes) throws IOException {
+        if(this.buffer.remaining() >= bytes) {
+            return;
+        }
+
+        this.buffer.compact();
+        while(this.buffer.position() < bytes) {
+            if(this.channel.read(this.buffer) < 0) {
+                throw new IOException("Binary hand file ended after " + (this.handsRead - 1) + " of " + this.handCount + " hands");
+            }
+        }
+
+        this.buffer.flip();
+    }
+}
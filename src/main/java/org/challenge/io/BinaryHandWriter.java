@@ -0,0 +1,137 @@
+package org.challenge.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a binary hand file, see BinaryHandFormat for the layout.
+ * The header is written last, once the hand count and index position are known
+ */
+public class BinaryHandWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte recordType;
+    private final int cardsPerHand;
+    private final int blockSize;
+
+    private long handCount;
+    private long position = BinaryHandFormat.HEADER_SIZE;
+    private long[] blockIndex = new long[64];
+    private int blockCount;
+
+    /**
+     * @param path - The file to create, an existing file is replaced
+     * @param recordType - BinaryHandFormat.CARD_BYTES or BinaryHandFormat.CARD_MASK
+     * @param cardsPerHand - Cards in every hand for CARD_BYTES, ignored for CARD_MASK
+     * @param blockSize - Hands per index block, 0 to write no index
+     * @throws IOException - The file could not be created
+     */
+    public BinaryHandWriter(Path path, byte recordType, int cardsPerHand, int blockSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.recordType = recordType;
+        this.cardsPerHand = recordType == BinaryHandFormat.CARD_BYTES ? cardsPerHand : 0;
+        this.blockSize = blockSize;
+        this.channel.position(BinaryHandFormat.HEADER_SIZE);
+    }
+
+    /**
+     * Appends one hand
+     * @param cards - Card bytes in their original order, see BinaryHandFormat
+     * @param count - Number of cards held in the array
+     * @param lineNumber - The source line of the hand, recorded in the block index
+     * @throws IOException - The file could not be written
+     * @throws IllegalArgumentException - The hand does not hold the number of cards set for the file
+     */
+    public void write(byte[] cards, int count, long lineNumber) throws IOException, IllegalArgumentException {
+        if(this.blockSize > 0 && this.handCount % this.blockSize == 0) {
+            addBlock(this.position + this.buffer.position(), lineNumber);
+        }
+
+        if(this.recordType == BinaryHandFormat.CARD_BYTES) {
+            if(count != this.cardsPerHand) {
+                throw new IllegalArgumentException("Expected " + this.cardsPerHand + " Cards but received " + count);
+            }
+
+            ensureRemaining(count);
+            this.buffer.put(cards, 0, count);
+        } else {
+            long cardMask = 0;
+            for (int i = 0; i < count; i++) {
+                cardMask |= BinaryHandFormat.cardBit(cards[i]);
+            }
+
+            ensureRemaining(Long.BYTES);
+            this.buffer.putLong(cardMask);
+        }
+
+        this.handCount++;
+    }
+
+    public long getHandCount() {
+        return handCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            long indexOffset = 0;
+            if(this.blockCount > 0) {
+                indexOffset = this.position + this.buffer.position();
+                ensureRemaining(Integer.BYTES);
+                this.buffer.putInt(this.blockCount);
+                for (int i = 0; i < this.blockCount * 2; i++) {
+                    ensureRemaining(Long.BYTES);
+                    this.buffer.putLong(this.blockIndex[i]);
+                }
+            }
+
+            flush();
+
+            ByteBuffer header = ByteBuffer.allocate(BinaryHandFormat.HEADER_SIZE);
+            header.putInt(BinaryHandFormat.MAGIC)
+                    .putShort(BinaryHandFormat.VERSION)
+                    .put(this.recordType)
+                    .put((byte) this.cardsPerHand)
+                    .putInt(this.blockCount > 0 ? this.blockSize : 0)
+                    .putLong(this.handCount)
+                    .putLong(indexOffset)
+                    .flip();
+            this.channel.write(header, 0);
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    private void addBlock(long offset, long lineNumber) {
+        if(this.blockIndex.length < (this.blockCount + 1) * 2) {
+            long[] grown = new long[this.blockIndex.length * 2];
+            System.arraycopy(this.blockIndex, 0, grown, 0, this.blockIndex.length);
+            this.blockIndex = grown;
+        }
+
+        this.blockIndex[this.blockCount * 2] = offset;
+        this.blockIndex[this.blockCount * 2 + 1] = lineNumber;
+        this.blockCount++;
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if(this.buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        this.buffer.flip();
+        while(this.buffer.hasRemaining()) {
+            this.position += this.channel.write(this.buffer);
+        }
+
+        this.buffer.clear();
+    }
+}
@@ -0,0 +1,108 @@
+package org.challenge.io;
+
+import org.challenge.models.Card;
+import org.challenge.models.CardRank;
+import org.challenge.models.CardSuit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Parses space separated card descriptions straight from UTF-8 bytes into a card mask.
+ * Ranks and suits are resolved through 256 entry lookup tables, upper and lower case letters and the Unicode suit
+ * glyphs (three UTF-8 bytes) are accepted, exactly as Card(String) accepts them. No objects are created while parsing.
+ */
+public final class ByteCardParser {
+    /**
+     * Returned when the bytes are not a well formed line of distinct cards, callers fall back to the String based
+     * parsing which reports the precise problem
+     */
+    public static final long INVALID = -1L;
+
+    private static final int UNMATCHED = -1;
+    private static final byte SPACE = ' ';
+
+    private static final int[] RANKS = new int[256];
+    private static final int[] SUITS = new int[256];
+    private static final int[] SUIT_GLYPHS = new int[256];
+    private static final int GLYPH_LEAD = 0xE2;
+    private static final int GLYPH_MIDDLE = 0x99;
+
+    static {
+        Arrays.fill(RANKS, UNMATCHED);
+        Arrays.fill(SUITS, UNMATCHED);
+        Arrays.fill(SUIT_GLYPHS, UNMATCHED);
+
+        for (CardRank rank : CardRank.values()) {
+            char text = rank.getText().charAt(0);
+            RANKS[text] = rank.getIndex();
+            RANKS[Character.toLowerCase(text)] = rank.getIndex();
+        }
+
+        for (CardSuit suit : CardSuit.values()) {
+            char text = suit.getText().charAt(0);
+            SUITS[text] = suit.getIndex();
+            SUITS[Character.toLowerCase(text)] = suit.getIndex();
+
+            byte[] glyph = suit.getUnicodeChar().getBytes(StandardCharsets.UTF_8);
+            if((glyph[0] & 0xFF) != GLYPH_LEAD || (glyph[1] & 0xFF) != GLYPH_MIDDLE) {
+                throw new ExceptionInInitializerError("Unexpected UTF-8 encoding for suit " + suit);
+            }
+
+            SUIT_GLYPHS[glyph[2] & 0xFF] = suit.getIndex();
+        }
+    }
+
+    private ByteCardParser() {
+    }
+
+    /**
+     * Parses one line of cards held in bytes [start, end) of the buffer
+     * @param buffer - The bytes to read, only absolute gets are used so the buffer position is untouched
+     * @param start - Index of the first byte of the line
+     * @param end - Index one past the last byte of the line, excluding any line terminator
+     * @param minCards - The fewest cards a valid line may hold
+     * @param maxCards - The most cards a valid line may hold
+     * @return long - The card mask of the line, or INVALID
+     */
+    public static long parseLine(ByteBuffer buffer, int start, int end, int minCards, int maxCards) {
+        long mask = 0;
+        int cards = 0;
+        int index = start;
+        while(true) {
+            if(index + 2 > end) {
+                return INVALID;
+            }
+
+            int rank = RANKS[buffer.get(index) & 0xFF];
+            int suitByte = buffer.get(index + 1) & 0xFF;
+            int suit = SUITS[suitByte];
+            int next = index + 2;
+            if(suit == UNMATCHED && suitByte == GLYPH_LEAD && index + 4 <= end && (buffer.get(index + 2) & 0xFF) == GLYPH_MIDDLE) {
+                suit = SUIT_GLYPHS[buffer.get(index + 3) & 0xFF];
+                next = index + 4;
+            }
+
+            if(rank == UNMATCHED || suit == UNMATCHED) {
+                return INVALID;
+            }
+
+            long cardBit = 1L << (suit * Card.SUIT_SHIFT + rank);
+            if((mask & cardBit) != 0 || ++cards > maxCards) {
+                return INVALID;
+            }
+
+            mask |= cardBit;
+            if(next == end) {
+                return cards >= minCards ? mask : INVALID;
+            }
+
+            if(buffer.get(next) != SPACE) {
+                return INVALID;
+            }
+
+            index = next + 1;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.challenge.io;
+
+import org.challenge.evaluators.HandEvaluator;
+import org.challenge.handlers.LineScorer;
+import org.challenge.metrics.HandMetrics;
+import org.challenge.metrics.MetricsRecorder;
+import org.challenge.models.CardValidation;
+import org.challenge.models.HandRank;
+import org.challenge.store.ResultStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Scores one line held as UTF-8 bytes within a ByteBuffer and writes the result.
+ * Well formed lines are evaluated from their card mask and written back out as bytes, so no String is created for them.
+ * Lines the ByteCardParser rejects are decoded and handed to the fallback LineScorer, which produces the usual warning.
+ * When HandMetrics are attached every line is counted and one in each sample interval has its stages timed, without
+ * them the only cost is a null check.
+ * With a ResultStore attached the results of valid lines are appended to the store rather than written, only the
+ * warnings for invalid lines are written.
+ * Instances reuse a scratch array and are not thread safe
+ */
+public class ByteLineScorer {
+    private static final byte[] TAG_SEPARATOR = {':', ' '};
+
+    private final HandEvaluator evaluator;
+    private final int minCards;
+    private final int maxCards;
+    private final LineScorer fallback;
+
+    private byte[] lineBytes = new byte[128];
+    private byte[] sourceTag;
+    private MetricsRecorder recorder;
+    private ResultStore resultStore;
+
+    /**
+     * @param evaluator - Used to rank well formed lines
+     * @param minCards - The fewest cards a valid line may hold
+     * @param maxCards - The most cards a valid line may hold
+     * @param fallback - Scores the lines the ByteCardParser rejects
+     */
+    public ByteLineScorer(HandEvaluator evaluator, int minCards, int maxCards, LineScorer fallback) {
+        this.evaluator = evaluator;
+        this.minCards = minCards;
+        this.maxCards = maxCards;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Prefixes every line written with "source:lineNumber: ", used when the results of many files share one stream
+     * @param source - The name of the input, or null to write the results untagged
+     */
+    public void setSourceTag(String source) {
+        this.sourceTag = source == null ? null : (source + ':').getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param metrics - Where this scorer's lines are recorded, or null to record nothing
+     */
+    public void setMetrics(HandMetrics metrics) {
+        this.recorder = metrics == null ? null : metrics.newRecorder();
+    }
+
+    /**
+     * @param resultStore - Receives the result of every valid line in place of the writer, or null to write the results
+     */
+    public void setResultStore(ResultStore resultStore) {
+        this.resultStore = resultStore;
+    }
+
+    /**
+     * Publishes what has been recorded since the last call, processors call this at the end of each batch
+     */
+    public void publishMetrics() {
+        if(this.recorder != null) {
+            this.recorder.publish();
+        }
+    }
+
+    /**
+     * @param nanos - Time the processor spent reading the batch being scored
+     */
+    public void recordRead(long nanos) {
+        if(this.recorder != null) {
+            this.recorder.recordRead(nanos);
+        }
+    }
+
+    /**
+     * @return boolean - true when metrics are attached, so callers know whether timing a read is worthwhile
+     */
+    public boolean isRecording() {
+        return this.recorder != null;
+    }
+
+    /**
+     * @param buffer - Holds the line, only absolute gets are used so the buffer position is untouched
+     * @param start - Index of the first byte of the line
+     * @param end - Index one past the last byte of the line, excluding any line terminator
+     * @param lineNumber - The 1-based position of the line within the input
+     * @param writer - Where the result is written, nothing is written for an empty line
+     * @throws IOException - The output could not be written
+     */
+    public void score(ByteBuffer buffer, int start, int end, long lineNumber, HandResultWriter writer) throws IOException {
+        if(start == end) {
+            return;
+        }
+
+        boolean sampled = this.recorder != null && this.recorder.sampleNext();
+        long parseStart = sampled ? System.nanoTime() : 0;
+        int length = end - start;
+        if(this.lineBytes.length < length) {
+            this.lineBytes = new byte[Math.max(length, this.lineBytes.length * 2)];
+        }
+
+        buffer.get(start, this.lineBytes, 0, length);
+
+        long cardMask = ByteCardParser.parseLine(buffer, start, end, this.minCards, this.maxCards);
+        if(cardMask == ByteCardParser.INVALID) {
+            String line = new String(this.lineBytes, 0, length, StandardCharsets.UTF_8);
+            if(this.resultStore != null && storeFallback(line, lineNumber)) {
+                if(this.recorder != null) {
+                    this.recorder.recordHand(length + 1);
+                }
+
+                return;
+            }
+
+            String result = this.fallback.score(line, lineNumber);
+            if(result != null) {
+                writeTag(lineNumber, writer);
+                writer.writeLine(result);
+            }
+
+            if(this.recorder != null) {
+                recordFallback(line, length + 1);
+            }
+
+            return;
+        }
+
+        long evaluateStart = sampled ? System.nanoTime() : 0;
+        long writeStart;
+        if(this.resultStore != null) {
+            int strength = this.evaluator.determineStrength(cardMask);
+            writeStart = sampled ? System.nanoTime() : 0;
+            this.resultStore.append(lineNumber, cardMask, strength);
+        } else {
+            HandRank rank = this.evaluator.determineHandRank(cardMask);
+            writeStart = sampled ? System.nanoTime() : 0;
+            writeTag(lineNumber, writer);
+            writer.writeResult(this.lineBytes, 0, length, rank);
+        }
+        if(this.recorder != null) {
+            if(sampled) {
+                this.recorder.recordSample(evaluateStart - parseStart, writeStart - evaluateStart, System.nanoTime() - writeStart);
+            }
+
+            this.recorder.recordHand(length + 1);
+        }
+    }
+
+    /**
+     * Lines the byte parser cannot read may still be valid, such as those with Unicode suits, so they are validated again
+     * @return boolean - true when the line was valid and its result appended to the store
+     */
+    private boolean storeFallback(String line, long lineNumber) throws IOException {
+        long cardMask = CardValidation.validateHand(line.split(" "), this.minCards, this.maxCards, null);
+        if(CardValidation.isError(cardMask)) {
+            return false;
+        }
+
+        this.resultStore.append(lineNumber, cardMask, this.evaluator.determineStrength(cardMask));
+        return true;
+    }
+
+    /**
+     * The fallback only returns text, so the line is validated again to learn whether it was rejected and why. Lines
+     * the byte parser cannot read but the fallback accepts, such as Unicode suits, count as hands
+     */
+    private void recordFallback(String line, int bytes) {
+        long result = CardValidation.validateHand(line.split(" "), this.minCards, this.maxCards, null);
+        if(CardValidation.isError(result)) {
+            this.recorder.recordError(CardValidation.error(result), bytes);
+        } else {
+            this.recorder.recordHand(bytes);
+        }
+    }
+
+    private void writeTag(long lineNumber, HandResultWriter writer) throws IOException {
+        if(this.sourceTag != null) {
+            writer.write(this.sourceTag, 0, this.sourceTag.length);
+            writer.writeNumber(lineNumber);
+            writer.write(TAG_SEPARATOR, 0, TAG_SEPARATOR.length);
+        }
+    }
+}
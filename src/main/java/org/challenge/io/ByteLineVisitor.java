@@ -0,0 +1,19 @@
+package org.challenge.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Receives each line of a file as a byte range of a buffer, see MappedHandFileProcessor.forEachLine
+ */
+@FunctionalInterface
+public interface ByteLineVisitor {
+    /**
+     * @param buffer - Holds the line, only valid for the duration of the call
+     * @param start - Index of the first byte of the line
+     * @param end - Index one past the last byte of the line, excluding any line terminator
+     * @param lineNumber - The 1-based position of the line within the file
+     * @throws IOException - The visitor failed to handle the line
+     */
+    void visit(ByteBuffer buffer, int start, int end, long lineNumber) throws IOException;
+}
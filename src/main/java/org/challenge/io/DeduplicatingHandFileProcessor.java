@@ -0,0 +1,128 @@
+package org.challenge.io;
+
+import org.challenge.evaluators.CanonicalHandIndex;
+import org.challenge.evaluators.HandEvaluator;
+import org.challenge.evaluators.HandStrength;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Scores a hand file by evaluating each distinct hand once, for corpora that are mostly duplicates.
+ * The first pass parses every line into a CanonicalHandIndex and remembers the id of each line's hand, the distinct
+ * hands are then evaluated in one batch and the second pass fans their ranks back out to the lines, in line order.
+ * Output is identical to MappedHandFileProcessor. Lines the ByteCardParser rejects are handed to the ByteLineScorer in
+ * the second pass, which writes the usual warning
+ */
+public class DeduplicatingHandFileProcessor {
+    private static final int NOT_A_HAND = -1;
+
+    private final ByteLineScorer lineScorer;
+    private final HandEvaluator evaluator;
+    private final int minCards;
+    private final int maxCards;
+
+    private CanonicalHandIndex index;
+
+    /**
+     * @param lineScorer - Scores the lines the ByteCardParser rejects
+     * @param evaluator - Used to evaluate each distinct hand
+     * @param minCards - The fewest cards a valid line may hold
+     * @param maxCards - The most cards a valid line may hold
+     */
+    public DeduplicatingHandFileProcessor(ByteLineScorer lineScorer, HandEvaluator evaluator, int minCards, int maxCards) {
+        this.lineScorer = lineScorer;
+        this.evaluator = evaluator;
+        this.minCards = minCards;
+        this.maxCards = maxCards;
+    }
+
+    /**
+     * Scores every line of the file, writing the results in line order
+     * @param path - The file to process
+     * @param writer - Where the scored lines are written
+     * @throws IOException - The file could not be read, or the output could not be written
+     */
+    public void process(Path path, HandResultWriter writer) throws IOException {
+        // Both passes read the same bytes, even if the file is appended to in between
+        long size = Files.size(path);
+        CanonicalHandIndex handIndex = new CanonicalHandIndex();
+        LineIds lineIds = new LineIds();
+        MappedHandFileProcessor.forEachLine(path, 0, size, 1, (buffer, start, end, lineNumber) -> {
+            long cardMask = start == end ? ByteCardParser.INVALID : ByteCardParser.parseLine(buffer, start, end, this.minCards, this.maxCards);
+            lineIds.add(cardMask == ByteCardParser.INVALID ? NOT_A_HAND : handIndex.add(cardMask));
+        });
+
+        int[] strengths = handIndex.evaluate(this.evaluator);
+        try {
+            MappedHandFileProcessor.forEachLine(path, 0, size, 1, new FanOut(lineIds.ids, strengths, writer));
+        } finally {
+            this.lineScorer.publishMetrics();
+        }
+
+        this.index = handIndex;
+    }
+
+    /**
+     * @return CanonicalHandIndex - The distinct hands of the last file processed, or null before the first
+     */
+    public CanonicalHandIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Writes each line with the rank of its distinct hand, or hands it to the ByteLineScorer when it holds no hand
+     */
+    private final class FanOut implements ByteLineVisitor {
+        private final int[] lineIds;
+        private final int[] strengths;
+        private final HandResultWriter writer;
+        private byte[] lineBytes = new byte[128];
+
+        private FanOut(int[] lineIds, int[] strengths, HandResultWriter writer) {
+            this.lineIds = lineIds;
+            this.strengths = strengths;
+            this.writer = writer;
+        }
+
+        @Override
+        public void visit(ByteBuffer buffer, int start, int end, long lineNumber) throws IOException {
+            int id = this.lineIds[(int) (lineNumber - 1)];
+            if(id == NOT_A_HAND) {
+                lineScorer.score(buffer, start, end, lineNumber, this.writer);
+                return;
+            }
+
+            int length = end - start;
+            if(this.lineBytes.length < length) {
+                this.lineBytes = new byte[Math.max(length, this.lineBytes.length * 2)];
+            }
+
+            buffer.get(start, this.lineBytes, 0, length);
+            this.writer.writeResult(this.lineBytes, 0, length, HandStrength.handRank(this.strengths[id]));
+        }
+    }
+
+    /**
+     * The id of the hand on each line, in line order
+     */
+    private static final class LineIds {
+        private int[] ids = new int[1 << 10];
+        private int size;
+
+        private void add(int id) throws IOException {
+            if(this.size == this.ids.length) {
+                if(this.size == Integer.MAX_VALUE - 8) {
+                    throw new IOException("Files of more than " + this.size + " lines cannot be deduplicated");
+                }
+
+                this.ids = Arrays.copyOf(this.ids, (int) Math.min(this.size * 2L, Integer.MAX_VALUE - 8));
+            }
+
+            this.ids[this.size++] = id;
+        }
+    }
+}
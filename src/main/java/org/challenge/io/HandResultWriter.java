@@ -0,0 +1,245 @@
+package org.challenge.io;
+
+import org.challenge.models.HandRank;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffers scored output in one large reusable byte array and writes it out in big chunks, either to a channel (a file or
+ * a socket) or to an OutputStream such as stdout. The " => <HandRank>" suffix of every rank is encoded once up front, so writing a
+ * result is a pair of array copies. Results and warning lines share the buffer, so they stay in input order
+ */
+public class HandResultWriter implements Closeable, Flushable {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private static final byte[] SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private static final byte[][] RESULT_SUFFIXES = resultSuffixes();
+    private static final char LAST_ASCII = 0x7F;
+
+    private final OutputStream outputStream;
+    private final WritableByteChannel channel;
+    private final byte[] buffer;
+    private final ByteBuffer channelBuffer;
+    private int position;
+
+    /**
+     * @param outputStream - The stream to write to, it is flushed but not closed by close()
+     */
+    public HandResultWriter(OutputStream outputStream) {
+        this(outputStream, null, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param outputStream - The stream to write to, it is flushed but not closed by close()
+     * @param bufferSize - Bytes held before they are written to the stream
+     */
+    public HandResultWriter(OutputStream outputStream, int bufferSize) {
+        this(outputStream, null, bufferSize);
+    }
+
+    /**
+     * @param channel - The channel to write to, it is closed by close()
+     */
+    public HandResultWriter(WritableByteChannel channel) {
+        this(null, channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param channel - The channel to write to, it is closed by close()
+     * @param bufferSize - Bytes held before they are written to the channel
+     */
+    public HandResultWriter(WritableByteChannel channel, int bufferSize) {
+        this(null, channel, bufferSize);
+    }
+
+    HandResultWriter(OutputStream outputStream, WritableByteChannel channel, int bufferSize) {
+        this.outputStream = outputStream;
+        this.channel = channel;
+        this.buffer = new byte[bufferSize];
+        this.channelBuffer = ByteBuffer.wrap(this.buffer);
+    }
+
+    /**
+     * Creates a writer for an output file, replacing any existing file
+     * @param path - The output file
+     * @return HandResultWriter - A writer that closes the file when it is closed
+     * @throws IOException - The file could not be created
+     */
+    public static HandResultWriter toFile(Path path) throws IOException {
+        return new HandResultWriter(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * Writes "line => HandRank" followed by the line separator
+     * @param line - The UTF-8 bytes of the line
+     * @param offset - Index of the first byte of the line
+     * @param length - Number of bytes in the line
+     * @param rank - The rank of the hand on the line
+     * @throws IOException - The buffer could not be flushed
+     */
+    public void writeResult(byte[] line, int offset, int length, HandRank rank) throws IOException {
+        write(line, offset, length);
+        byte[] suffix = RESULT_SUFFIXES[rank.ordinal()];
+        write(suffix, 0, suffix.length);
+    }
+
+    /**
+     * Writes "line => HandRank" followed by the line separator
+     * @param line - The line of cards
+     * @param rank - The rank of the hand on the line
+     * @throws IOException - The buffer could not be flushed
+     */
+    public void writeResult(String line, HandRank rank) throws IOException {
+        write(line);
+        byte[] suffix = RESULT_SUFFIXES[rank.ordinal()];
+        write(suffix, 0, suffix.length);
+    }
+
+    /**
+     * Writes the text followed by the line separator, used for warnings
+     * @param text - The text to write
+     * @throws IOException - The buffer could not be flushed
+     */
+    public void writeLine(String text) throws IOException {
+        write(text);
+        write(SEPARATOR, 0, SEPARATOR.length);
+    }
+
+    /**
+     * Writes the text as UTF-8 without adding a line separator
+     * @param text - The text to write
+     * @throws IOException - The buffer could not be flushed
+     */
+    public void write(String text) throws IOException {
+        int length = text.length();
+        if(length > this.buffer.length - this.position) {
+            flushBuffer();
+        }
+
+        if(length <= this.buffer.length - this.position) {
+            int start = this.position;
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if(c > LAST_ASCII) {
+                    this.position = start;
+                    writeEncoded(text);
+                    return;
+                }
+
+                this.buffer[this.position++] = (byte) c;
+            }
+
+            return;
+        }
+
+        writeEncoded(text);
+    }
+
+    /**
+     * Writes the decimal digits of a non-negative number without creating a String
+     * @param number - The number to write
+     * @throws IOException - The buffer could not be flushed
+     */
+    public void writeNumber(long number) throws IOException {
+        int digits = 1;
+        for (long remaining = number / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+
+        if(digits > this.buffer.length - this.position) {
+            flushBuffer();
+        }
+
+        for (int i = this.position + digits - 1; i >= this.position; i--) {
+            this.buffer[i] = (byte) ('0' + number % 10);
+            number /= 10;
+        }
+
+        this.position += digits;
+    }
+
+    /**
+     * Copies bytes into the buffer, flushing first when they do not fit
+     * @throws IOException - The buffer could not be flushed
+     */
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while(length > 0) {
+            if(this.position == this.buffer.length) {
+                flushBuffer();
+            }
+
+            int count = Math.min(length, this.buffer.length - this.position);
+            System.arraycopy(bytes, offset, this.buffer, this.position, count);
+            this.position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Writes out everything buffered so far, and flushes the underlying stream
+     * @throws IOException - The output could not be written
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        if(this.outputStream != null) {
+            this.outputStream.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if(this.channel != null) {
+                this.channel.close();
+            }
+        }
+    }
+
+    private void writeEncoded(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        write(bytes, 0, bytes.length);
+    }
+
+    private void flushBuffer() throws IOException {
+        if(this.position == 0) {
+            return;
+        }
+
+        if(this.channel != null) {
+            this.channelBuffer.clear().limit(this.position);
+            while(this.channelBuffer.hasRemaining()) {
+                this.channel.write(this.channelBuffer);
+            }
+        } else {
+            this.outputStream.write(this.buffer, 0, this.position);
+        }
+
+        this.position = 0;
+    }
+
+    private static byte[][] resultSuffixes() {
+        HandRank[] ranks = HandRank.values();
+        byte[][] suffixes = new byte[ranks.length][];
+        for (HandRank rank : ranks) {
+            byte[] label = (" => " + rank).getBytes(StandardCharsets.UTF_8);
+            suffixes[rank.ordinal()] = new byte[label.length + SEPARATOR.length];
+            System.arraycopy(label, 0, suffixes[rank.ordinal()], 0, label.length);
+            System.arraycopy(SEPARATOR, 0, suffixes[rank.ordinal()], label.length, SEPARATOR.length);
+        }
+
+        return suffixes;
+    }
+}
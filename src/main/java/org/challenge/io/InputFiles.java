@@ -0,0 +1,161 @@
+package org.challenge.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Expands the input arguments into the hand files to score.
+ * An argument may be a file, a directory (every regular file beneath it, in path order) or a glob pattern such as
+ * data/**&#47;*.txt (the matching files beneath the directory the pattern starts with, in path order).
+ * Files are returned in argument order, a file matched by more than one argument is only returned once.
+ * Each file also gets the name its results take below an output directory: a file argument keeps the path it was given
+ * by, the files of a directory argument are placed under the directory's name, and glob matches keep their path below
+ * the pattern's base. A leading root or ".." is dropped so results never land outside the output directory
+ */
+public final class InputFiles {
+    private static final String GLOB_CHARACTERS = "*?[{";
+    private static final Path CURRENT_DIRECTORY = Paths.get(".");
+
+    private InputFiles() {
+    }
+
+    /**
+     * A hand file to score
+     * @param path - The file
+     * @param outputName - Where its results go relative to an output directory, the path of a file argument, the
+     *                     directory's name and the path below it for a directory argument, or the path below the glob
+     *                     base
+     */
+    public record InputFile(Path path, Path outputName) {
+    }
+
+    /**
+     * @param arguments - Files, directories and glob patterns
+     * @return List - The files to score, in order
+     * @throws FileNotFoundException - A file or directory does not exist, or a pattern matched nothing
+     * @throws IOException - A directory could not be walked
+     */
+    public static List<InputFile> expand(List<String> arguments) throws IOException {
+        Map<Path, InputFile> files = new LinkedHashMap<>();
+        for (String argument : arguments) {
+            for (InputFile file : expand(argument)) {
+                files.putIfAbsent(file.path().toAbsolutePath().normalize(), file);
+            }
+        }
+
+        return new ArrayList<>(files.values());
+    }
+
+    /**
+     * @param argument - A single argument
+     * @return boolean - true when the argument is a directory or a glob pattern, which may stand for many files
+     */
+    public static boolean isMultiFile(String argument) {
+        return isGlob(argument) || Files.isDirectory(Paths.get(argument));
+    }
+
+    private static List<InputFile> expand(String argument) throws IOException {
+        if(isGlob(argument)) {
+            return expandGlob(argument);
+        }
+
+        Path path = Paths.get(argument);
+        if(!Files.exists(path)) {
+            throw new FileNotFoundException("File not found: " + argument);
+        }
+
+        if(Files.isDirectory(path)) {
+            Path name = outputPath(path).getFileName();
+            List<InputFile> files = walk(path, path, file -> true);
+            if(name == null || name.toString().isEmpty()) {
+                return files;
+            }
+
+            return files.stream().map(file -> new InputFile(file.path(), name.resolve(file.outputName()))).toList();
+        }
+
+        return List.of(new InputFile(path, outputPath(path)));
+    }
+
+    /**
+     * @param path - A file or directory argument
+     * @return Path - The argument normalised and made relative, without its root or any leading ".."
+     */
+    private static Path outputPath(Path path) {
+        Path normalised = path.normalize();
+        Path relative = normalised.getRoot() == null ? normalised : normalised.getRoot().relativize(normalised);
+        int first = 0;
+        while(first < relative.getNameCount() && relative.getName(first).toString().equals("..")) {
+            first++;
+        }
+
+        return first == relative.getNameCount() ? Paths.get("") : relative.subpath(first, relative.getNameCount());
+    }
+
+    private static List<InputFile> expandGlob(String pattern) throws IOException {
+        Path base = globBase(pattern);
+        PathMatcher globMatcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        PathMatcher matcher = base.equals(CURRENT_DIRECTORY) ? file -> globMatcher.matches(base.relativize(file)) : globMatcher;
+        List<InputFile> files = Files.isDirectory(base) ? walk(base, base, matcher) : List.of();
+        if(files.isEmpty()) {
+            throw new FileNotFoundException("No files match: " + pattern);
+        }
+
+        if(base.equals(CURRENT_DIRECTORY)) {
+            return files.stream().map(file -> new InputFile(file.outputName(), file.outputName())).toList();
+        }
+
+        return files;
+    }
+
+    private static List<InputFile> walk(Path directory, Path base, PathMatcher matcher) throws IOException {
+        try(Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(matcher::matches)
+                    .sorted()
+                    .map(file -> new InputFile(file, base.relativize(file)))
+                    .toList();
+        }
+    }
+
+    /**
+     * @return Path - The leading directories of the pattern that contain no glob characters, "." when there are none
+     */
+    private static Path globBase(String pattern) {
+        String normalised = pattern.replace('\\', '/');
+        int firstGlob = normalised.length();
+        for (char c : GLOB_CHARACTERS.toCharArray()) {
+            int index = normalised.indexOf(c);
+            if(index >= 0) {
+                firstGlob = Math.min(firstGlob, index);
+            }
+        }
+
+        int lastSeparator = normalised.lastIndexOf('/', firstGlob);
+        if(lastSeparator < 0) {
+            return CURRENT_DIRECTORY;
+        }
+
+        return Paths.get(lastSeparator == 0 ? "/" : pattern.substring(0, lastSeparator));
+    }
+
+    private static boolean isGlob(String argument) {
+        for (char c : GLOB_CHARACTERS.toCharArray()) {
+            if(argument.indexOf(c) >= 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
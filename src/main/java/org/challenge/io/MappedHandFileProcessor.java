@@ -0,0 +1,194 @@
+package org.challenge.io;
+
+import org.challenge.evaluators.HandEvaluator;
+import org.challenge.handlers.LineScorer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Scores a hand file by memory mapping it and parsing each line directly from the mapped bytes, see ByteLineScorer.
+ * The file is mapped in windows, so files larger than the 2 GB limit of a single mapping are supported. Windows of up to
+ * READ_THRESHOLD bytes are read into a heap buffer instead, the first mapping made by a JVM costs tens of milliseconds of
+ * reflection and method handle set up, which dominates the run time of a small file.
+ */
+public class MappedHandFileProcessor {
+    static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+    static final int READ_THRESHOLD = 1 << 20;
+
+    private final ByteLineScorer lineScorer;
+    private final long windowSize;
+
+    public MappedHandFileProcessor(HandEvaluator evaluator, int minCards, int maxCards, LineScorer fallback) {
+        this(new ByteLineScorer(evaluator, minCards, maxCards, fallback));
+    }
+
+    /**
+     * @param lineScorer - Scores each line, it is not thread safe so each processor needs its own
+     */
+    public MappedHandFileProcessor(ByteLineScorer lineScorer) {
+        this(lineScorer, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedHandFileProcessor(HandEvaluator evaluator, int minCards, int maxCards, LineScorer fallback, long windowSize) {
+        this(new ByteLineScorer(evaluator, minCards, maxCards, fallback), windowSize);
+    }
+
+    MappedHandFileProcessor(ByteLineScorer lineScorer, long windowSize) {
+        this.lineScorer = lineScorer;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Scores every line of the file, writing the results in line order
+     * @param path - The file to process
+     * @param writer - Where the scored lines are written
+     * @throws IOException - The file could not be mapped or read, or the output could not be written
+     */
+    public void process(Path path, HandResultWriter writer) throws IOException {
+        process(path, 0, Long.MAX_VALUE, 1, writer);
+    }
+
+    /**
+     * Scores the lines within a byte range of the file, used to split a large file between workers
+     * @param path - The file to process
+     * @param start - Offset of the first byte of a line
+     * @param rangeEnd - Offset one past the end of the range, just after a line terminator or beyond the end of the file
+     * @param firstLineNumber - The 1-based line number of the line at start
+     * @param writer - Where the scored lines are written
+     * @throws IOException - The file could not be mapped or read, or the output could not be written
+     */
+    public void process(Path path, long start, long rangeEnd, long firstLineNumber, HandResultWriter writer) throws IOException {
+        try {
+            forEachLine(path, start, rangeEnd, firstLineNumber, this.windowSize, new ScoringVisitor(this.lineScorer, writer));
+        } finally {
+            this.lineScorer.publishMetrics();
+        }
+    }
+
+    /**
+     * Maps the byte range of the file window by window and hands every line, including empty ones, to the visitor.
+     * Lines end at \n, \r or \r\n, exactly as BufferedReader.readLine() splits them
+     * @param path - The file to read
+     * @param start - Offset of the first byte of a line
+     * @param rangeEnd - Offset one past the end of the range, just after a line terminator or beyond the end of the file
+     * @param firstLineNumber - The 1-based line number of the line at start
+     * @param visitor - Receives each line
+     * @throws IOException - The file could not be mapped or read, or the visitor failed
+     */
+    public static void forEachLine(Path path, long start, long rangeEnd, long firstLineNumber, ByteLineVisitor visitor) throws IOException {
+        forEachLine(path, start, rangeEnd, firstLineNumber, DEFAULT_WINDOW_SIZE, visitor);
+    }
+
+    private static void forEachLine(Path path, long start, long rangeEnd, long firstLineNumber, long windowSize, ByteLineVisitor visitor) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = Math.min(channel.size(), rangeEnd);
+            long position = start;
+            long lineNumber = firstLineNumber - 1;
+            long window = windowSize;
+
+            while(position < size) {
+                int limit = (int) Math.min(window, size - position);
+                boolean lastWindow = position + limit == size;
+                ByteBuffer buffer = window(channel, position, limit);
+
+                int offset = 0;
+                while(offset < limit) {
+                    int end = findLineEnd(buffer, offset, limit);
+                    int next = skipLineTerminator(buffer, end, limit);
+                    if(!lastWindow && (end == limit || next > limit)) {
+                        break;
+                    }
+
+                    visitor.visit(buffer, offset, end, ++lineNumber);
+                    offset = Math.min(next, limit);
+                }
+
+                if(offset == 0 && !lastWindow) {
+                    if(window >= Integer.MAX_VALUE) {
+                        throw new IOException("Line " + (lineNumber + 1) + " exceeds the maximum supported length");
+                    }
+
+                    window = Math.min(window * 2, Integer.MAX_VALUE);
+                    continue;
+                }
+
+                position += offset;
+                window = windowSize;
+            }
+        }
+    }
+
+    /**
+     * @return ByteBuffer - The bytes of the window, read into the heap when it is small and memory mapped otherwise
+     * @throws IOException - The file could not be read, or was truncated while it was being read
+     */
+    private static ByteBuffer window(FileChannel channel, long position, int limit) throws IOException {
+        if(limit > READ_THRESHOLD) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, limit);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(limit);
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("File truncated at " + (position + buffer.position()) + " bytes");
+            }
+        }
+
+        return buffer;
+    }
+
+    private static int findLineEnd(ByteBuffer buffer, int offset, int limit) {
+        for (int i = offset; i < limit; i++) {
+            byte b = buffer.get(i);
+            if(b == '\n' || b == '\r') {
+                return i;
+            }
+        }
+
+        return limit;
+    }
+
+    /**
+     * Finds where the next line starts, matching BufferedReader.readLine() which accepts \n, \r or \r\n
+     * @return int - Index of the next line, limit + 1 when a \r is the last byte of the window and the following byte is unknown
+     */
+    private static int skipLineTerminator(ByteBuffer buffer, int end, int limit) {
+        if(end == limit) {
+            return limit;
+        }
+
+        if(buffer.get(end) == '\r') {
+            if(end + 1 == limit) {
+                return limit + 1;
+            }
+
+            return buffer.get(end + 1) == '\n' ? end + 2 : end + 1;
+        }
+
+        return end + 1;
+    }
+
+    /**
+     * Hands each line to the scorer. A class rather than a lambda, so scoring a single small file does not pay for the
+     * lambda bootstrap at startup
+     */
+    private static final class ScoringVisitor implements ByteLineVisitor {
+        private final ByteLineScorer lineScorer;
+        private final HandResultWriter writer;
+
+        private ScoringVisitor(ByteLineScorer lineScorer, HandResultWriter writer) {
+            this.lineScorer = lineScorer;
+            this.writer = writer;
+        }
+
+        @Override
+        public void visit(ByteBuffer buffer, int start, int end, long lineNumber) throws IOException {
+            this.lineScorer.score(buffer, start, end, lineNumber, this.writer);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.challenge.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Scores newline delimited hands from a stream (stdin, a named pipe, a socket or a file that is still being written) as
+ * the bytes arrive. Whatever a single read returns is scored as one batch and flushed straight away, so a line is
+ * reported as soon as it is complete, and memory is limited to one fixed read buffer however long the stream runs.
+ * Lines end at \n, a \r before it is ignored. A line longer than the read buffer is reported and skipped.
+ * An instance holds the state of one stream and is not thread safe
+ */
+public class StreamingHandProcessor {
+    public static final int DEFAULT_READ_BUFFER_SIZE = 64 << 10;
+    public static final long DEFAULT_POLL_MILLIS = 200;
+
+    private static final int END_OF_STREAM = -1;
+
+    private final ByteLineScorer scorer;
+    private final ByteBuffer input;
+    private long lineNumber;
+    private boolean skippingLongLine;
+
+    public StreamingHandProcessor(ByteLineScorer scorer) {
+        this(scorer, DEFAULT_READ_BUFFER_SIZE);
+    }
+
+    /**
+     * @param scorer - Scores each complete line
+     * @param readBufferSize - The longest line supported, also the most bytes read at once
+     */
+    public StreamingHandProcessor(ByteLineScorer scorer, int readBufferSize) {
+        this.scorer = scorer;
+        this.input = ByteBuffer.allocate(readBufferSize);
+    }
+
+    /**
+     * Scores every line until the end of the stream, a final line without a terminator is scored as well
+     * @param channel - The stream to read, it is not closed
+     * @param writer - Where the results are written, flushed after every batch
+     * @throws IOException - The stream could not be read or the output could not be written
+     */
+    public void process(ReadableByteChannel channel, HandResultWriter writer) throws IOException {
+        while(readBatch(channel, writer) != END_OF_STREAM) {
+            // Each batch is scored and flushed by readBatch
+        }
+
+        if(this.input.position() > 0 && !this.skippingLongLine) {
+            this.scorer.score(this.input, 0, stripCarriageReturn(0, this.input.position()), ++this.lineNumber, writer);
+        }
+
+        this.input.clear();
+        writer.flush();
+        this.scorer.publishMetrics();
+    }
+
+    /**
+     * Scores the file and then keeps polling it for appended lines, like tail -f, until the thread is interrupted.
+     * A line is only scored once its terminator has been written. When the file shrinks it is assumed to have been
+     * truncated or replaced and is read again from the start, with line numbers counting from 1 again
+     * @param path - The file to follow
+     * @param writer - Where the results are written, flushed after every batch
+     * @param pollMillis - How long to wait before checking for more data once the end of the file is reached
+     * @throws IOException - The file could not be read or the output could not be written
+     */
+    public void follow(Path path, HandResultWriter writer, long pollMillis) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while(!Thread.currentThread().isInterrupted()) {
+                if(readBatch(channel, writer) > 0) {
+                    continue;
+                }
+
+                if(channel.size() < channel.position()) {
+                    channel.position(0);
+                    this.input.clear();
+                    this.skippingLongLine = false;
+                    this.lineNumber = 0;
+                }
+
+                Thread.sleep(pollMillis);
+            }
+        } catch (InterruptedException | ClosedByInterruptException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Reads once and scores every complete line now held in the buffer, leaving any partial line at its start
+     * @return int - The number of bytes read, or END_OF_STREAM
+     */
+    private int readBatch(ReadableByteChannel channel, HandResultWriter writer) throws IOException {
+        long readStart = this.scorer.isRecording() ? System.nanoTime() : 0;
+        int read = channel.read(this.input);
+        if(this.scorer.isRecording()) {
+            this.scorer.recordRead(System.nanoTime() - readStart);
+        }
+
+        if(read <= 0) {
+            return read;
+        }
+
+        int limit = this.input.position();
+        int start = 0;
+        for (int i = limit - read; i < limit; i++) {
+            if(this.input.get(i) != '\n') {
+                continue;
+            }
+
+            if(this.skippingLongLine) {
+                this.skippingLongLine = false;
+            } else {
+                this.scorer.score(this.input, start, stripCarriageReturn(start, i), ++this.lineNumber, writer);
+            }
+
+            start = i + 1;
+        }
+
+        if(start == 0 && limit == this.input.capacity()) {
+            if(!this.skippingLongLine) {
+                writer.writeLine("Line #" + ++this.lineNumber + " exceeds the maximum length of " + this.input.capacity() + " bytes");
+                this.skippingLongLine = true;
+            }
+
+            start = limit;
+        }
+
+        this.input.limit(limit).position(start);
+        this.input.compact();
+        writer.flush();
+        this.scorer.publishMetrics();
+        return read;
+    }
+
+    private int stripCarriageReturn(int start, int end) {
+        return end > start && this.input.get(end - 1) == '\r' ? end - 1 : end;
+    }
+}
@@ -0,0 +1,70 @@
+package org.challenge.io;
+
+import org.challenge.models.Card;
+import org.challenge.models.CardValidation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Converts a text hand file into the binary hand format.
+ * Every line is validated with the same CardValidation checks used when scoring, invalid lines are reported with the
+ * usual warning and left out of the binary file
+ */
+public class TextToBinaryConverter {
+    private static final int CARDS_IN_HAND = 5;
+    private static final int MAX_CARDS = 7;
+
+    private final boolean holdem;
+
+    /**
+     * @param holdem - true when lines hold 5 to 7 cards, which are stored as card masks rather than card bytes
+     */
+    public TextToBinaryConverter(boolean holdem) {
+        this.holdem = holdem;
+    }
+
+    /**
+     * @param textFile - The text hand file to read
+     * @param binaryFile - The binary hand file to create
+     * @param warnings - Where invalid lines are reported
+     * @return long - The number of hands written
+     * @throws IOException - Either file could not be read or written
+     */
+    public long convert(Path textFile, Path binaryFile, PrintStream warnings) throws IOException {
+        byte recordType = this.holdem ? BinaryHandFormat.CARD_MASK : BinaryHandFormat.CARD_BYTES;
+        byte[] cards = new byte[MAX_CARDS];
+        Card[] parsed = new Card[MAX_CARDS];
+
+        try(BufferedReader reader = Files.newBufferedReader(textFile, StandardCharsets.UTF_8);
+            BinaryHandWriter writer = new BinaryHandWriter(binaryFile, recordType, 5, BinaryHandFormat.DEFAULT_BLOCK_SIZE)) {
+            long lineNumber = 0;
+            String line;
+            while((line = reader.readLine()) != null) {
+                lineNumber++;
+                if(line.isEmpty()) {
+                    continue;
+                }
+
+                String[] input = line.split(" ");
+                long cardMask = CardValidation.validateHand(input, CARDS_IN_HAND, this.holdem ? MAX_CARDS : CARDS_IN_HAND, parsed);
+                if(CardValidation.isError(cardMask)) {
+                    warnings.println("Line #" + lineNumber + " (" + line + ") failed with exception: " + CardValidation.describe(cardMask, input));
+                    continue;
+                }
+
+                for (int i = 0; i < input.length; i++) {
+                    cards[i] = (byte) Long.numberOfTrailingZeros(parsed[i].getCardMask());
+                }
+
+                writer.write(cards, input.length, lineNumber);
+            }
+
+            return writer.getHandCount();
+        }
+    }
+}
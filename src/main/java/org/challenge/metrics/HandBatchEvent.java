@@ -0,0 +1,35 @@
+package org.challenge.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning one batch scored by a ByteLineScorer (a read from a stream, or a memory mapped file segment), so
+ * slow batches can be lined up against GC pauses and safepoints in the same recording
+ */
+@Name("org.challenge.HandBatch")
+@Label("Hand Batch")
+@Category("Poker Hands")
+@Description("A batch of lines scored by one thread")
+class HandBatchEvent extends Event {
+    @Label("Lines")
+    long lines;
+
+    @Label("Hands")
+    long hands;
+
+    @Label("Invalid Lines")
+    long errors;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,211 @@
+package org.challenge.metrics;
+
+import org.challenge.evaluators.EvaluationCache;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the scoring metrics of a run: line and byte counts, invalid lines by error, time per Stage, per hand
+ * evaluation latency and allocation.
+ * Recording happens in MetricsRecorders that are never shared between threads. A ByteLineScorer owns one and publishes
+ * it here after every batch, other code paths use the calling thread's recorder, which is registered once and also read
+ * in place whenever a snapshot is taken. Recorders are read without stopping their owner, so the latest lines of a
+ * thread that is still scoring may lag slightly.
+ * The totals are exposed over JMX, see HandMetricsMXBean, and written periodically by a MetricsReporter
+ */
+public class HandMetrics implements HandMetricsMXBean {
+    public static final String OBJECT_NAME = "org.challenge:type=HandMetrics";
+    /**
+     * One line in this many has its stages timed
+     */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+    private final int sampleInterval;
+    private final long startNanos = System.nanoTime();
+    private final MetricsSnapshot.Builder published = new MetricsSnapshot.Builder();
+    private final List<MetricsRecorder> threadRecorders = new ArrayList<>();
+    private final ThreadLocal<MetricsRecorder> threadRecorder = new ThreadLocal<>();
+    private final Map<String, Map<String, Long>> totals = new LinkedHashMap<>();
+    private volatile EvaluationCache cache;
+    private volatile boolean registered;
+
+    public HandMetrics() {
+        this(DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * @param sampleInterval - Time the stages of one line in this many, 1 times every line
+     */
+    public HandMetrics(int sampleInterval) {
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * @return MetricsRecorder - A recorder for a single owner that publishes its counts with MetricsRecorder.publish()
+     */
+    public MetricsRecorder newRecorder() {
+        return new MetricsRecorder(this, this.sampleInterval);
+    }
+
+    /**
+     * @return MetricsRecorder - The calling thread's recorder, never published, it is read in place by snapshot()
+     */
+    public MetricsRecorder threadRecorder() {
+        MetricsRecorder recorder = this.threadRecorder.get();
+        if(recorder == null) {
+            recorder = registerThreadRecorder();
+            this.threadRecorder.set(recorder);
+        }
+
+        return recorder;
+    }
+
+    /**
+     * @param cache - The evaluation cache whose counters are included in every snapshot, or null for none
+     */
+    public void setCache(EvaluationCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Adds counts a run mode only knows once the input has been scored, i.e. the distinct hands found by --dedup, to
+     * every later snapshot
+     * @param name - The name of the JSON object holding them, a later call with the same name replaces them
+     * @param totals - The counts keyed by name, written in iteration order
+     */
+    public synchronized void setTotals(String name, Map<String, Long> totals) {
+        this.totals.put(name, new LinkedHashMap<>(totals));
+    }
+
+    /**
+     * @return MetricsSnapshot - The totals so far across every recorder
+     */
+    public synchronized MetricsSnapshot snapshot() {
+        MetricsSnapshot.Builder builder = new MetricsSnapshot.Builder();
+        builder.add(this.published);
+        for (MetricsRecorder recorder : this.threadRecorders) {
+            recorder.addTo(builder);
+        }
+
+        EvaluationCache cache = this.cache;
+        return builder.build(System.currentTimeMillis(), System.nanoTime() - this.startNanos, cache == null ? null : cache.getStats(), new LinkedHashMap<>(this.totals));
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server, replacing any registered earlier in this JVM
+     * @throws IllegalStateException - The MBean server rejected the registration
+     */
+    public void registerMBean() throws IllegalStateException {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if(server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+
+            server.registerMBean(this, name);
+            this.registered = true;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Removes these metrics from the platform MBean server, if they were registered
+     */
+    public void unregisterMBean() {
+        if(!this.registered) {
+            return;
+        }
+
+        this.registered = false;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if(server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            // Nothing registered under the name, or already removed
+        }
+    }
+
+    synchronized void merge(MetricsRecorder recorder) {
+        recorder.addTo(this.published);
+        recorder.reset();
+    }
+
+    private synchronized MetricsRecorder registerThreadRecorder() {
+        MetricsRecorder recorder = newRecorder();
+        this.threadRecorders.add(recorder);
+        return recorder;
+    }
+
+    @Override
+    public long getLines() {
+        return snapshot().getLines();
+    }
+
+    @Override
+    public long getHands() {
+        return snapshot().getHands();
+    }
+
+    @Override
+    public long getErrors() {
+        return snapshot().getErrors();
+    }
+
+    @Override
+    public long getBytes() {
+        return snapshot().getBytes();
+    }
+
+    @Override
+    public double getLinesPerSecond() {
+        return snapshot().getLinesPerSecond();
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        return snapshot().getBytesPerSecond();
+    }
+
+    @Override
+    public double getAllocatedBytesPerLine() {
+        return snapshot().getAllocatedBytesPerLine();
+    }
+
+    @Override
+    public Map<String, Long> getErrorsByExceptionType() {
+        return snapshot().getErrorsByExceptionType();
+    }
+
+    @Override
+    public Map<String, Long> getErrorsByValidationError() {
+        return snapshot().getErrorsByValidationError();
+    }
+
+    @Override
+    public Map<String, Long> getStageNanos() {
+        return snapshot().getStageNanos();
+    }
+
+    @Override
+    public Map<String, Long> getEvaluationLatencyNanos() {
+        return snapshot().getEvaluationLatencyNanos();
+    }
+
+    @Override
+    public double getCacheHitRate() {
+        EvaluationCache cache = this.cache;
+        return cache == null ? 0 : cache.getStats().hitRate();
+    }
+}
@@ -0,0 +1,36 @@
+package org.challenge.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of HandMetrics, registered as HandMetrics.OBJECT_NAME. Every attribute is read from a fresh snapshot,
+ * see MetricsSnapshot for what each one means
+ */
+public interface HandMetricsMXBean {
+    long getLines();
+
+    long getHands();
+
+    long getErrors();
+
+    long getBytes();
+
+    double getLinesPerSecond();
+
+    double getBytesPerSecond();
+
+    double getAllocatedBytesPerLine();
+
+    Map<String, Long> getErrorsByExceptionType();
+
+    Map<String, Long> getErrorsByValidationError();
+
+    Map<String, Long> getStageNanos();
+
+    Map<String, Long> getEvaluationLatencyNanos();
+
+    /**
+     * @return double - Fraction of evaluations answered by the evaluation cache, 0 when no cache is in use
+     */
+    double getCacheHitRate();
+}
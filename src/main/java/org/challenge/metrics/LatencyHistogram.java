@@ -0,0 +1,110 @@
+package org.challenge.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A log-linear histogram of nanosecond values in the style of HdrHistogram: values below 32 get a bucket each and every
+ * power of two above that is split into 16 equal buckets, so any recorded value is reported within about 6% using a
+ * fixed 960 counters. Recording is a couple of shifts and an array increment. Not thread safe, each MetricsRecorder
+ * owns one and they are merged when a snapshot is taken
+ */
+public final class LatencyHistogram {
+    private static final int LINEAR_BITS = 5;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int LINEAR_BUCKETS = 1 << LINEAR_BITS;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = LINEAR_BUCKETS + (Long.SIZE - 1 - LINEAR_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    /**
+     * @param nanos - The value to record, negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        this.counts[bucket(value)]++;
+        this.count++;
+        this.sum += value;
+        if(value > this.max) {
+            this.max = value;
+        }
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.counts[i] += other.counts[i];
+        }
+
+        this.count += other.count;
+        this.sum += other.sum;
+        this.max = Math.max(this.max, other.max);
+    }
+
+    public void reset() {
+        Arrays.fill(this.counts, 0);
+        this.count = 0;
+        this.sum = 0;
+        this.max = 0;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * @return double - The mean of the recorded values, 0 when empty
+     */
+    public double getMean() {
+        return this.count == 0 ? 0 : (double) this.sum / this.count;
+    }
+
+    /**
+     * @param percentile - 0 to 100, i.e. 99.9
+     * @return long - The largest value sharing a bucket with the value at the percentile, capped at the maximum
+     *                recorded, 0 when empty
+     */
+    public long getValueAtPercentile(double percentile) {
+        if(this.count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * this.count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts[i];
+            if(seen >= rank) {
+                return Math.min(highestValueIn(i), this.max);
+            }
+        }
+
+        return this.max;
+    }
+
+    static int bucket(long value) {
+        if(value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueIn(int bucket) {
+        if(bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + LINEAR_BITS;
+        long subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+}
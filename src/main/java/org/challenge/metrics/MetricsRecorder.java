@@ -0,0 +1,178 @@
+package org.challenge.metrics;
+
+import jdk.jfr.FlightRecorder;
+import org.challenge.models.ValidationError;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * The buffer a single thread records into, plain fields with no synchronisation so recording a line costs a few
+ * increments. Counters are kept for every line, stage timings and evaluation latency only for one line in every
+ * HandMetrics sample interval, which keeps the System.nanoTime() calls off most lines. Allocation is read from the
+ * JVM's per thread counter when the recorder publishes.
+ * A HandBatchEvent is only begun once Flight Recorder is running, so JFR is not initialised for runs that do not use it.
+ * A recorder either belongs to a thread and is read in place by HandMetrics, or belongs to a ByteLineScorer and is
+ * published into HandMetrics at the end of every batch
+ */
+public final class MetricsRecorder {
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+    /**
+     * A recorder publishes on its own after this many lines, so long batches still show up in snapshots as they run
+     */
+    private static final long PUBLISH_LINES = 1 << 16;
+
+    private final HandMetrics metrics;
+    private final int sampleInterval;
+    private final long[] errors = new long[ValidationError.values().length];
+    private final long[] stageNanos = new long[Stage.values().length];
+    private final LatencyHistogram evaluationLatency = new LatencyHistogram();
+    private long lines;
+    private long hands;
+    private long bytes;
+    private long sampledLines;
+    private long allocatedBytes;
+    private long allocationBaseline = -1;
+    private int untilSample;
+    private HandBatchEvent batchEvent;
+
+    MetricsRecorder(HandMetrics metrics, int sampleInterval) {
+        this.metrics = metrics;
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * Called before each line is scored
+     * @return boolean - true when the stages of this line should be timed and passed to recordSample()
+     */
+    public boolean sampleNext() {
+        if(this.batchEvent == null && FlightRecorder.isInitialized()) {
+            this.batchEvent = new HandBatchEvent();
+            this.batchEvent.begin();
+        }
+
+        if(--this.untilSample > 0) {
+            return false;
+        }
+
+        this.untilSample = this.sampleInterval;
+        if(this.lines >= PUBLISH_LINES) {
+            publish();
+        } else if(this.allocationBaseline < 0) {
+            trackAllocation();
+        }
+
+        return true;
+    }
+
+    /**
+     * @param bytes - Length of the line including its terminator
+     */
+    public void recordHand(long bytes) {
+        this.lines++;
+        this.hands++;
+        this.bytes += bytes;
+    }
+
+    /**
+     * @param error - Why the line was rejected
+     * @param bytes - Length of the line including its terminator
+     */
+    public void recordError(ValidationError error, long bytes) {
+        this.lines++;
+        this.errors[error.ordinal()]++;
+        this.bytes += bytes;
+    }
+
+    /**
+     * Adds the stage timings of a sampled line
+     * @param parseNanos - Time spent finding and validating the cards
+     * @param evaluateNanos - Time spent ranking the hand, also added to the evaluation latency histogram
+     * @param writeNanos - Time spent writing the result
+     */
+    public void recordSample(long parseNanos, long evaluateNanos, long writeNanos) {
+        this.sampledLines++;
+        this.stageNanos[Stage.PARSE.ordinal()] += parseNanos;
+        this.stageNanos[Stage.EVALUATE.ordinal()] += evaluateNanos;
+        this.stageNanos[Stage.WRITE.ordinal()] += writeNanos;
+        this.evaluationLatency.record(evaluateNanos);
+    }
+
+    /**
+     * Reads are few and large so every one is timed, not sampled
+     * @param nanos - Time spent in a single read
+     */
+    public void recordRead(long nanos) {
+        this.stageNanos[Stage.READ.ordinal()] += nanos;
+    }
+
+    /**
+     * Hands everything recorded so far to HandMetrics and starts again from zero, must be called by the owning thread.
+     * The allocation baseline is kept so allocation between batches is still counted
+     */
+    public void publish() {
+        trackAllocation();
+        if(this.batchEvent != null && this.batchEvent.shouldCommit()) {
+            this.batchEvent.lines = this.lines;
+            this.batchEvent.hands = this.hands;
+            this.batchEvent.bytes = this.bytes;
+            this.batchEvent.errors = this.lines - this.hands;
+            this.batchEvent.allocatedBytes = this.allocatedBytes;
+            this.batchEvent.commit();
+        }
+
+        this.batchEvent = null;
+        this.metrics.merge(this);
+    }
+
+    /**
+     * Starts again from zero once the counts have been merged, called under the HandMetrics lock
+     */
+    void reset() {
+        Arrays.fill(this.errors, 0);
+        Arrays.fill(this.stageNanos, 0);
+        this.evaluationLatency.reset();
+        this.lines = 0;
+        this.hands = 0;
+        this.bytes = 0;
+        this.sampledLines = 0;
+        this.allocatedBytes = 0;
+    }
+
+    /**
+     * Adds this recorder's counts to a snapshot being assembled, the caller holds the HandMetrics lock
+     */
+    void addTo(MetricsSnapshot.Builder snapshot) {
+        snapshot.add(this.lines, this.hands, this.bytes, this.sampledLines, this.allocatedBytes, this.errors, this.stageNanos, this.evaluationLatency);
+    }
+
+    /**
+     * Allocation is measured on the owning thread from the JVM's per thread allocation counter, which is not available
+     * for virtual threads
+     */
+    private void trackAllocation() {
+        if(THREADS == null) {
+            return;
+        }
+
+        long allocated = THREADS.getCurrentThreadAllocatedBytes();
+        if(allocated < 0) {
+            return;
+        }
+
+        if(this.allocationBaseline >= 0) {
+            this.allocatedBytes += allocated - this.allocationBaseline;
+        }
+
+        this.allocationBaseline = allocated;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        }
+
+        return null;
+    }
+}
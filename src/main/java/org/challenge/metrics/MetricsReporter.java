@@ -0,0 +1,131 @@
+package org.challenge.metrics;
+
+import jdk.jfr.FlightRecorder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes HandMetrics while a run is in progress: registers them over JMX and writes a MetricsSnapshot as one JSON line
+ * every interval, and a last one when closed, so a run can be tailed or loaded into any JSON Lines tool. Each snapshot
+ * is also committed as a JFR MetricsSnapshotEvent when Flight Recorder is running.
+ * Starting the platform MBean server takes a noticeable fraction of a second, so it is done on the reporter's thread
+ * while scoring gets under way
+ */
+public class MetricsReporter implements Closeable {
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+    /**
+     * Target that writes the snapshots to stderr
+     */
+    public static final String STANDARD_ERROR = "-";
+
+    private final HandMetrics metrics;
+    private final PrintStream output;
+    private final boolean ownsOutput;
+    private final ScheduledExecutorService scheduler;
+
+    private MetricsReporter(HandMetrics metrics, PrintStream output, boolean ownsOutput) {
+        this.metrics = metrics;
+        this.output = output;
+        this.ownsOutput = ownsOutput;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param metrics - The metrics to report
+     * @param output - Receives a JSON line per snapshot, it is not closed
+     * @param intervalMillis - Time between snapshots
+     * @return MetricsReporter - The running reporter
+     */
+    public static MetricsReporter start(HandMetrics metrics, PrintStream output, long intervalMillis) {
+        return new MetricsReporter(metrics, output, false).schedule(intervalMillis);
+    }
+
+    /**
+     * @param metrics - The metrics to report
+     * @param target - A file to create, or STANDARD_ERROR
+     * @param intervalMillis - Time between snapshots
+     * @return MetricsReporter - The running reporter
+     * @throws IOException - The file could not be created
+     */
+    public static MetricsReporter start(HandMetrics metrics, String target, long intervalMillis) throws IOException {
+        if(STANDARD_ERROR.equals(target)) {
+            return start(metrics, System.err, intervalMillis);
+        }
+
+        OutputStream file = Files.newOutputStream(Path.of(target));
+        return new MetricsReporter(metrics, new PrintStream(file, false, StandardCharsets.UTF_8), true).schedule(intervalMillis);
+    }
+
+    /**
+     * Started only once the reporter is fully constructed, so the reporter's thread never sees it half built
+     */
+    private MetricsReporter schedule(long intervalMillis) {
+        this.scheduler.execute(this::registerMBean);
+        this.scheduler.scheduleAtFixedRate(this::report, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    /**
+     * Writes a snapshot now
+     */
+    public synchronized void report() {
+        MetricsSnapshot snapshot = this.metrics.snapshot();
+        this.output.println(snapshot.toJson());
+        this.output.flush();
+
+        if(!FlightRecorder.isInitialized()) {
+            return;
+        }
+
+        MetricsSnapshotEvent event = new MetricsSnapshotEvent();
+        if(event.shouldCommit()) {
+            event.lines = snapshot.getLines();
+            event.errors = snapshot.getErrors();
+            event.bytes = snapshot.getBytes();
+            event.linesPerSecond = snapshot.getLinesPerSecond();
+            event.evaluationP99 = snapshot.getEvaluationLatencyNanos().get("p99");
+            event.allocatedBytesPerLine = snapshot.getAllocatedBytesPerLine();
+            event.commit();
+        }
+    }
+
+    private void registerMBean() {
+        try {
+            this.metrics.registerMBean();
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage() + ": " + e.getCause());
+        }
+    }
+
+    /**
+     * Stops the schedule, writes the final snapshot and unregisters the MBean
+     */
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+        try {
+            this.scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.metrics.unregisterMBean();
+        report();
+        if(this.ownsOutput) {
+            this.output.close();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package org.challenge.metrics;
+
+import org.challenge.evaluators.EvaluationCache;
+import org.challenge.models.ValidationError;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The combined totals of every MetricsRecorder at one point in time
+ */
+public final class MetricsSnapshot {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final long timestampMillis;
+    private final long elapsedNanos;
+    private final long lines;
+    private final long hands;
+    private final long bytes;
+    private final long sampledLines;
+    private final long allocatedBytes;
+    private final long[] errors;
+    private final long[] stageNanos;
+    private final LatencyHistogram evaluationLatency;
+    private final EvaluationCache.Stats cacheStats;
+    private final Map<String, Map<String, Long>> totals;
+
+    private MetricsSnapshot(Builder builder, long timestampMillis, long elapsedNanos, EvaluationCache.Stats cacheStats, Map<String, Map<String, Long>> totals) {
+        this.timestampMillis = timestampMillis;
+        this.elapsedNanos = elapsedNanos;
+        this.lines = builder.lines;
+        this.hands = builder.hands;
+        this.bytes = builder.bytes;
+        this.sampledLines = builder.sampledLines;
+        this.allocatedBytes = builder.allocatedBytes;
+        this.errors = builder.errors;
+        this.stageNanos = builder.stageNanos;
+        this.evaluationLatency = builder.evaluationLatency;
+        this.cacheStats = cacheStats;
+        this.totals = totals;
+    }
+
+    public long getTimestampMillis() {
+        return this.timestampMillis;
+    }
+
+    /**
+     * @return long - Time since the HandMetrics were created
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * @return long - Non-empty lines scored, valid or not
+     */
+    public long getLines() {
+        return this.lines;
+    }
+
+    public long getHands() {
+        return this.hands;
+    }
+
+    public long getErrors() {
+        return this.lines - this.hands;
+    }
+
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    public double getLinesPerSecond() {
+        return perSecond(this.lines);
+    }
+
+    public double getBytesPerSecond() {
+        return perSecond(this.bytes);
+    }
+
+    /**
+     * @return double - Bytes allocated by the scoring threads for each line, where the JVM can measure it
+     */
+    public double getAllocatedBytesPerLine() {
+        return this.lines == 0 ? 0 : (double) this.allocatedBytes / this.lines;
+    }
+
+    /**
+     * @return Map - Invalid lines keyed by the ValidationError name, only errors that occurred
+     */
+    public Map<String, Long> getErrorsByValidationError() {
+        Map<String, Long> errors = new LinkedHashMap<>();
+        for (ValidationError error : ValidationError.values()) {
+            if(this.errors[error.ordinal()] > 0) {
+                errors.put(error.name(), this.errors[error.ordinal()]);
+            }
+        }
+
+        return errors;
+    }
+
+    /**
+     * @return Map - Invalid lines keyed by the simple name of the exception the throwing API reports for them
+     */
+    public Map<String, Long> getErrorsByExceptionType() {
+        Map<String, Long> errors = new LinkedHashMap<>();
+        for (ValidationError error : ValidationError.values()) {
+            if(this.errors[error.ordinal()] > 0) {
+                errors.merge(error.getExceptionType().getSimpleName(), this.errors[error.ordinal()], Long::sum);
+            }
+        }
+
+        return errors;
+    }
+
+    /**
+     * READ is measured in full, the other stages are the mean of the sampled lines scaled up to every line
+     * @return Map - Estimated time spent in each Stage, keyed by its name
+     */
+    public Map<String, Long> getStageNanos() {
+        Map<String, Long> stages = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            long nanos = this.stageNanos[stage.ordinal()];
+            if(stage != Stage.READ) {
+                nanos = this.sampledLines == 0 ? 0 : (long) ((double) nanos / this.sampledLines * this.lines);
+            }
+
+            stages.put(stage.name(), nanos);
+        }
+
+        return stages;
+    }
+
+    /**
+     * @return Map - Percentiles ("p50", "p90", "p99", "p99.9"), "max" and "mean" of the sampled evaluation times in
+     *               nanoseconds, the timer's own overhead of a few tens of nanoseconds is included
+     */
+    public Map<String, Long> getEvaluationLatencyNanos() {
+        Map<String, Long> latency = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            latency.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    this.evaluationLatency.getValueAtPercentile(percentile));
+        }
+
+        latency.put("max", this.evaluationLatency.getMax());
+        latency.put("mean", Math.round(this.evaluationLatency.getMean()));
+        return latency;
+    }
+
+    public long getSampledLines() {
+        return this.sampledLines;
+    }
+
+    /**
+     * @return Stats - The evaluation cache counters, or null when no cache is in use
+     */
+    public EvaluationCache.Stats getCacheStats() {
+        return this.cacheStats;
+    }
+
+    /**
+     * @return Map - The counts set through HandMetrics.setTotals, keyed by the name they were set under
+     */
+    public Map<String, Map<String, Long>> getTotals() {
+        return this.totals;
+    }
+
+    /**
+     * @return String - The snapshot as a single line JSON object, suited to a JSON Lines file
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(512);
+        json.append('{');
+        field(json, "timestamp", this.timestampMillis).append(',');
+        field(json, "elapsedMillis", this.elapsedNanos / 1_000_000).append(',');
+        field(json, "lines", this.lines).append(',');
+        field(json, "hands", this.hands).append(',');
+        field(json, "errors", getErrors()).append(',');
+        field(json, "bytes", this.bytes).append(',');
+        field(json, "linesPerSecond", getLinesPerSecond()).append(',');
+        field(json, "bytesPerSecond", getBytesPerSecond()).append(',');
+        field(json, "allocatedBytesPerLine", getAllocatedBytesPerLine()).append(',');
+        field(json, "sampledLines", this.sampledLines).append(',');
+        object(json, "errorsByExceptionType", getErrorsByExceptionType()).append(',');
+        object(json, "errorsByValidationError", getErrorsByValidationError()).append(',');
+        object(json, "stageNanos", getStageNanos()).append(',');
+        object(json, "evaluationLatencyNanos", getEvaluationLatencyNanos());
+        if(this.cacheStats != null) {
+            json.append(",\"cache\":{");
+            field(json, "hits", this.cacheStats.hits()).append(',');
+            field(json, "misses", this.cacheStats.misses()).append(',');
+            field(json, "evictions", this.cacheStats.evictions()).append(',');
+            field(json, "size", this.cacheStats.size()).append(',');
+            field(json, "hitRate", this.cacheStats.hitRate()).append('}');
+        }
+
+        for (Map.Entry<String, Map<String, Long>> entry : this.totals.entrySet()) {
+            object(json.append(','), entry.getKey(), entry.getValue());
+        }
+
+        return json.append('}').toString();
+    }
+
+    private double perSecond(long count) {
+        return this.elapsedNanos == 0 ? 0 : count * 1_000_000_000.0 / this.elapsedNanos;
+    }
+
+    private static StringBuilder field(StringBuilder json, String name, long value) {
+        return json.append('"').append(name).append("\":").append(value);
+    }
+
+    private static StringBuilder field(StringBuilder json, String name, double value) {
+        return json.append('"').append(name).append("\":").append(String.format(Locale.ROOT, "%.3f", value));
+    }
+
+    private static StringBuilder object(StringBuilder json, String name, Map<String, Long> values) {
+        json.append('"').append(name).append("\":{");
+        boolean first = true;
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            if(!first) {
+                json.append(',');
+            }
+
+            field(json, entry.getKey(), entry.getValue());
+            first = false;
+        }
+
+        return json.append('}');
+    }
+
+    /**
+     * Sums recorders into a new snapshot, used under the HandMetrics lock
+     */
+    static final class Builder {
+        private final long[] errors = new long[ValidationError.values().length];
+        private final long[] stageNanos = new long[Stage.values().length];
+        private final LatencyHistogram evaluationLatency = new LatencyHistogram();
+        private long lines;
+        private long hands;
+        private long bytes;
+        private long sampledLines;
+        private long allocatedBytes;
+
+        void add(long lines, long hands, long bytes, long sampledLines, long allocatedBytes, long[] errors, long[] stageNanos, LatencyHistogram evaluationLatency) {
+            this.lines += lines;
+            this.hands += hands;
+            this.bytes += bytes;
+            this.sampledLines += sampledLines;
+            this.allocatedBytes += allocatedBytes;
+            for (int i = 0; i < errors.length; i++) {
+                this.errors[i] += errors[i];
+            }
+
+            for (int i = 0; i < stageNanos.length; i++) {
+                this.stageNanos[i] += stageNanos[i];
+            }
+
+            this.evaluationLatency.merge(evaluationLatency);
+        }
+
+        void add(Builder other) {
+            add(other.lines, other.hands, other.bytes, other.sampledLines, other.allocatedBytes, other.errors, other.stageNanos, other.evaluationLatency);
+        }
+
+        MetricsSnapshot build(long timestampMillis, long elapsedNanos, EvaluationCache.Stats cacheStats, Map<String, Map<String, Long>> totals) {
+            return new MetricsSnapshot(this, timestampMillis, elapsedNanos, cacheStats, totals);
+        }
+    }
+}
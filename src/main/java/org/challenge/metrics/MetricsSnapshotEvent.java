@@ -0,0 +1,39 @@
+package org.challenge.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Event;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event carrying the running totals each time MetricsReporter writes a snapshot
+ */
+@Name("org.challenge.MetricsSnapshot")
+@Label("Hand Metrics Snapshot")
+@Category("Poker Hands")
+@Description("Running totals of the hand scoring metrics")
+class MetricsSnapshotEvent extends Event {
+    @Label("Lines")
+    long lines;
+
+    @Label("Invalid Lines")
+    long errors;
+
+    @Label("Lines per Second")
+    double linesPerSecond;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Evaluation p99")
+    @Timespan(Timespan.NANOSECONDS)
+    long evaluationP99;
+
+    @Label("Allocated per Line")
+    @DataAmount
+    double allocatedBytesPerLine;
+}
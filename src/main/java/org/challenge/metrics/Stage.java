@@ -0,0 +1,24 @@
+package org.challenge.metrics;
+
+/**
+ * The steps a line goes through on its way from the input to the output
+ */
+public enum Stage {
+    /**
+     * Reading from a stream or socket, including any wait for data to arrive. Memory mapped files are read by page
+     * faults while they are parsed, so for them this time is part of PARSE
+     */
+    READ,
+    /**
+     * Finding the line's cards and validating them
+     */
+    PARSE,
+    /**
+     * Ranking the hand
+     */
+    EVALUATE,
+    /**
+     * Appending the result to the output buffer, including any flush it triggers
+     */
+    WRITE
+}
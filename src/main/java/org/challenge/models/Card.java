@@ -1,39 +1,88 @@
 package org.challenge.models;
 
+import org.challenge.exceptions.DuplicateCardException;
 import org.challenge.exceptions.UnmatchedCardValueException;
 
 /**
  * Class that represents a standard playing card
- * Provides access to a cards rank and suit
+ * Provides access to a cards rank and suit.
+ * One shared instance exists per card, see Card.valueOf(String), equality is by rank and suit
  */
 public class Card {
+    /**
+     * Number of bits reserved for each suit within a card mask, each suit block holds one bit per CardRank index
+     */
+    public static final int SUIT_SHIFT = 16;
+
+    private static final Card[] CARDS = canonicalCards();
+
     private final CardRank rank;
     private final CardSuit suit;
 
     /**
      * Constructs a card object with a rank and suit derived from the input and matched to known values.
+     * Prefer Card.valueOf(String) which returns the shared instance rather than allocating a new card
      *
      * @param input - The card value as a string, i.e. 2H (2 of Hearts)
      * @throws UnmatchedCardValueException - throws up to parent for handling if matchCardValue throws the error
      */
     public Card(String input) throws IllegalArgumentException, UnmatchedCardValueException {
-        if (input == null) {
-            throw new IllegalArgumentException("Input is null");
-        }
+        this(valueOf(input));
+    }
+
+    private Card(Card card) {
+        this(card.rank, card.suit);
+    }
 
-        if(input.length() != 2) {
-            throw new IllegalArgumentException("Invalid card length, expected 2 characters but was " + input.length());
+    private Card(CardRank rank, CardSuit suit) {
+        this.rank = rank;
+        this.suit = suit;
+    }
+
+    /**
+     * Returns the shared instance of the card described by the input, parsing is a pair of array reads
+     *
+     * @param input - The card value as a string, i.e. 2H (2 of Hearts), lower case and Unicode suits are accepted
+     * @return Card - The canonical instance of the card
+     * @throws IllegalArgumentException - The input is null or not 2 characters long
+     * @throws UnmatchedCardValueException - The rank or suit could not be matched
+     */
+    public static Card valueOf(String input) throws IllegalArgumentException, UnmatchedCardValueException {
+        long cardMask = CardValidation.validateCard(input);
+        if(CardValidation.isError(cardMask)) {
+            throwCardError(cardMask, input);
         }
 
-        this.rank = CardRank.findByText(String.valueOf(Character.toUpperCase(input.charAt(0))));
-        if(this.rank == null) {
-            throw new UnmatchedCardValueException("Card Rank " + input.charAt(0) + " was not able to be matched");
+        return CARDS[Long.numberOfTrailingZeros(cardMask)];
+    }
+
+    /**
+     * Returns the shared instance of the card held at a bit position of a card mask
+     *
+     * @param maskIndex - The bit position, i.e. Long.numberOfTrailingZeros(card.getCardMask())
+     * @return Card - The canonical instance of the card, or null when the position does not hold a card
+     */
+    public static Card fromMaskIndex(int maskIndex) {
+        return maskIndex >= 0 && maskIndex < CARDS.length ? CARDS[maskIndex] : null;
+    }
+
+    private static void throwCardError(long result, String input) throws IllegalArgumentException, UnmatchedCardValueException {
+        try {
+            CardValidation.throwIfError(result, new String[]{input});
+        } catch (DuplicateCardException e) {
+            throw new IllegalStateException("A single card cannot be a duplicate", e);
         }
+    }
 
-        this.suit = CardSuit.findByText(String.valueOf(Character.toUpperCase(input.charAt(1))));
-        if(this.suit == null) {
-            throw new UnmatchedCardValueException("Card Suit " + input.charAt(1) + " was not able to be matched");
+    private static Card[] canonicalCards() {
+        Card[] cards = new Card[CardSuit.values().length * SUIT_SHIFT];
+        for (CardSuit suit : CardSuit.values()) {
+            for (CardRank rank : CardRank.values()) {
+                cards[suit.getIndex() * SUIT_SHIFT + rank.getIndex()] = new Card(rank, suit);
+            }
         }
+
+        return cards;
     }
 
     public CardRank getCardRank() {
@@ -47,4 +96,27 @@ public class Card {
     public CardSuit getCardSuit() {
         return suit;
     }
+
+    /**
+     * Provides the single bit that identifies this card within a 64-bit card mask.
+     * Cards are laid out suit-major, i.e. bit = (suit index * 16) + rank index, so each suit occupies its own 16-bit block
+     * @return long - A mask with exactly one bit set
+     */
+    public long getCardMask() {
+        return 1L << (this.suit.getIndex() * SUIT_SHIFT + this.rank.getIndex());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) {
+            return true;
+        }
+
+        return o instanceof Card card && this.rank == card.rank && this.suit == card.suit;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.suit.getIndex() * SUIT_SHIFT + this.rank.getIndex();
+    }
 }
@@ -16,6 +16,15 @@ public enum CardRank {
     KING("K", 12),
     ACE("A", 13);
 
+    private static final CardRank[] BY_CHAR = new CardRank[128];
+
+    static {
+        for (CardRank cr : values()) {
+            BY_CHAR[cr.text.charAt(0)] = cr;
+            BY_CHAR[Character.toLowerCase(cr.text.charAt(0))] = cr;
+        }
+    }
+
     private final String text;
     private final int index;
 
@@ -25,13 +34,20 @@ public enum CardRank {
     }
 
     public static CardRank findByText(String text) {
-        for(CardRank cr : values()) {
-            if(cr.text.equals(text)) {
-                return cr;
-            }
-        }
+        return text != null && text.length() == 1 ? findByChar(text.charAt(0)) : null;
+    }
+
+    /**
+     * Looks up a rank by its character with a single array read, upper and lower case are accepted
+     * @param c - The rank character, i.e. 'T' or 't'
+     * @return CardRank - The matching rank or null
+     */
+    public static CardRank findByChar(char c) {
+        return c < BY_CHAR.length ? BY_CHAR[c] : null;
+    }
 
-        return null;
+    public String getText() {
+        return text;
     }
 
     public int getIndex() {
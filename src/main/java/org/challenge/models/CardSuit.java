@@ -1,27 +1,63 @@
 package org.challenge.models;
 
 public enum CardSuit {
-    CLUBS("C", '♣'),
-    DIAMONDS("D", '♢'),
-    HEARTS("H", '♡'),
-    SPADES("S", '♠');
+    CLUBS("C", '♣', 0),
+    DIAMONDS("D", '♢', 1),
+    HEARTS("H", '♡', 2),
+    SPADES("S", '♠', 3);
+
+    private static final CardSuit[] BY_CHAR = new CardSuit[128];
+    private static final char GLYPH_BASE = '♠';
+    private static final CardSuit[] BY_GLYPH = new CardSuit[4];
+
+    static {
+        for (CardSuit cs : values()) {
+            BY_CHAR[cs.text.charAt(0)] = cs;
+            BY_CHAR[Character.toLowerCase(cs.text.charAt(0))] = cs;
+            BY_GLYPH[cs.unicodeChar.charAt(0) - GLYPH_BASE] = cs;
+        }
+    }
 
     private final String text;
 
     private final String unicodeChar;
 
-    CardSuit(String text, char unicodeChar) {
+    private final int index;
+
+    CardSuit(String text, char unicodeChar, int index) {
         this.text = text;
         this.unicodeChar = String.valueOf(unicodeChar);
+        this.index = index;
     }
 
     public static CardSuit findByText(String text) {
-        for(CardSuit cs : values()) {
-            if(cs.text.equals(text) || cs.unicodeChar.equals(text)) {
-                return cs;
-            }
+        return text != null && text.length() == 1 ? findByChar(text.charAt(0)) : null;
+    }
+
+    /**
+     * Looks up a suit by its character with a single array read, upper and lower case letters and the Unicode suit
+     * glyphs are accepted
+     * @param c - The suit character, i.e. 'H', 'h' or '♡'
+     * @return CardSuit - The matching suit or null
+     */
+    public static CardSuit findByChar(char c) {
+        if(c < BY_CHAR.length) {
+            return BY_CHAR[c];
         }
 
-        return null;
+        int glyph = c - GLYPH_BASE;
+        return glyph >= 0 && glyph < BY_GLYPH.length ? BY_GLYPH[glyph] : null;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getUnicodeChar() {
+        return unicodeChar;
+    }
+
+    public int getIndex() {
+        return index;
     }
 }
@@ -0,0 +1,194 @@
+package org.challenge.models;
+
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+
+/**
+ * Validates card descriptions without throwing, for inputs where malformed lines are routine.
+ * Every method returns a single long: a valid hand gives its card mask (bit 63 is never used by a card, so a mask is
+ * never negative) and a problem gives a negative result code. The code packs the ValidationError, the index of the
+ * offending token and the card count limits that applied, which is everything needed to rebuild the exact message the
+ * throwing Card / Hand API reports. Nothing is allocated unless a message is asked for.
+ */
+public final class CardValidation {
+    private static final long ERROR_FLAG = Long.MIN_VALUE;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int POSITION_SHIFT = 8;
+    private static final int MIN_CARDS_SHIFT = 16;
+    private static final int MAX_CARDS_SHIFT = 24;
+
+    private CardValidation() {
+    }
+
+    /**
+     * Validates a single card description, i.e. "2H", "t♠"
+     * @param input - The card value as a string, may be null
+     * @return long - The mask of the card, see Card.getCardMask(), or a negative result code
+     */
+    public static long validateCard(String input) {
+        int maskIndex = cardIndex(input);
+        return maskIndex < 0 ? error(ValidationError.fromOrdinal(-maskIndex - 1), 0, 1, 1) : 1L << maskIndex;
+    }
+
+    /**
+     * Validates a hand of card descriptions, checking the count, then repeated descriptions, then each card in order.
+     * This is the same order of checks Hand(String[]) has always used, so the first reported problem is unchanged
+     * @param input - The card descriptions, i.e. line.split(" ")
+     * @param minCards - The fewest cards a valid hand may hold
+     * @param maxCards - The most cards a valid hand may hold, at most 255
+     * @param cards - Receives the canonical card for each description in input order, may be null when only the mask is
+     *              needed
+     * @return long - The card mask of the hand, or a negative result code
+     */
+    public static long validateHand(String[] input, int minCards, int maxCards, Card[] cards) {
+        if(input.length < minCards || input.length > maxCards) {
+            return error(ValidationError.CARD_COUNT, 0, minCards, maxCards);
+        }
+
+        for (int i = 0; i < input.length; i++) {
+            for (int j = i + 1; j < input.length; j++) {
+                if(input[i] != null && input[i].equalsIgnoreCase(input[j])) {
+                    return error(ValidationError.DUPLICATE_CARD, j, minCards, maxCards);
+                }
+            }
+        }
+
+        long mask = 0;
+        for (int i = 0; i < input.length; i++) {
+            int maskIndex = cardIndex(input[i]);
+            if(maskIndex < 0) {
+                return error(ValidationError.fromOrdinal(-maskIndex - 1), i, minCards, maxCards);
+            }
+
+            long cardBit = 1L << maskIndex;
+            if((mask & cardBit) != 0) {
+                return error(ValidationError.DUPLICATE_CARD, i, minCards, maxCards);
+            }
+
+            mask |= cardBit;
+            if(cards != null) {
+                cards[i] = Card.fromMaskIndex(maskIndex);
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * @param result - A value returned by validateCard or validateHand
+     * @return boolean - true when the value is a result code rather than a card mask
+     */
+    public static boolean isError(long result) {
+        return result < 0;
+    }
+
+    /**
+     * @param result - A result code
+     * @return ValidationError - The kind of problem found
+     */
+    public static ValidationError error(long result) {
+        return ValidationError.fromOrdinal((int) result & BYTE_MASK);
+    }
+
+    /**
+     * @param result - A result code
+     * @return int - Index of the offending card description within the input, 0 for a wrong number of cards
+     */
+    public static int position(long result) {
+        return (int) (result >>> POSITION_SHIFT) & BYTE_MASK;
+    }
+
+    /**
+     * Rebuilds the message the throwing API reports for the problem
+     * @param result - A result code from validateHand
+     * @param input - The card descriptions that were validated
+     * @return String - i.e. "Card Rank U was not able to be matched"
+     */
+    public static String message(long result, String[] input) {
+        String token = input.length == 0 ? null : input[position(result)];
+        return switch (error(result)) {
+            case NULL_CARD -> "Input is null";
+            case CARD_LENGTH -> "Invalid card length, expected 2 characters but was " + token.length();
+            case UNMATCHED_RANK -> "Card Rank " + token.charAt(0) + " was not able to be matched";
+            case UNMATCHED_SUIT -> "Card Suit " + token.charAt(1) + " was not able to be matched";
+            case CARD_COUNT -> countMessage(result, input.length);
+            case DUPLICATE_CARD -> "Hand contains duplicate card(s)";
+        };
+    }
+
+    /**
+     * Rebuilds the text of the exception the throwing API reports for the problem, i.e. what Throwable.toString() gives
+     * @param result - A result code from validateHand
+     * @param input - The card descriptions that were validated
+     * @return String - i.e. "org.challenge.exceptions.DuplicateCardException: Hand contains duplicate card(s)"
+     */
+    public static String describe(long result, String[] input) {
+        return error(result).getExceptionType().getName() + ": " + message(result, input);
+    }
+
+    /**
+     * Throws the exception the throwing API uses for the problem, does nothing for a card mask
+     * @param result - A value returned by validateHand
+     * @param input - The card descriptions that were validated
+     * @throws IllegalArgumentException - Wrong number of cards or an invalid card description
+     * @throws DuplicateCardException - The same card appears more than once
+     * @throws UnmatchedCardValueException - A rank or suit could not be matched
+     */
+    public static void throwIfError(long result, String[] input) throws IllegalArgumentException, DuplicateCardException, UnmatchedCardValueException {
+        if(!isError(result)) {
+            return;
+        }
+
+        Throwable exception = error(result).toException(message(result, input));
+        if(exception instanceof UnmatchedCardValueException unmatched) {
+            throw unmatched;
+        }
+
+        if(exception instanceof DuplicateCardException duplicate) {
+            throw duplicate;
+        }
+
+        throw (IllegalArgumentException) exception;
+    }
+
+    /**
+     * Resolves a card description to its mask bit index, rank before suit as Card(String) always has
+     * @return int - The bit index, or -(ValidationError.ordinal() + 1)
+     */
+    private static int cardIndex(String input) {
+        if(input == null) {
+            return -ValidationError.NULL_CARD.ordinal() - 1;
+        }
+
+        if(input.length() != 2) {
+            return -ValidationError.CARD_LENGTH.ordinal() - 1;
+        }
+
+        CardRank rank = CardRank.findByChar(input.charAt(0));
+        if(rank == null) {
+            return -ValidationError.UNMATCHED_RANK.ordinal() - 1;
+        }
+
+        CardSuit suit = CardSuit.findByChar(input.charAt(1));
+        if(suit == null) {
+            return -ValidationError.UNMATCHED_SUIT.ordinal() - 1;
+        }
+
+        return suit.getIndex() * Card.SUIT_SHIFT + rank.getIndex();
+    }
+
+    private static long error(ValidationError error, int position, int minCards, int maxCards) {
+        return ERROR_FLAG
+                | (long) (maxCards & BYTE_MASK) << MAX_CARDS_SHIFT
+                | (long) (minCards & BYTE_MASK) << MIN_CARDS_SHIFT
+                | (long) (position & BYTE_MASK) << POSITION_SHIFT
+                | error.ordinal();
+    }
+
+    private static String countMessage(long result, int received) {
+        int minCards = (int) (result >>> MIN_CARDS_SHIFT) & BYTE_MASK;
+        int maxCards = (int) (result >>> MAX_CARDS_SHIFT) & BYTE_MASK;
+        String expected = minCards == maxCards ? String.valueOf(minCards) : minCards + " to " + maxCards;
+        return "Expected " + expected + " Cards but received " + received;
+    }
+}
@@ -0,0 +1,58 @@
+package org.challenge.models;
+
+/**
+ * The standard 52 card deck as card mask bits: TWO to ACE of each suit, the "1" rank is accepted by Card but is not
+ * part of a deck. Cards are numbered 0 to 51, suit by suit, so a random card is a single array lookup
+ */
+public final class Deck {
+    public static final int SIZE = 52;
+
+    private static final long[] CARD_MASKS = cardMasks();
+
+    /**
+     * Every card in the deck, for testing whether a card mask only holds real cards
+     */
+    public static final long FULL_MASK = fullMask();
+
+    private Deck() {
+    }
+
+    /**
+     * @param index - 0 to 51
+     * @return long - The card mask bit of the card, see Card.getCardMask()
+     */
+    public static long cardMask(int index) {
+        return CARD_MASKS[index];
+    }
+
+    /**
+     * @param cardMask - Any card mask
+     * @return boolean - true when every card in the mask is part of the deck
+     */
+    public static boolean contains(long cardMask) {
+        return (cardMask & ~FULL_MASK) == 0;
+    }
+
+    private static long[] cardMasks() {
+        long[] masks = new long[SIZE];
+        int count = 0;
+        for (CardSuit suit : CardSuit.values()) {
+            for (CardRank rank : CardRank.values()) {
+                if(rank != CardRank.ONE) {
+                    masks[count++] = 1L << (suit.getIndex() * Card.SUIT_SHIFT + rank.getIndex());
+                }
+            }
+        }
+
+        return masks;
+    }
+
+    private static long fullMask() {
+        long mask = 0;
+        for (long card : CARD_MASKS) {
+            mask |= card;
+        }
+
+        return mask;
+    }
+}
@@ -0,0 +1,62 @@
+package org.challenge.models;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.evaluators.HandStrength;
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+
+/**
+ * Class representing the five to seven cards available to a Texas Hold'em player (hole cards plus the board).
+ * The best five card hand is found directly from the card mask, no five card combinations are built
+ */
+public class HoldemHand implements Comparable<HoldemHand> {
+    private static final int MIN_NO_OF_CARDS = 5;
+    private static final int MAX_NO_OF_CARDS = 7;
+
+    private final Card[] cards;
+    private final long cardMask;
+    private final int strength;
+
+    /**
+     * Constructs the hand from the same card descriptions accepted by Card(String), i.e. {"AH", "KD", "2C", ...}
+     * @param input - Between five and seven card descriptions
+     * @throws IllegalArgumentException - Wrong number of cards or an invalid card description
+     * @throws DuplicateCardException - The same card appears more than once
+     * @throws UnmatchedCardValueException - A rank or suit could not be matched
+     */
+    public HoldemHand(String[] input) throws IllegalArgumentException, DuplicateCardException, UnmatchedCardValueException {
+        this.cards = new Card[Math.min(input.length, MAX_NO_OF_CARDS)];
+        long mask = CardValidation.validateHand(input, MIN_NO_OF_CARDS, MAX_NO_OF_CARDS, this.cards);
+        CardValidation.throwIfError(mask, input);
+
+        this.cardMask = mask;
+        this.strength = BitMaskHandEvaluator.INSTANCE.determineStrength(mask);
+    }
+
+    /**
+     * @return HandRank - The category of the best five card hand
+     */
+    public HandRank determineHandRank() {
+        return HandStrength.handRank(this.strength);
+    }
+
+    /**
+     * @return int - The packed strength of the best five card hand, see HandStrength
+     */
+    public int getStrength() {
+        return this.strength;
+    }
+
+    @Override
+    public int compareTo(HoldemHand other) {
+        return Integer.compare(this.strength, other.strength);
+    }
+
+    public Card[] getCards() {
+        return this.cards;
+    }
+
+    public long getCardMask() {
+        return this.cardMask;
+    }
+}
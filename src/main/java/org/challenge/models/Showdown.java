@@ -0,0 +1,79 @@
+package org.challenge.models;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Settles a showdown between several hands using the cached strength of each Hand.
+ * Hands are never re-evaluated, selecting and sorting only compare the integer strengths
+ */
+public final class Showdown {
+    private Showdown() {
+    }
+
+    /**
+     * Finds every hand holding the best strength, more than one hand is returned when the pot is split
+     * @param hands - The hands taking part in the showdown
+     * @return List - The winning hands in their original order, empty when no hands are supplied
+     */
+    public static List<Hand> findWinners(Collection<Hand> hands) {
+        int best = Integer.MIN_VALUE;
+        int winners = 0;
+        for (Hand hand : hands) {
+            int strength = hand.getStrength();
+            if(strength > best) {
+                best = strength;
+                winners = 1;
+            } else if(strength == best) {
+                winners++;
+            }
+        }
+
+        List<Hand> result = new ArrayList<>(winners);
+        for (Hand hand : hands) {
+            if(hand.getStrength() == best) {
+                result.add(hand);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Finds the positions of the winning hands, more than one index is returned when the pot is split
+     * @param hands - The hands taking part in the showdown
+     * @return int[] - Indexes into hands of every hand holding the best strength, in ascending order
+     */
+    public static int[] findWinnerIndexes(Hand[] hands) {
+        int best = Integer.MIN_VALUE;
+        int winners = 0;
+        for (Hand hand : hands) {
+            int strength = hand.getStrength();
+            if(strength > best) {
+                best = strength;
+                winners = 1;
+            } else if(strength == best) {
+                winners++;
+            }
+        }
+
+        int[] indexes = new int[winners];
+        int next = 0;
+        for (int i = 0; i < hands.length; i++) {
+            if(hands[i].getStrength() == best) {
+                indexes[next++] = i;
+            }
+        }
+
+        return indexes;
+    }
+
+    /**
+     * Sorts the hands from the strongest to the weakest, tied hands keep their original order
+     * @param hands - The hands to sort, the list is sorted in place
+     */
+    public static void sortStrongestFirst(List<Hand> hands) {
+        hands.sort(Hand.STRONGEST_FIRST);
+    }
+}
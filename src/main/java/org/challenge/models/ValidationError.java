@@ -0,0 +1,49 @@
+package org.challenge.models;
+
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+
+/**
+ * The kinds of problem CardValidation can report for a card or a hand, each maps onto the exception type that the
+ * throwing Card / Hand API uses for the same problem
+ */
+public enum ValidationError {
+    NULL_CARD(IllegalArgumentException.class),
+    CARD_LENGTH(IllegalArgumentException.class),
+    UNMATCHED_RANK(UnmatchedCardValueException.class),
+    UNMATCHED_SUIT(UnmatchedCardValueException.class),
+    CARD_COUNT(IllegalArgumentException.class),
+    DUPLICATE_CARD(DuplicateCardException.class);
+
+    private static final ValidationError[] VALUES = values();
+
+    private final Class<? extends Throwable> exceptionType;
+
+    ValidationError(Class<? extends Throwable> exceptionType) {
+        this.exceptionType = exceptionType;
+    }
+
+    static ValidationError fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * @return Class - The exception thrown by the Card / Hand constructors for this problem
+     */
+    public Class<? extends Throwable> getExceptionType() {
+        return exceptionType;
+    }
+
+    /**
+     * Creates the exception the throwing API reports for this problem
+     * @param message - The detail message, see CardValidation.message(long, String[])
+     * @return Throwable - An IllegalArgumentException, UnmatchedCardValueException or DuplicateCardException
+     */
+    Throwable toException(String message) {
+        return switch (this) {
+            case UNMATCHED_RANK, UNMATCHED_SUIT -> new UnmatchedCardValueException(message);
+            case DUPLICATE_CARD -> new DuplicateCardException(message);
+            default -> new IllegalArgumentException(message);
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package org.challenge.server;
+
+import org.challenge.models.Card;
+import org.challenge.models.CardRank;
+import org.challenge.models.CardSuit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load generator for the ScoringServer.
+ * Each connection streams random five card hands as fast as the server accepts them while a second thread counts the
+ * result lines coming back, so the requests are fully pipelined.
+ * Usage: LoadGenerator &lt;port | socket path&gt; [connections] [hands per connection]
+ */
+public class LoadGenerator {
+    private static final int CORPUS_SIZE = 4096;
+    private static final int SEND_BUFFER_SIZE = 64 << 10;
+    private static final int CARDS_IN_HAND = 5;
+
+    private final SocketAddress address;
+    private final byte[][] corpus;
+
+    /**
+     * @param address - The address the server is bound to
+     * @param seed - Seed for the random hands, the same seed always sends the same hands
+     */
+    public LoadGenerator(SocketAddress address, long seed) {
+        this.address = address;
+        this.corpus = randomHands(new SplittableRandom(seed));
+    }
+
+    public static void main(String[] args) throws Exception {
+        if(args.length < 1 || args.length > 3) {
+            System.out.println("Usage: LoadGenerator <port | socket path> [connections] [hands per connection]");
+            return;
+        }
+
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long hands = args.length > 2 ? Long.parseLong(args[2]) : 1_000_000L;
+        Result result = new LoadGenerator(ScoringServer.parseAddress(args[0]), System.nanoTime()).run(connections, hands);
+        System.out.println(result);
+    }
+
+    /**
+     * Sends the hands and waits for every result line
+     * @param connections - Number of concurrent connections
+     * @param handsPerConnection - Number of hands sent on each connection
+     * @return Result - Counts and timing of the run
+     * @throws IOException - A connection failed
+     * @throws InterruptedException - Interrupted while waiting for the connections to finish
+     */
+    public Result run(int connections, long handsPerConnection) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        long responses = 0;
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                int offset = i;
+                results.add(executor.submit(() -> runConnection(executor, offset, handsPerConnection)));
+            }
+
+            for (Future<Long> result : results) {
+                responses += await(result);
+            }
+        }
+
+        return new Result(connections * handsPerConnection, responses, System.nanoTime() - start);
+    }
+
+    private long runConnection(ExecutorService executor, int offset, long hands) throws IOException, InterruptedException {
+        try(SocketChannel channel = open()) {
+            Future<Long> sender = executor.submit(() -> send(channel, offset, hands));
+            long responses = countLines(channel, hands);
+            await(sender);
+            return responses;
+        }
+    }
+
+    private SocketChannel open() throws IOException {
+        SocketChannel channel = this.address instanceof UnixDomainSocketAddress ? SocketChannel.open(StandardProtocolFamily.UNIX) : SocketChannel.open();
+        channel.connect(this.address);
+        return channel;
+    }
+
+    private long send(SocketChannel channel, int offset, long hands) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SEND_BUFFER_SIZE);
+        for (long i = 0; i < hands; i++) {
+            byte[] line = this.corpus[(int) ((offset + i) % CORPUS_SIZE)];
+            if(buffer.remaining() < line.length) {
+                writeFully(channel, buffer);
+            }
+
+            buffer.put(line);
+        }
+
+        writeFully(channel, buffer);
+        channel.shutdownOutput();
+        return hands;
+    }
+
+    private static void writeFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    /**
+     * Counts result lines until the server closes the connection
+     * @param channel - The connection
+     * @param expected - The number of hands sent, one result line is expected for each
+     * @return long - The number of result lines
+     * @throws IOException - Reading failed, or the server closed the connection before sending every result
+     */
+    private static long countLines(SocketChannel channel, long expected) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SEND_BUFFER_SIZE);
+        long lines = 0;
+        while(channel.read(buffer) >= 0) {
+            buffer.flip();
+            while(buffer.hasRemaining()) {
+                if(buffer.get() == '\n') {
+                    lines++;
+                }
+            }
+
+            buffer.clear();
+        }
+
+        if(lines < expected) {
+            throw new IOException("Server closed the connection after " + lines + " of " + expected + " results");
+        }
+
+        return lines;
+    }
+
+    private static long await(Future<Long> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+
+            throw new UncheckedIOException(new IOException(e.getCause()));
+        }
+    }
+
+    private static byte[][] randomHands(SplittableRandom random) {
+        byte[][] hands = new byte[CORPUS_SIZE][];
+        CardRank[] ranks = CardRank.values();
+        CardSuit[] suits = CardSuit.values();
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            long mask = 0;
+            StringBuilder line = new StringBuilder();
+            while(Long.bitCount(mask) < CARDS_IN_HAND) {
+                CardRank rank = ranks[1 + random.nextInt(ranks.length - 1)];
+                CardSuit suit = suits[random.nextInt(suits.length)];
+                long cardBit = 1L << (suit.getIndex() * Card.SUIT_SHIFT + rank.getIndex());
+                if((mask & cardBit) == 0) {
+                    mask |= cardBit;
+                    line.append(line.isEmpty() ? "" : " ").append(rank.getText()).append(suit.getText());
+                }
+            }
+
+            hands[i] = line.append('\n').toString().getBytes(StandardCharsets.US_ASCII);
+        }
+
+        return hands;
+    }
+
+    /**
+     * @param hands - Hands sent
+     * @param responses - Result lines received
+     * @param elapsedNanos - Wall clock time of the whole run
+     */
+    public record Result(long hands, long responses, long elapsedNanos) {
+        /**
+         * @return double - Result lines received per second
+         */
+        public double handsPerSecond() {
+            return this.responses * 1_000_000_000.0 / Math.max(1, this.elapsedNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Sent %d hands, received %d results in %.1f ms (%.0f hands/s)", this.hands, this.responses, this.elapsedNanos / 1_000_000.0, handsPerSecond());
+        }
+    }
+}
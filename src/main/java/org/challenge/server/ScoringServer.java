@@ -0,0 +1,133 @@
+package org.challenge.server;
+
+import org.challenge.io.ByteLineScorer;
+import org.challenge.io.HandResultWriter;
+import org.challenge.io.StreamingHandProcessor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * A resident scoring server, so a JVM that has already started and warmed up can score many inputs.
+ * Clients send newline delimited hands on a local TCP or Unix domain socket and may pipeline as many lines as they like,
+ * each line gets back exactly the text the file mode would write for it, in order.
+ * Every connection runs on its own virtual thread with blocking I/O through a StreamingHandProcessor. Whatever a single
+ * read returns is scored as one batch and the results are written back with a single flush, so busy connections make few
+ * system calls.
+ * Each connection holds one fixed read buffer and one fixed write buffer, a client that stops reading blocks the write,
+ * which stops the server reading from that client, so a slow client is held back by TCP flow control rather than by
+ * queueing results in memory. Connections beyond the limit wait in the accept backlog.
+ */
+public class ScoringServer implements Closeable {
+    public static final int DEFAULT_MAX_CONNECTIONS = 256;
+
+    static final int WRITE_BUFFER_SIZE = 64 << 10;
+
+    private final ServerSocketChannel serverChannel;
+    private final SocketAddress localAddress;
+    private final Supplier<ByteLineScorer> scorers;
+    private final Semaphore connectionPermits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Binds the server, connections are not accepted until serve() is called
+     * @param address - A loopback TCP address or a Unix domain socket address, see parseAddress(String)
+     * @param scorers - Creates the scorer for each connection, ByteLineScorer is not thread safe
+     * @param maxConnections - The most connections served at once
+     * @throws IOException - The address could not be bound
+     */
+    public ScoringServer(SocketAddress address, Supplier<ByteLineScorer> scorers, int maxConnections) throws IOException {
+        this.serverChannel = address instanceof UnixDomainSocketAddress ? ServerSocketChannel.open(StandardProtocolFamily.UNIX) : ServerSocketChannel.open();
+        this.serverChannel.bind(address);
+        this.localAddress = this.serverChannel.getLocalAddress();
+        this.scorers = scorers;
+        this.connectionPermits = new Semaphore(maxConnections);
+    }
+
+    /**
+     * @param value - A port number, served on the loopback interface, or the path of a Unix domain socket
+     * @return SocketAddress - The address to bind
+     */
+    public static SocketAddress parseAddress(String value) {
+        if(!value.isEmpty() && value.chars().allMatch(Character::isDigit)) {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(value));
+        }
+
+        return UnixDomainSocketAddress.of(value);
+    }
+
+    /**
+     * @return SocketAddress - The bound address, including the port chosen when port 0 was requested
+     */
+    public SocketAddress getLocalAddress() {
+        return this.localAddress;
+    }
+
+    /**
+     * Accepts connections until the server is closed
+     * @throws IOException - Accepting failed for a reason other than the server being closed
+     */
+    public void serve() throws IOException {
+        while(true) {
+            try {
+                this.connectionPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            SocketChannel connection;
+            try {
+                connection = this.serverChannel.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                this.connectionPermits.release();
+                throw e;
+            }
+
+            this.executor.execute(() -> handleConnection(connection));
+        }
+    }
+
+    private void handleConnection(SocketChannel connection) {
+        try(connection; HandResultWriter writer = new HandResultWriter(connection, WRITE_BUFFER_SIZE)) {
+            new StreamingHandProcessor(this.scorers.get()).process(connection, writer);
+        } catch (IOException e) {
+            if(this.serverChannel.isOpen()) {
+                System.err.println("Connection failed: " + e);
+            }
+        } finally {
+            this.connectionPermits.release();
+        }
+    }
+
+    /**
+     * Stops accepting, closes every open connection and removes the socket file of a Unix domain socket
+     * @throws IOException - The server socket could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.serverChannel.close();
+            this.executor.shutdownNow();
+        } finally {
+            if(this.localAddress instanceof UnixDomainSocketAddress unixAddress) {
+                Files.deleteIfExists(unixAddress.getPath());
+            }
+        }
+    }
+}
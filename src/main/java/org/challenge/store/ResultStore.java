@@ -0,0 +1,275 @@
+package org.challenge.store;
+
+import org.challenge.evaluators.HandStrength;
+import org.challenge.models.HandRank;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Append-only store of scored hands held outside the Java heap, so billions of results cost no objects and no GC work.
+ * Results are fixed size records in segments of direct memory until the memory limit is reached, later segments are
+ * memory mapped from a spill file which the operating system pages in and out as needed.
+ *
+ * <pre>
+ * Record (24 bytes, native byte order)
+ *   long  line number  the 1-based source line of the hand
+ *   long  card mask    see Card.getCardMask()
+ *   int   strength     see HandStrength
+ *   byte  rank         HandRank ordinal, so scans by rank read a single byte per record
+ *   3 bytes padding
+ * </pre>
+ *
+ * Each segment keeps a count per HandRank, scans for a rank skip the segments that hold none.
+ * A single thread may append, any number may read what has been appended once the appends are done.
+ * Direct and mapped segments are released by the garbage collector once the store is closed and unreachable
+ */
+public class ResultStore implements Closeable {
+    public static final int RECORD_SIZE = 24;
+    public static final long DEFAULT_MEMORY_LIMIT = 256L << 20;
+    static final int DEFAULT_SEGMENT_RECORDS = 1 << 20;
+
+    private static final int LINE_NUMBER_OFFSET = 0;
+    private static final int CARD_MASK_OFFSET = 8;
+    private static final int STRENGTH_OFFSET = 16;
+    private static final int RANK_OFFSET = 20;
+    private static final int RANKS = HandRank.values().length;
+
+    private final long memoryLimit;
+    private final Path spillDirectory;
+    private final int segmentRecords;
+    private final int segmentShift;
+
+    private ByteBuffer[] segments = new ByteBuffer[16];
+    private long[][] rankCounts = new long[16][];
+    private int segmentCount;
+    private long size;
+    private long memoryBytes;
+    private long spilledBytes;
+    private Path spillFile;
+    private FileChannel spillChannel;
+
+    /**
+     * @param memoryLimit - Most bytes of direct memory used before further results spill to a file, 0 to spill everything
+     * @param spillDirectory - Where the spill file is created, it is deleted when the store is closed
+     */
+    public ResultStore(long memoryLimit, Path spillDirectory) {
+        this(memoryLimit, spillDirectory, DEFAULT_SEGMENT_RECORDS);
+    }
+
+    /**
+     * @param segmentRecords - Records per segment, a power of two
+     */
+    ResultStore(long memoryLimit, Path spillDirectory, int segmentRecords) {
+        if(memoryLimit < 0) {
+            throw new IllegalArgumentException("Memory limit must not be negative: " + memoryLimit);
+        }
+
+        if(Integer.bitCount(segmentRecords) != 1 || (long) segmentRecords * RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment records must be a power of two below 2 GB: " + segmentRecords);
+        }
+
+        this.memoryLimit = memoryLimit;
+        this.spillDirectory = Objects.requireNonNull(spillDirectory, "spillDirectory");
+        this.segmentRecords = segmentRecords;
+        this.segmentShift = Integer.numberOfTrailingZeros(segmentRecords);
+    }
+
+    /**
+     * Appends the result of one hand
+     * @param lineNumber - The 1-based source line of the hand
+     * @param cardMask - The card mask of the hand
+     * @param strength - The strength of the hand, see HandStrength
+     * @return long - The index of the result
+     * @throws IOException - A new segment could not be mapped from the spill file
+     */
+    public long append(long lineNumber, long cardMask, int strength) throws IOException {
+        int record = (int) (this.size & (this.segmentRecords - 1));
+        if(record == 0) {
+            addSegment();
+        }
+
+        int rank = HandStrength.handRankOrdinal(strength);
+        int offset = record * RECORD_SIZE;
+        this.segments[this.segmentCount - 1]
+                .putLong(offset + LINE_NUMBER_OFFSET, lineNumber)
+                .putLong(offset + CARD_MASK_OFFSET, cardMask)
+                .putInt(offset + STRENGTH_OFFSET, strength)
+                .put(offset + RANK_OFFSET, (byte) rank);
+        this.rankCounts[this.segmentCount - 1][rank]++;
+        return this.size++;
+    }
+
+    public long getLineNumber(long index) {
+        return segment(index).getLong(offset(index) + LINE_NUMBER_OFFSET);
+    }
+
+    public long getCardMask(long index) {
+        return segment(index).getLong(offset(index) + CARD_MASK_OFFSET);
+    }
+
+    public int getStrength(long index) {
+        return segment(index).getInt(offset(index) + STRENGTH_OFFSET);
+    }
+
+    public HandRank getHandRank(long index) {
+        return HandStrength.handRank(getStrength(index));
+    }
+
+    /**
+     * Visits every result in the order they were appended
+     * @param visitor - Receives each result
+     * @throws IOException - The visitor failed
+     */
+    public void scan(ResultVisitor visitor) throws IOException {
+        for (int segment = 0; segment < this.segmentCount; segment++) {
+            ByteBuffer buffer = this.segments[segment];
+            long first = (long) segment << this.segmentShift;
+            int records = (int) Math.min(this.segmentRecords, this.size - first);
+            for (int record = 0, offset = 0; record < records; record++, offset += RECORD_SIZE) {
+                visitor.visit(first + record, buffer.getLong(offset + LINE_NUMBER_OFFSET), buffer.getLong(offset + CARD_MASK_OFFSET), buffer.getInt(offset + STRENGTH_OFFSET));
+            }
+        }
+    }
+
+    /**
+     * Visits every result of the given rank in the order they were appended, i.e. every Full House
+     * @param rank - The rank to match
+     * @param visitor - Receives each matching result
+     * @return long - The number of results visited
+     * @throws IOException - The visitor failed
+     */
+    public long scan(HandRank rank, ResultVisitor visitor) throws IOException {
+        long visited = 0;
+        byte ordinal = (byte) rank.ordinal();
+        for (int segment = 0; segment < this.segmentCount; segment++) {
+            if(this.rankCounts[segment][ordinal] == 0) {
+                continue;
+            }
+
+            ByteBuffer buffer = this.segments[segment];
+            long first = (long) segment << this.segmentShift;
+            int records = (int) Math.min(this.segmentRecords, this.size - first);
+            for (int record = 0, offset = 0; record < records; record++, offset += RECORD_SIZE) {
+                if(buffer.get(offset + RANK_OFFSET) == ordinal) {
+                    visitor.visit(first + record, buffer.getLong(offset + LINE_NUMBER_OFFSET), buffer.getLong(offset + CARD_MASK_OFFSET), buffer.getInt(offset + STRENGTH_OFFSET));
+                    visited++;
+                }
+            }
+        }
+
+        return visited;
+    }
+
+    /**
+     * @param rank - The rank to count
+     * @return long - The number of results of that rank, read from the segment counts without scanning any records
+     */
+    public long count(HandRank rank) {
+        long count = 0;
+        for (int segment = 0; segment < this.segmentCount; segment++) {
+            count += this.rankCounts[segment][rank.ordinal()];
+        }
+
+        return count;
+    }
+
+    /**
+     * @return long - The number of results appended
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return long - Bytes of direct memory held by the store
+     */
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    /**
+     * @return long - Bytes of the store mapped from the spill file
+     */
+    public long getSpilledBytes() {
+        return spilledBytes;
+    }
+
+    /**
+     * Releases the segments and closes the spill file. The file is opened with DELETE_ON_CLOSE, which removes it once
+     * the channel and, on Windows, the last mapping of it are gone. Mapped segments are only unmapped by the garbage
+     * collector, so when the file is still there and cannot be deleted yet it is left to be deleted at exit
+     * @throws IOException - The spill file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        Arrays.fill(this.segments, null);
+        this.segmentCount = 0;
+        this.size = 0;
+        if(this.spillChannel != null) {
+            try {
+                this.spillChannel.close();
+            } finally {
+                this.spillChannel = null;
+                deleteSpillFile();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Result store: " + this.size + " hands, " + (this.memoryBytes >> 20) + " MB off heap, " + (this.spilledBytes >> 20) + " MB spilled";
+    }
+
+    private void deleteSpillFile() {
+        try {
+            Files.deleteIfExists(this.spillFile);
+        } catch (IOException e) {
+            // Windows refuses to delete a file that is still mapped
+            this.spillFile.toFile().deleteOnExit();
+        }
+    }
+
+    private ByteBuffer segment(long index) {
+        Objects.checkIndex(index, this.size);
+        return this.segments[(int) (index >>> this.segmentShift)];
+    }
+
+    private int offset(long index) {
+        return (int) (index & (this.segmentRecords - 1)) * RECORD_SIZE;
+    }
+
+    private void addSegment() throws IOException {
+        if(this.segmentCount == this.segments.length) {
+            this.segments = Arrays.copyOf(this.segments, this.segmentCount * 2);
+            this.rankCounts = Arrays.copyOf(this.rankCounts, this.segmentCount * 2);
+        }
+
+        int bytes = this.segmentRecords * RECORD_SIZE;
+        ByteBuffer segment;
+        if(this.memoryBytes + bytes <= this.memoryLimit) {
+            segment = ByteBuffer.allocateDirect(bytes);
+            this.memoryBytes += bytes;
+        } else {
+            if(this.spillChannel == null) {
+                this.spillFile = Files.createTempFile(this.spillDirectory, "poker-results", ".spill");
+                this.spillChannel = FileChannel.open(this.spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+            }
+
+            segment = this.spillChannel.map(FileChannel.MapMode.READ_WRITE, this.spilledBytes, bytes);
+            this.spilledBytes += bytes;
+        }
+
+        this.segments[this.segmentCount] = segment.order(ByteOrder.nativeOrder());
+        this.rankCounts[this.segmentCount] = new long[RANKS];
+        this.segmentCount++;
+    }
+}
@@ -0,0 +1,18 @@
+package org.challenge.store;
+
+import java.io.IOException;
+
+/**
+ * Receives each result a ResultStore scan matches, read straight from off-heap memory, see ResultStore.scan
+ */
+@FunctionalInterface
+public interface ResultVisitor {
+    /**
+     * @param index - Position of the result within the store, in the order it was appended
+     * @param lineNumber - The 1-based source line of the hand
+     * @param cardMask - The card mask of the hand, see Card.getCardMask()
+     * @param strength - The strength of the hand, see HandStrength
+     * @throws IOException - The visitor failed to handle the result
+     */
+    void visit(long index, long lineNumber, long cardMask, int strength) throws IOException;
+}
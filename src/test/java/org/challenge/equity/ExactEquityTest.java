@@ -0,0 +1,88 @@
+package org.challenge.equity;
+
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.models.HandRank;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExactEquityTest {
+    private static final String[] NO_CARDS = new String[0];
+
+    @Test()
+    public void testPreflopPairsMatchFullEnumeration() throws DuplicateCardException, UnmatchedCardValueException {
+        EquityScenario scenario = new EquityScenario(new String[][] {{"AH", "AS"}, {"KD", "KC"}}, NO_CARDS);
+        EquityResult collapsed = new ExactEquity(4).calculate(scenario);
+        EquityResult full = new ExactEquity(BitMaskHandEvaluator.INSTANCE, 4, false).calculate(scenario);
+
+        assertEquals(1_712_304, collapsed.getDeals());
+        assertEquals(1_712_304, full.getEvaluatedDeals());
+        assertTrue(collapsed.getEvaluatedDeals() < full.getEvaluatedDeals() / 3);
+        assertSameOutcome(full, collapsed);
+        assertEquals(0.82, collapsed.getEquity(0), 0.01);
+        assertEquals(0.0, collapsed.getConfidenceHalfWidth(0));
+    }
+
+    @Test()
+    public void testTurnWithSuitedHandsMatchesFullEnumeration() throws DuplicateCardException, UnmatchedCardValueException {
+        EquityScenario scenario = new EquityScenario(new String[][] {{"AH", "KH"}, {"QS", "JS"}, {"9C", "9D"}}, new String[] {"2H", "7S", "TC"});
+        EquityResult collapsed = new ExactEquity(2).calculate(scenario);
+        EquityResult full = new ExactEquity(BitMaskHandEvaluator.INSTANCE, 2, false).calculate(scenario);
+
+        assertEquals(903, collapsed.getDeals());
+        assertSameOutcome(full, collapsed);
+    }
+
+    @Test()
+    public void testRiverIsASingleShowdown() throws DuplicateCardException, UnmatchedCardValueException {
+        EquityScenario scenario = new EquityScenario(new String[][] {{"AH", "KH"}, {"AD", "KD"}}, new String[] {"2C", "7S", "TH", "JS", "3C"});
+        EquityResult result = new ExactEquity(1).calculate(scenario);
+
+        assertEquals(1, result.getDeals());
+        assertEquals(0.5, result.getEquity(0));
+        assertEquals(1.0, result.getTieProbability(1));
+        assertEquals(0.0, result.getLossProbability(1));
+    }
+
+    @Test()
+    public void testWinTieAndLossAddUp() throws DuplicateCardException, UnmatchedCardValueException {
+        EquityScenario scenario = new EquityScenario(new String[][] {{"AH", "KD"}, {"AS", "KC"}}, new String[] {"QH", "JH", "2C"});
+        EquityResult result = new ExactEquity(2).calculate(scenario);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(1.0, result.getWinProbability(i) + result.getTieProbability(i) + result.getLossProbability(i), 1e-12);
+        }
+
+        assertEquals(result.getWinProbability(0), result.getLossProbability(1), 1e-12);
+    }
+
+    @Test()
+    public void testSymmetriesPreserveEveryKnownHand() throws DuplicateCardException, UnmatchedCardValueException {
+        EquityScenario pairs = new EquityScenario(new String[][] {{"AH", "AS"}, {"KD", "KC"}}, NO_CARDS);
+        EquityScenario offsuit = new EquityScenario(new String[][] {{"AH", "KD"}, {"QS", "JC"}}, NO_CARDS);
+
+        assertEquals(3, ExactEquity.symmetries(pairs).length);
+        assertEquals(0, ExactEquity.symmetries(offsuit).length);
+    }
+
+    @Test()
+    public void testRequiresKnownHoleCards() throws DuplicateCardException, UnmatchedCardValueException {
+        EquityScenario scenario = EquityScenario.againstRandom(new String[] {"AH", "AS"}, NO_CARDS, 1);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new ExactEquity(1).calculate(scenario));
+        assertEquals("Exact equity requires every player's hole cards to be known", exception.getMessage());
+    }
+
+    private static void assertSameOutcome(EquityResult expected, EquityResult actual) {
+        assertEquals(expected.getDeals(), actual.getDeals());
+        for (int i = 0; i < expected.getPlayerCount(); i++) {
+            assertEquals(expected.getWinProbability(i), actual.getWinProbability(i));
+            assertEquals(expected.getTieProbability(i), actual.getTieProbability(i));
+            assertEquals(expected.getEquity(i), actual.getEquity(i), 1e-12);
+            for (HandRank rank : HandRank.values()) {
+                assertEquals(expected.getRankCount(i, rank), actual.getRankCount(i, rank));
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.challenge.equity;
+
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.challenge.models.HandRank;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonteCarloEquityTest {
+    private static final String[] NO_CARDS = new String[0];
+
+    @Test()
+    public void testAcesAgainstKings() throws DuplicateCardException, UnmatchedCardValueException {
+        EquityScenario scenario = new EquityScenario(new String[][] {{"AH", "AS"}, {"KD", "KC"}}, NO_CARDS);
+        EquityResult result = new MonteCarloEquity(4).calculate(scenario, 2_000_000, 0.002, 42);
+
+        assertEquals(0.82, result.getEquity(0), 0.01);
+        assertEquals(1.0, result.getEquity(0) + result.getEquity(1), 1e-9);
+        assertTrue(result.getConfidenceHalfWidth(0) <= 0.002);
+    }
+
+    @Test()
+    public void testAcesAgainstRandomOpponent() throws DuplicateCardException, UnmatchedCardValueException {
+        EquityScenario scenario = EquityScenario.againstRandom(new String[] {"AH", "AS"}, NO_CARDS, 1);
+        EquityResult result = new MonteCarloEquity(4).calculate(scenario, 2_000_000, 0.002, 7);
+
+        assertEquals(0.852, result.getEquity(0), 0.01);
+        assertEquals(0, result.getRankCount(0, HandRank.HIGH_CARD));
+    }
+
+    @Test()
+    public void testStopsOnceConfidenceIntervalIsReached() throws DuplicateCardException, UnmatchedCardValueException {
+        EquityScenario scenario = EquityScenario.againstRandom(new String[] {"7H", "2C"}, NO_CARDS, 3);
+        EquityResult result = new MonteCarloEquity(2).calculate(scenario, 100_000_000, 0.01, 1);
+
+        assertTrue(result.getDeals() < 100_000_000);
+        for (int i = 0; i < result.getPlayerCount(); i++) {
+            assertTrue(result.getConfidenceHalfWidth(i) <= 0.01);
+        }
+    }
+
+    @Test()
+    public void testRunsAreRepeatableForASeed() throws DuplicateCardException, UnmatchedCardValueException {
+        EquityScenario scenario = new EquityScenario(new String[][] {{"AH"}, {}, {"9C", "9D"}}, new String[] {"2C", "7D", "TH"});
+        EquityResult first = new MonteCarloEquity(3).calculate(scenario, 150_000, 0, 99);
+        EquityResult second = new MonteCarloEquity(3).calculate(scenario, 150_000, 0, 99);
+
+        assertEquals(150_000, first.getDeals());
+        for (int i = 0; i < scenario.getPlayerCount(); i++) {
+            assertEquals(first.getEquity(i), second.getEquity(i));
+            for (HandRank rank : HandRank.values()) {
+                assertEquals(first.getRankCount(i, rank), second.getRankCount(i, rank));
+            }
+        }
+    }
+
+    @Test()
+    public void testKnownBoardSettlesEveryDealTheSameWay() throws DuplicateCardException, UnmatchedCardValueException {
+        EquityScenario scenario = new EquityScenario(new String[][] {{"AH", "KH"}, {"QS", "QD"}}, new String[] {"2C", "7D", "TH", "JS", "3C"});
+        EquityResult result = new MonteCarloEquity(2).calculate(scenario, 1_000, 0, 3);
+
+        assertEquals(0.0, result.getEquity(0));
+        assertEquals(1.0, result.getWinProbability(1));
+        assertEquals(1_000, result.getRankCount(0, HandRank.HIGH_CARD));
+        assertEquals(1_000, result.getRankCount(1, HandRank.ONE_PAIR));
+        assertEquals(0.0, result.getConfidenceHalfWidth(1));
+    }
+
+    @Test()
+    public void testBoardPlayingSplitsThePot() throws DuplicateCardException, UnmatchedCardValueException {
+        EquityScenario scenario = EquityScenario.againstRandom(new String[] {"2H", "3D"}, new String[] {"AS", "KS", "QS", "JS", "TS"}, 2);
+        EquityResult result = new MonteCarloEquity(2).calculate(scenario, 10_000, 0, 5);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1.0 / 3, result.getEquity(i), 1e-9);
+            assertEquals(1.0, result.getTieProbability(i));
+            assertEquals(1.0, result.getRankProbability(i, HandRank.ROYAL_FLUSH));
+        }
+    }
+
+    @Test()
+    public void testScenarioValidation() {
+        assertThrows(DuplicateCardException.class, () -> new EquityScenario(new String[][] {{"AH", "KH"}, {"AH"}}, NO_CARDS));
+        assertThrows(DuplicateCardException.class, () -> new EquityScenario(new String[][] {{"AH", "KH"}, {}}, new String[] {"KH"}));
+        assertThrows(UnmatchedCardValueException.class, () -> new EquityScenario(new String[][] {{"AH", "KX"}, {}}, NO_CARDS));
+
+        IllegalArgumentException cards = assertThrows(IllegalArgumentException.class, () -> new EquityScenario(new String[][] {{"AH", "KH", "QH"}, {}}, NO_CARDS));
+        assertEquals("Expected 0 to 2 Cards but received 3", cards.getMessage());
+        IllegalArgumentException players = assertThrows(IllegalArgumentException.class, () -> new EquityScenario(new String[][] {{"AH", "KH"}}, NO_CARDS));
+        assertEquals("Expected 2 to 23 players but received 1", players.getMessage());
+        IllegalArgumentException rankOne = assertThrows(IllegalArgumentException.class, () -> new EquityScenario(new String[][] {{"1H"}, {}}, NO_CARDS));
+        assertEquals("Rank 1 cards are not part of the deck: 1H", rankOne.getMessage());
+    }
+}
@@ -0,0 +1,65 @@
+package org.challenge.evaluators;
+
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.challenge.models.Card;
+import org.challenge.models.HandRank;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchHandEvaluatorTest {
+
+    private static long maskOf(String hand) throws UnmatchedCardValueException {
+        long mask = 0;
+        for (String card : hand.split(" ")) {
+            mask |= new Card(card).getCardMask();
+        }
+
+        return mask;
+    }
+
+    @Test
+    public void testCardMasks() throws UnmatchedCardValueException {
+        long[] masks = {maskOf("2H 4C 5H 6H QD"), maskOf("3H 3S 3D KS KH"), maskOf("AH TH JH KH QH")};
+        byte[] ranks = new byte[3];
+        int[] strengths = new int[3];
+
+        new BatchHandEvaluator(LookupTableHandEvaluator.INSTANCE).evaluate(masks, 0, masks.length, ranks, strengths);
+
+        assertArrayEquals(new byte[]{(byte) HandRank.HIGH_CARD.ordinal(), (byte) HandRank.FULL_HOUSE.ordinal(), (byte) HandRank.ROYAL_FLUSH.ordinal()}, ranks);
+        assertEquals(BitMaskHandEvaluator.INSTANCE.determineStrength(masks[1]), strengths[1]);
+    }
+
+    @Test
+    public void testPackedHandsRoundTrip() throws UnmatchedCardValueException {
+        long mask = maskOf("AS 2S 3S 4S 5S");
+        int[] packed = {0, BatchHandEvaluator.pack(mask)};
+        byte[] ranks = new byte[2];
+        int[] strengths = new int[2];
+
+        new BatchHandEvaluator(BitMaskHandEvaluator.INSTANCE).evaluate(packed, 1, 1, ranks, strengths);
+
+        assertEquals(mask, BatchHandEvaluator.unpack(packed[1]));
+        assertEquals(HandRank.STRAIGHT_FLUSH.ordinal(), ranks[1]);
+        assertEquals(0, strengths[0]);
+    }
+
+    @Test
+    public void testByteBuffer() throws UnmatchedCardValueException {
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Long.BYTES);
+        buffer.putLong(0).putLong(maskOf("9H 9D 3S 9S 9C")).putLong(maskOf("JH 2C JD 2H 4C")).flip().position(Long.BYTES);
+        byte[] ranks = new byte[2];
+        int[] strengths = new int[2];
+
+        assertEquals(2, new BatchHandEvaluator(BitMaskHandEvaluator.INSTANCE).evaluate(buffer, ranks, strengths));
+        assertArrayEquals(new byte[]{(byte) HandRank.FOUR_OF_A_KIND.ordinal(), (byte) HandRank.TWO_PAIR.ordinal()}, ranks);
+        assertEquals(Long.BYTES, buffer.position());
+    }
+
+    @Test
+    public void testOutputArraysTooSmall() {
+        assertThrows(IndexOutOfBoundsException.class, () -> new BatchHandEvaluator(BitMaskHandEvaluator.INSTANCE).evaluate(new long[4], 0, 4, new byte[3], new int[4]));
+    }
+}
@@ -0,0 +1,50 @@
+package org.challenge.evaluators;
+
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.challenge.models.Card;
+import org.challenge.models.HandRank;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BitMaskHandEvaluatorTest {
+
+    private static long maskOf(String... cards) throws UnmatchedCardValueException {
+        long mask = 0;
+        for (String card : cards) {
+            mask |= new Card(card).getCardMask();
+        }
+
+        return mask;
+    }
+
+    @Test()
+    public void testHighCard() throws UnmatchedCardValueException {
+        assertEquals(HandRank.HIGH_CARD, BitMaskHandEvaluator.INSTANCE.determineHandRank(maskOf("2H", "4C", "5H", "6H", "QD")));
+    }
+
+    @Test()
+    public void testFullHouse() throws UnmatchedCardValueException {
+        assertEquals(HandRank.FULL_HOUSE, BitMaskHandEvaluator.INSTANCE.determineHandRank(maskOf("3H", "3S", "3D", "KS", "KH")));
+    }
+
+    @Test()
+    public void testFourOfAKindIsNotFullHouse() throws UnmatchedCardValueException {
+        assertEquals(HandRank.FOUR_OF_A_KIND, BitMaskHandEvaluator.INSTANCE.determineHandRank(maskOf("2H", "2C", "2S", "2D", "6H")));
+    }
+
+    @Test()
+    public void testAceLowStraightFlushIsNotRoyal() throws UnmatchedCardValueException {
+        assertEquals(HandRank.STRAIGHT_FLUSH, BitMaskHandEvaluator.INSTANCE.determineHandRank(maskOf("AS", "2S", "3S", "4S", "5S")));
+    }
+
+    @Test()
+    public void testRankOneStartsAStraight() throws UnmatchedCardValueException {
+        assertEquals(HandRank.STRAIGHT, BitMaskHandEvaluator.INSTANCE.determineHandRank(maskOf("1S", "2H", "3S", "4S", "5S")));
+    }
+
+    @Test()
+    public void testAceCannotWrapAround() throws UnmatchedCardValueException {
+        assertEquals(HandRank.HIGH_CARD, BitMaskHandEvaluator.INSTANCE.determineHandRank(maskOf("QH", "KD", "AH", "2C", "3S")));
+    }
+}
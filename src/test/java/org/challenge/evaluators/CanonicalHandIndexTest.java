@@ -0,0 +1,100 @@
+package org.challenge.evaluators;
+
+import org.challenge.models.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CanonicalHandIndexTest {
+    private static final long SUIT_BITS = (1L << Card.SUIT_SHIFT) - 1;
+
+    @Test()
+    public void testKeyIgnoresSuitPermutationsAndKeepsStrength() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 10_000; i++) {
+            long hand = randomHand(random, 5 + random.nextInt(3));
+            long key = CanonicalHandIndex.canonicalKey(hand);
+            assertEquals(Long.bitCount(hand), Long.bitCount(key));
+            assertEquals(key, CanonicalHandIndex.canonicalKey(key));
+            assertEquals(BitMaskHandEvaluator.INSTANCE.determineStrength(hand), BitMaskHandEvaluator.INSTANCE.determineStrength(key));
+
+            int[] permutation = {0, 1, 2, 3};
+            for (int suit = 3; suit > 0; suit--) {
+                int swap = random.nextInt(suit + 1);
+                int held = permutation[suit];
+                permutation[suit] = permutation[swap];
+                permutation[swap] = held;
+            }
+
+            assertEquals(key, CanonicalHandIndex.canonicalKey(permute(hand, permutation)));
+        }
+    }
+
+    @Test()
+    public void testDistinctSuitPatternsKeepDistinctKeys() {
+        long flush = cards(0, 2, 3, 4, 5, 7);
+        long spread = cards(0, 2, 3, 4, 5) | cards(1, 7);
+        assertNotEquals(CanonicalHandIndex.canonicalKey(flush), CanonicalHandIndex.canonicalKey(spread));
+        assertEquals(CanonicalHandIndex.canonicalKey(cards(2, 2, 3) | cards(3, 2, 9)), CanonicalHandIndex.canonicalKey(cards(0, 2, 9) | cards(1, 2, 3)));
+    }
+
+    @Test()
+    public void testCountsOccurrencesByDenseId() {
+        CanonicalHandIndex index = new CanonicalHandIndex(1);
+        SplittableRandom random = new SplittableRandom(9);
+        long[] hands = new long[3000];
+        for (int i = 0; i < hands.length; i++) {
+            hands[i] = randomHand(random, 5);
+        }
+
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (long hand : hands) {
+                int id = index.add(hand);
+                assertEquals(CanonicalHandIndex.canonicalKey(hand), index.getKey(id));
+            }
+        }
+
+        assertEquals(9000, index.getHandCount());
+        long total = 0;
+        int[] strengths = index.evaluate(BitMaskHandEvaluator.INSTANCE);
+        assertEquals(index.size(), strengths.length);
+        for (int id = 0; id < index.size(); id++) {
+            assertEquals(0, index.getCount(id) % 3);
+            assertEquals(BitMaskHandEvaluator.INSTANCE.determineStrength(index.getKey(id)), strengths[id]);
+            total += index.getCount(id);
+        }
+
+        assertEquals(9000, total);
+        assertEquals(index.add(hands[0]), index.add(permute(hands[0], new int[]{3, 2, 1, 0})));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.getKey(index.size()));
+    }
+
+    private static long cards(int suit, int... ranks) {
+        long mask = 0;
+        for (int rank : ranks) {
+            mask |= 1L << (suit * Card.SUIT_SHIFT + rank);
+        }
+
+        return mask;
+    }
+
+    private static long permute(long hand, int[] permutation) {
+        long permuted = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            permuted |= ((hand >>> (suit * Card.SUIT_SHIFT)) & SUIT_BITS) << (permutation[suit] * Card.SUIT_SHIFT);
+        }
+
+        return permuted;
+    }
+
+    private static long randomHand(SplittableRandom random, int cards) {
+        long mask = 0;
+        while(Long.bitCount(mask) < cards) {
+            mask |= 1L << (random.nextInt(4) * Card.SUIT_SHIFT + 1 + random.nextInt(13));
+        }
+
+        return mask;
+    }
+}
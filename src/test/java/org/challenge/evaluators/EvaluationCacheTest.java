@@ -0,0 +1,147 @@
+package org.challenge.evaluators;
+
+import org.challenge.models.Deck;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EvaluationCacheTest {
+
+    @Test()
+    public void testGetReturnsWhatWasPut() {
+        EvaluationCache cache = new EvaluationCache(1_000, EvaluationCache.EvictionPolicy.CLOCK);
+        assertEquals(EvaluationCache.MISSING, cache.get(0b11111));
+
+        cache.put(0b11111, 42);
+        cache.put(0b11111, 43);
+        assertEquals(43, cache.get(0b11111));
+        assertEquals(1, cache.size());
+
+        EvaluationCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0, stats.evictions());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test()
+    public void testCapacityIsBounded() {
+        EvaluationCache cache = new EvaluationCache(1_024, EvaluationCache.EvictionPolicy.FIFO);
+        for (long key = 1; key <= 10_000; key++) {
+            cache.put(key, (int) key);
+        }
+
+        assertEquals(1_024, cache.capacity());
+        assertEquals(1_024, cache.size());
+        assertEquals(10_000 - 1_024, cache.getStats().evictions());
+
+        int found = 0;
+        for (long key = 1; key <= 10_000; key++) {
+            int value = cache.get(key);
+            if(value != EvaluationCache.MISSING) {
+                assertEquals(key, value);
+                found++;
+            }
+        }
+
+        assertEquals(1_024, found);
+    }
+
+    @Test()
+    public void testFifoEvictsTheOldestEntry() {
+        EvaluationCache cache = new EvaluationCache(3, EvaluationCache.EvictionPolicy.FIFO, 1);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        cache.get(1);
+        cache.put(4, 4);
+
+        assertEquals(EvaluationCache.MISSING, cache.get(1));
+        assertEquals(2, cache.get(2));
+        assertEquals(4, cache.get(4));
+    }
+
+    @Test()
+    public void testClockGivesReadEntriesASecondChance() {
+        EvaluationCache cache = new EvaluationCache(3, EvaluationCache.EvictionPolicy.CLOCK, 1);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        cache.get(1);
+        cache.put(4, 4);
+
+        assertEquals(1, cache.get(1));
+        assertEquals(EvaluationCache.MISSING, cache.get(2));
+        assertEquals(3, cache.get(3));
+        assertEquals(4, cache.get(4));
+    }
+
+    @Test()
+    public void testConcurrentUseNeverReturnsAWrongStrength() throws Exception {
+        EvaluationCache cache = new EvaluationCache(4_096, EvaluationCache.EvictionPolicy.CLOCK);
+        CachingHandEvaluator evaluator = new CachingHandEvaluator(BitMaskHandEvaluator.INSTANCE, cache);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 200_000; i++) {
+                        long mask = randomHand(random, 20);
+                        assertEquals(BitMaskHandEvaluator.INSTANCE.determineStrength(mask), evaluator.determineStrength(mask));
+                    }
+                }));
+            }
+
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        EvaluationCache.Stats stats = cache.getStats();
+        assertEquals(1_600_000, stats.hits() + stats.misses());
+        assertTrue(stats.hits() > 0);
+        assertTrue(stats.evictions() > 0);
+        assertTrue(stats.size() <= stats.capacity());
+    }
+
+    @Test()
+    public void testCachingEvaluatorMatchesDelegate() {
+        CachingHandEvaluator evaluator = new CachingHandEvaluator(LookupTableHandEvaluator.INSTANCE, new EvaluationCache(100, EvaluationCache.DEFAULT_POLICY));
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 10_000; i++) {
+            long mask = randomHand(random, Deck.SIZE);
+            assertEquals(LookupTableHandEvaluator.INSTANCE.determineHandRank(mask), evaluator.determineHandRank(mask));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> evaluator.determineStrength(0b1111));
+        assertEquals(EvaluationCache.MISSING, evaluator.getCache().get(0b1111));
+    }
+
+    @Test()
+    public void testRejectsNonPositiveCapacity() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(0, EvaluationCache.DEFAULT_POLICY));
+        assertEquals("Expected a positive cache capacity but received 0", exception.getMessage());
+    }
+
+    /**
+     * @param deckSize - Draws from the first deckSize cards of the Deck, a small deck makes hands repeat
+     */
+    private static long randomHand(SplittableRandom random, int deckSize) {
+        long mask = 0;
+        while(Long.bitCount(mask) < 5) {
+            mask |= Deck.cardMask(random.nextInt(deckSize));
+        }
+
+        return mask;
+    }
+}
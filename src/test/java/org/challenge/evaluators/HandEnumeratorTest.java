@@ -0,0 +1,96 @@
+package org.challenge.evaluators;
+
+import org.challenge.models.HandRank;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandEnumeratorTest {
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    @Test()
+    public void testFiveCardCategoryCounts() {
+        HandEnumerator.Result result = new HandEnumerator(5, PARALLELISM).enumerate(BitMaskHandEvaluator.INSTANCE);
+
+        assertEquals(2_598_960, result.getHandCount());
+        assertEquals(4, result.getCount(HandRank.ROYAL_FLUSH));
+        assertEquals(36, result.getCount(HandRank.STRAIGHT_FLUSH));
+        assertEquals(624, result.getCount(HandRank.FOUR_OF_A_KIND));
+        assertEquals(3_744, result.getCount(HandRank.FULL_HOUSE));
+        assertEquals(5_108, result.getCount(HandRank.FLUSH));
+        assertEquals(10_200, result.getCount(HandRank.STRAIGHT));
+        assertEquals(54_912, result.getCount(HandRank.THREE_OF_A_KIND));
+        assertEquals(123_552, result.getCount(HandRank.TWO_PAIR));
+        assertEquals(1_098_240, result.getCount(HandRank.ONE_PAIR));
+        assertEquals(1_302_540, result.getCount(HandRank.HIGH_CARD));
+    }
+
+    @Test()
+    public void testSevenCardCategoryCounts() {
+        HandEnumerator.Result result = new HandEnumerator(7, PARALLELISM).enumerate(BitMaskHandEvaluator.INSTANCE);
+
+        assertEquals(133_784_560, result.getHandCount());
+        assertEquals(4_324, result.getCount(HandRank.ROYAL_FLUSH));
+        assertEquals(37_260, result.getCount(HandRank.STRAIGHT_FLUSH));
+        assertEquals(224_848, result.getCount(HandRank.FOUR_OF_A_KIND));
+        assertEquals(3_473_184, result.getCount(HandRank.FULL_HOUSE));
+        assertEquals(4_047_644, result.getCount(HandRank.FLUSH));
+        assertEquals(6_180_020, result.getCount(HandRank.STRAIGHT));
+        assertEquals(6_461_620, result.getCount(HandRank.THREE_OF_A_KIND));
+        assertEquals(31_433_400, result.getCount(HandRank.TWO_PAIR));
+        assertEquals(58_627_800, result.getCount(HandRank.ONE_PAIR));
+        assertEquals(23_294_460, result.getCount(HandRank.HIGH_CARD));
+    }
+
+    @Test()
+    public void testLookupTableAgreesWithBitMask() {
+        HandEnumerator.Result result = new HandEnumerator(5, PARALLELISM).crossCheck(BitMaskHandEvaluator.INSTANCE, LookupTableHandEvaluator.INSTANCE);
+
+        assertEquals(0, result.mismatches());
+        assertTrue(result.sampleMismatches().isEmpty());
+    }
+
+    @Test()
+    public void testCrossCheckReportsDisagreements() {
+        HandEvaluator flushesAsHighCards = new HandEvaluator() {
+            @Override
+            public HandRank determineHandRank(long cardMask) {
+                return HandStrength.handRank(determineStrength(cardMask));
+            }
+
+            @Override
+            public int determineStrength(long cardMask) {
+                int strength = BitMaskHandEvaluator.INSTANCE.determineStrength(cardMask);
+                return HandStrength.handRank(strength) == HandRank.FLUSH ? 0 : strength;
+            }
+        };
+
+        HandEnumerator.Result result = new HandEnumerator(5, PARALLELISM).crossCheck(BitMaskHandEvaluator.INSTANCE, flushesAsHighCards);
+
+        assertEquals(5_108, result.mismatches());
+        assertEquals(10, result.sampleMismatches().size());
+        for (long mask : result.sampleMismatches()) {
+            assertEquals(HandRank.FLUSH, BitMaskHandEvaluator.INSTANCE.determineHandRank(mask));
+        }
+    }
+
+    @Test()
+    public void testRankAndUnrankRoundTrip() {
+        for (long index : new long[] {0, 1, 51, 1_000_000, 2_598_959}) {
+            int[] combination = HandEnumerator.unrank(index, 5);
+            assertEquals(index, HandEnumerator.rank(combination));
+            for (int i = 1; i < combination.length; i++) {
+                assertTrue(combination[i - 1] < combination[i]);
+            }
+        }
+
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4}, HandEnumerator.unrank(0, 5));
+        assertArrayEquals(new int[] {47, 48, 49, 50, 51}, HandEnumerator.unrank(2_598_959, 5));
+    }
+
+    @Test()
+    public void testRejectsUnsupportedCardCounts() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new HandEnumerator(4, 1));
+        assertEquals("Expected 5 to 7 Cards but received 4", exception.getMessage());
+    }
+}
@@ -0,0 +1,67 @@
+package org.challenge.evaluators;
+
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.challenge.models.Card;
+import org.challenge.models.CardRank;
+import org.challenge.models.CardSuit;
+import org.challenge.models.HandRank;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LookupTableHandEvaluatorTest {
+
+    @Test()
+    public void testMatchesBitMaskEvaluatorForEveryHand() {
+        long[] deck = new long[CardRank.values().length * CardSuit.values().length];
+        int count = 0;
+        for (CardRank rank : CardRank.values()) {
+            for (CardSuit suit : CardSuit.values()) {
+                deck[count++] = 1L << (suit.getIndex() * Card.SUIT_SHIFT + rank.getIndex());
+            }
+        }
+
+        for (int a = 0; a < count; a++) {
+            for (int b = a + 1; b < count; b++) {
+                for (int c = b + 1; c < count; c++) {
+                    for (int d = c + 1; d < count; d++) {
+                        for (int e = d + 1; e < count; e++) {
+                            long mask = deck[a] | deck[b] | deck[c] | deck[d] | deck[e];
+                            int expected = BitMaskHandEvaluator.INSTANCE.determineStrength(mask);
+                            if(expected != LookupTableHandEvaluator.INSTANCE.determineStrength(mask)) {
+                                fail("Strength mismatch for card mask " + Long.toHexString(mask));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test()
+    public void testFullHouseUsesPerfectHash() throws UnmatchedCardValueException {
+        long mask = new Card("3H").getCardMask() | new Card("3S").getCardMask() | new Card("3D").getCardMask()
+                | new Card("KS").getCardMask() | new Card("KH").getCardMask();
+        assertEquals(HandRank.FULL_HOUSE, LookupTableHandEvaluator.INSTANCE.determineHandRank(mask));
+    }
+
+    @Test()
+    public void testRejectsMasksThatAreNotFiveCards() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> LookupTableHandEvaluator.INSTANCE.determineStrength(0b1111));
+        assertEquals("Expected 5 Cards but received 4", exception.getMessage());
+    }
+
+    @Test()
+    public void testBundledResourceMatchesFreshBuild() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        LookupTables.getInstance().write(outputStream);
+        LookupTables reloaded = LookupTables.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assertTrue(LookupTables.build().sameTablesAs(LookupTables.getInstance()));
+        assertTrue(reloaded.sameTablesAs(LookupTables.getInstance()));
+    }
+}
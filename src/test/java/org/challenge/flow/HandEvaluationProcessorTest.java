@@ -0,0 +1,104 @@
+package org.challenge.flow;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.evaluators.LookupTableHandEvaluator;
+import org.challenge.models.HandRank;
+import org.challenge.models.ValidationError;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandEvaluationProcessorTest {
+    @Test()
+    public void testPipelineGivesTheCommandLineResultsInOrder() throws Exception {
+        List<LineResult> results = Collections.synchronizedList(new ArrayList<>());
+        try(BufferedReader reader = Files.newBufferedReader(Paths.get("src/test/resources/mixed-results-file.txt"))) {
+            HandEvaluationProcessor processor = new HandEvaluationProcessor(new LookupTableHandEvaluator(), 3);
+            HandResultSubscriber subscriber = new HandResultSubscriber(2, results::add, results::add);
+            processor.subscribe(subscriber);
+            new HandPublisher(reader.lines().iterator()).subscribe(processor);
+            assertEquals(7L, subscriber.getCompletion().get(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(List.of(
+                "3H JS 3C 7C 5D => One Pair",
+                "Line #2 (4H KS UC TH 5C) failed with exception: org.challenge.exceptions.UnmatchedCardValueException: Card Rank U was not able to be matched",
+                "Line #3 (4H KS 2C TH 5X) failed with exception: org.challenge.exceptions.UnmatchedCardValueException: Card Suit X was not able to be matched",
+                "Line #4 (4H KS 2C TH 5X2D) failed with exception: java.lang.IllegalArgumentException: Invalid card length, expected 2 characters but was 4",
+                "Line #5 (4H KS 2C TH) failed with exception: java.lang.IllegalArgumentException: Expected 5 Cards but received 4",
+                "Line #6 (4H KS 2C TH 4H) failed with exception: org.challenge.exceptions.DuplicateCardException: Hand contains duplicate card(s)",
+                "2S 3S 6S 5S 4S => Straight Flush"), results.stream().map(LineResult::toString).toList());
+
+        HandResult first = assertInstanceOf(HandResult.class, results.get(0));
+        assertEquals(1, first.lineNumber());
+        assertEquals(HandRank.ONE_PAIR, first.rank());
+        LineError duplicate = assertInstanceOf(LineError.class, results.get(5));
+        assertEquals(6, duplicate.lineNumber());
+        assertEquals(ValidationError.DUPLICATE_CARD, duplicate.error());
+    }
+
+    @Test()
+    public void testHoldemHandsAndEmptyLines() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            List<String> lines = List.of("2H 2D 2C KS KH 3D 9C", "", "AS KS QS JS TS 2D", "AS KS");
+            List<HandResult> hands = Collections.synchronizedList(new ArrayList<>());
+            List<LineError> errors = Collections.synchronizedList(new ArrayList<>());
+            HandEvaluationProcessor processor = new HandEvaluationProcessor(BitMaskHandEvaluator.INSTANCE, 16, executor, 4);
+            HandResultSubscriber subscriber = new HandResultSubscriber(16, hands::add, errors::add);
+            processor.subscribe(subscriber);
+            new HandPublisher(lines.iterator(), 5, 7, executor).subscribe(processor);
+            assertEquals(3L, subscriber.getCompletion().get(10, TimeUnit.SECONDS));
+
+            assertEquals(2, hands.size());
+            assertEquals(HandRank.FULL_HOUSE, hands.get(0).rank());
+            assertEquals(3, hands.get(1).lineNumber());
+            assertEquals(HandRank.ROYAL_FLUSH, hands.get(1).rank());
+            assertEquals(1, errors.size());
+            assertEquals(4, errors.get(0).lineNumber());
+            assertEquals(ValidationError.CARD_COUNT, errors.get(0).error());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test()
+    public void testEvaluatorFailureEndsTheStream() {
+        HandEvaluationProcessor processor = new HandEvaluationProcessor(new LookupTableHandEvaluator(), 4);
+        HandResultSubscriber subscriber = new HandResultSubscriber(4, hand -> {}, error -> {});
+        processor.subscribe(subscriber);
+        new HandPublisher(List.of("2H 2D 2C KS KH 3D 9C").iterator(), 5, 7, Runnable::run).subscribe(processor);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> subscriber.getCompletion().get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    }
+
+    @Test()
+    public void testCallbackFailureCancelsTheStream() {
+        List<String> lines = Collections.nCopies(10_000, "3H JS 3C 7C 5D");
+        HandEvaluationProcessor processor = new HandEvaluationProcessor(BitMaskHandEvaluator.INSTANCE, 8);
+        HandResultSubscriber subscriber = new HandResultSubscriber(8, hand -> {
+            throw new IllegalStateException("Rejected " + hand.lineNumber());
+        }, error -> {});
+        processor.subscribe(subscriber);
+        new HandPublisher(lines.iterator()).subscribe(processor);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> subscriber.getCompletion().get(10, TimeUnit.SECONDS));
+        assertEquals("Rejected 1", e.getCause().getMessage());
+    }
+
+    @Test()
+    public void testInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> new HandEvaluationProcessor(BitMaskHandEvaluator.INSTANCE, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HandResultSubscriber(0, hand -> {}, error -> {}));
+    }
+}
@@ -0,0 +1,102 @@
+package org.challenge.flow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandPublisherTest {
+    @Test()
+    public void testLinesAreOnlyReadOnDemand() {
+        AtomicInteger read = new AtomicInteger();
+        Iterator<String> lines = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public String next() {
+                read.incrementAndGet();
+                return "3H JS 3C 7C 5D";
+            }
+        };
+
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new HandPublisher(lines, 5, 5, Runnable::run).subscribe(subscriber);
+        assertEquals(0, read.get());
+
+        subscriber.subscription.request(3);
+        assertEquals(3, read.get());
+        assertEquals(3, subscriber.hands.size());
+        assertEquals(3, subscriber.hands.get(2).lineNumber());
+        assertTrue(subscriber.hands.get(2).isValid());
+
+        subscriber.subscription.request(2);
+        assertEquals(5, read.get());
+
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(10);
+        assertEquals(5, read.get());
+        assertFalse(subscriber.completion.isDone());
+    }
+
+    @Test()
+    public void testCompletesWithoutFurtherDemand() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new HandPublisher(List.of("3H JS 3C 7C 5D", "", "4H KS 2C TH 4H").iterator()).subscribe(subscriber);
+        subscriber.subscription.request(2);
+        subscriber.completion.get(10, TimeUnit.SECONDS);
+        assertEquals(2, subscriber.hands.size());
+        assertEquals(3, subscriber.hands.get(1).lineNumber());
+        assertFalse(subscriber.hands.get(1).isValid());
+        assertNull(subscriber.hands.get(0).error());
+    }
+
+    @Test()
+    public void testInvalidDemandAndSecondSubscriberFail() {
+        HandPublisher publisher = new HandPublisher(List.of("3H JS 3C 7C 5D").iterator(), 5, 5, Runnable::run);
+        RecordingSubscriber first = new RecordingSubscriber();
+        publisher.subscribe(first);
+        first.subscription.request(0);
+        assertTrue(first.completion.isCompletedExceptionally());
+        assertTrue(first.hands.isEmpty());
+
+        RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(second);
+        assertTrue(second.completion.isCompletedExceptionally());
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<ParsedHand> {
+        private final List<ParsedHand> hands = new ArrayList<>();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ParsedHand item) {
+            this.hands.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            this.completion.complete(null);
+        }
+    }
+}
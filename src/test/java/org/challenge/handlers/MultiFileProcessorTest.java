@@ -0,0 +1,146 @@
+package org.challenge.handlers;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.io.ByteLineScorer;
+import org.challenge.io.HandResultWriter;
+import org.challenge.io.InputFiles;
+import org.challenge.io.InputFiles.InputFile;
+import org.challenge.io.MappedHandFileProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiFileProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static MultiFileProcessor processor(long segmentSize) {
+        return new MultiFileProcessor(4, segmentSize, () -> new ByteLineScorer(BitMaskHandEvaluator.INSTANCE, 5, 5, (line, lineNumber) -> "Line #" + lineNumber + " (" + line + ")"));
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = this.tempDir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static String merged(MultiFileProcessor processor, List<InputFile> files) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try(HandResultWriter writer = new HandResultWriter(output)) {
+            processor.processMerged(files, writer);
+        }
+
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test()
+    public void testLargeFileSplitKeepsLineNumbersAndOrder() throws IOException {
+        StringBuilder content = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        String[] lines = {"3H JS 3C 7C 5D", "", "4H KS UC TH 5C", "2S 3S 6S 5S 4S"};
+        Path file = this.tempDir.resolve("large.txt");
+        for (int i = 0; i < 2000; i++) {
+            String line = lines[i % lines.length];
+            content.append(line).append(i % 3 == 0 ? "\r\n" : "\n");
+            if(line.isEmpty()) {
+                continue;
+            }
+
+            expected.append(file).append(':').append(i + 1).append(": ");
+            if(line.contains("U")) {
+                expected.append("Line #").append(i + 1).append(" (").append(line).append(")");
+            } else {
+                expected.append(line).append(line.startsWith("3H") ? " => One Pair" : " => Straight Flush");
+            }
+
+            expected.append(System.lineSeparator());
+        }
+
+        write("large.txt", content.toString());
+        List<InputFile> files = InputFiles.expand(List.of(file.toString()));
+        assertEquals(expected.toString(), merged(processor(512), files));
+        assertEquals(expected.toString(), merged(processor(1 << 20), files));
+    }
+
+    @Test()
+    public void testProcessFileMatchesMappedProcessor() throws IOException {
+        StringBuilder content = new StringBuilder();
+        String[] lines = {"3H JS 3C 7C 5D", "", "4H KS UC TH 5C", "2S 3S 6S 5S 4S"};
+        for (int i = 0; i < 2000; i++) {
+            content.append(lines[i % lines.length]).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+
+        Path file = write("single.txt", content.toString());
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try(HandResultWriter writer = new HandResultWriter(expected)) {
+            new MappedHandFileProcessor(new ByteLineScorer(BitMaskHandEvaluator.INSTANCE, 5, 5, (line, lineNumber) -> "Line #" + lineNumber + " (" + line + ")")).process(file, writer);
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try(HandResultWriter writer = new HandResultWriter(output)) {
+            processor(512).processFile(file, writer);
+        }
+
+        assertEquals(expected.toString(StandardCharsets.UTF_8), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test()
+    public void testSmallFilesAreBatchedInOrder() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            Path file = write("batch/file" + (char) ('a' + i / 26) + (char) ('a' + i % 26) + ".txt", "AH KH QH JH TH\n");
+            expected.append(file).append(":1: AH KH QH JH TH => Royal Flush").append(System.lineSeparator());
+        }
+
+        List<InputFile> files = InputFiles.expand(List.of(this.tempDir.resolve("batch").toString()));
+        assertEquals(expected.toString(), merged(processor(64), files));
+    }
+
+    @Test()
+    public void testPerFileOutput() throws IOException {
+        write("in/a.txt", "3H JS 3C 7C 5D\n");
+        write("in/nested/b.txt", "2S 3S 6S 5S 4S\n4H KS\n");
+        Path output = this.tempDir.resolve("out");
+
+        processor(MultiFileProcessor.DEFAULT_SEGMENT_SIZE).processPerFile(InputFiles.expand(List.of(this.tempDir.resolve("in").toString())), output);
+
+        assertEquals("3H JS 3C 7C 5D => One Pair" + System.lineSeparator(), Files.readString(output.resolve("in/a.txt.out")));
+        assertEquals("2S 3S 6S 5S 4S => Straight Flush" + System.lineSeparator() + "Line #2 (4H KS)" + System.lineSeparator(),
+                Files.readString(output.resolve("in/nested/b.txt.out")));
+    }
+
+    @Test()
+    public void testSameNamedFilesKeepSeparateOutputs() throws IOException {
+        Path first = write("a/hands.txt", "3H JS 3C 7C 5D\n");
+        Path second = write("b/hands.txt", "2S 3S 6S 5S 4S\n");
+        Path output = this.tempDir.resolve("out");
+
+        processor(MultiFileProcessor.DEFAULT_SEGMENT_SIZE).processPerFile(InputFiles.expand(List.of(first.toString(), second.toString())), output);
+
+        Path root = this.tempDir.getRoot();
+        assertEquals("3H JS 3C 7C 5D => One Pair" + System.lineSeparator(), Files.readString(output.resolve(root.relativize(first) + ".out")));
+        assertEquals("2S 3S 6S 5S 4S => Straight Flush" + System.lineSeparator(), Files.readString(output.resolve(root.relativize(second) + ".out")));
+    }
+
+    @Test()
+    public void testClashingOutputsFailBeforeScoring() throws IOException {
+        write("x/data/hands.txt", "3H JS 3C 7C 5D\n");
+        write("y/data/hands.txt", "2S 3S 6S 5S 4S\n");
+        Path output = this.tempDir.resolve("out");
+        List<InputFile> files = InputFiles.expand(List.of(this.tempDir.resolve("x/data").toString(), this.tempDir.resolve("y/data").toString()));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> processor(MultiFileProcessor.DEFAULT_SEGMENT_SIZE).processPerFile(files, output));
+        assertTrue(e.getMessage().endsWith("would both write " + output.resolve("data/hands.txt.out")));
+        assertFalse(Files.exists(output));
+    }
+}
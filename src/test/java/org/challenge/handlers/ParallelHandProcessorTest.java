@@ -0,0 +1,48 @@
+package org.challenge.handlers;
+
+import org.challenge.io.HandResultWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelHandProcessorTest {
+
+    private static String process(String input, int parallelism, int chunkSize, LineScorer scorer) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try(HandResultWriter writer = new HandResultWriter(output)) {
+            new ParallelHandProcessor(parallelism, chunkSize, scorer).process(new BufferedReader(new StringReader(input)), writer);
+        }
+        return output.toString();
+    }
+
+    @Test
+    public void testOutputKeepsLineOrderAndNumbering() throws IOException {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 1; i <= 1000; i++) {
+            input.append("line").append(i).append('\n');
+            expected.append(i).append(':').append("line").append(i).append(System.lineSeparator());
+        }
+
+        assertEquals(expected.toString(), process(input.toString(), 4, 7, (line, lineNumber) -> lineNumber + ":" + line));
+    }
+
+    @Test
+    public void testNullResultsAreSkipped() throws IOException {
+        String output = process("a\n\nb\n", 2, 1, (line, lineNumber) -> line.isEmpty() ? null : line + lineNumber);
+        assertEquals("a1" + System.lineSeparator() + "b3" + System.lineSeparator(), output);
+    }
+
+    @Test
+    public void testWorkerFailureIsRethrown() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> process("a\nb\n", 2, 1, (line, lineNumber) -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertTrue(exception.getMessage().contains("boom"));
+    }
+}
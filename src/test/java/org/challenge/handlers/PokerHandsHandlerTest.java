@@ -3,10 +3,18 @@ package org.challenge.handlers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -51,8 +59,274 @@ public class PokerHandsHandlerTest {
     @Test
     public void testTwoArguments() {
         String[] args = { "customFilePath", "customerFilePath2" };
+        FileNotFoundException exception = assertThrows(FileNotFoundException.class, (() -> new PokerHandsHandler().handle(args)));
+        assertEquals("File not found: customFilePath", exception.getMessage());
+    }
+
+    @Test
+    public void testUnknownOption() {
+        String[] args = { "--unknown=value" };
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, (() -> new PokerHandsHandler().handle(args)));
+        assertEquals("Unknown option: --unknown=value", exception.getMessage());
+    }
+
+    @Test
+    public void testLookupEvaluatorOption() {
+        String[] args = {"--evaluator=lookup", "src/test/resources/mixed-results-file.txt"};
+        PokerHandsHandler handler = new PokerHandsHandler();
+        try {
+            handler.handle(args);
+            assertTrue(consoleContent.toString().startsWith("3H JS 3C 7C 5D => One Pair"));
+            assertTrue(consoleContent.toString().contains("2S 3S 6S 5S 4S => Straight Flush"));
+        } catch (Exception e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    public void testHoldemOption() {
+        String[] args = {"--holdem", "src/test/resources/holdem-file.txt"};
+        PokerHandsHandler handler = new PokerHandsHandler();
+        try {
+            handler.handle(args);
+            assertEquals("""
+                9H 8H 7C 6H 5S 2H KH => Flush\r
+                4H 4D 4C 9S 9H 9D 2C => Full House\r
+                3H JS 3C 7C 5D => One Pair\r
+                Line #4 (3H JS 3C 7C) failed with exception: java.lang.IllegalArgumentException: Expected 5 to 7 Cards but received 4\r
+                """, consoleContent.toString());
+        } catch (Exception e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    public void testHoldemOptionWithLookupEvaluator() {
+        String[] args = {"--holdem", "--evaluator=lookup"};
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, (() -> new PokerHandsHandler().handle(args)));
+        assertEquals("Hold'em hands can only be used with the bitmask evaluator", exception.getMessage());
+    }
+
+    @Test
+    public void testParallelFileMatchesSingleThreadedOutput(@TempDir Path directory) throws Exception {
+        // Over 2 MB, so the parallel run splits the file into several segments
+        String[] lines = {"3H JS 3C 7C 5D", "", "4H KS UC TH 5C", "2S 3S 6S 5S 4S", "4H KS 2C TH 4H"};
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            content.append(lines[i % lines.length]).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+
+        Path file = Files.writeString(directory.resolve("hands.txt"), content);
+        new PokerHandsHandler().handle(new String[] {file.toString()});
+        String expected = consoleContent.toString();
+        consoleContent.reset();
+
+        new PokerHandsHandler().handle(new String[] {"--parallel=4", file.toString()});
+        assertEquals(expected, consoleContent.toString());
+    }
+
+    @Test
+    public void testParallelOptionKeepsLineOrder() {
+        String[] args = {"--parallel=4", "--chunk-size=2", "src/test/resources/mixed-results-file.txt"};
+        PokerHandsHandler handler = new PokerHandsHandler();
+        try {
+            handler.handle(args);
+            assertEquals("""
+                3H JS 3C 7C 5D => One Pair\r
+                Line #2 (4H KS UC TH 5C) failed with exception: org.challenge.exceptions.UnmatchedCardValueException: Card Rank U was not able to be matched\r
+                Line #3 (4H KS 2C TH 5X) failed with exception: org.challenge.exceptions.UnmatchedCardValueException: Card Suit X was not able to be matched\r
+                Line #4 (4H KS 2C TH 5X2D) failed with exception: java.lang.IllegalArgumentException: Invalid card length, expected 2 characters but was 4\r
+                Line #5 (4H KS 2C TH) failed with exception: java.lang.IllegalArgumentException: Expected 5 Cards but received 4\r
+                Line #6 (4H KS 2C TH 4H) failed with exception: org.challenge.exceptions.DuplicateCardException: Hand contains duplicate card(s)\r
+                2S 3S 6S 5S 4S => Straight Flush\r
+                """, consoleContent.toString());
+        } catch (Exception e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    public void testOutputOptionWritesToFile() throws Exception {
+        Path output = Files.createTempFile("poker-hands", ".out");
+        try {
+            String[] args = {"--output=" + output, "src/test/resources/valid-file.txt"};
+            new PokerHandsHandler().handle(args);
+            assertEquals("", consoleContent.toString());
+            assertEquals("3H JS 3C 7C 5D => One Pair\r\n", Files.readString(output));
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    @Test
+    public void testOutputDirectoryWithSingleFile(@TempDir Path output) throws Exception {
+        String[] outputDirectory = {"--output-dir=" + output, "src/test/resources/valid-file.txt"};
+        new PokerHandsHandler().handle(outputDirectory);
+        assertEquals("", consoleContent.toString());
+        assertEquals("3H JS 3C 7C 5D => One Pair\r\n", Files.readString(output.resolve("src/test/resources/valid-file.txt.out")));
+
+        for (String[] args : List.of(new String[] {"--output-dir=out", "-"}, new String[] {"--output-dir=out", "--output=a.txt", "b.txt"},
+                new String[] {"--output-dir=out"})) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, (() -> new PokerHandsHandler().handle(args)));
+            assertTrue(exception.getMessage().startsWith("--output-dir requires file inputs"));
+        }
+    }
+
+    @Test
+    public void testServeRejectsOtherInputsAndModes() {
+        for (String[] args : List.of(new String[] {"--serve=7000", "src/test/resources/valid-file.txt"}, new String[] {"--serve=7000", "-"},
+                new String[] {"--serve=7000", "--output=a.txt"}, new String[] {"--serve=7000", "--summary"},
+                new String[] {"--serve=7000", "--follow", "src/test/resources/valid-file.txt"},
+                new String[] {"--serve=7000", "--dedup", "src/test/resources/valid-file.txt"},
+                new String[] {"--serve=7000", "--convert=binary", "src/test/resources/valid-file.txt"})) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, (() -> new PokerHandsHandler().handle(args)));
+            assertTrue(exception.getMessage().startsWith("--serve cannot be combined"), exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testStandardInput() throws Exception {
+        InputStream stdin = System.in;
+        try {
+            System.setIn(new ByteArrayInputStream("3H JS 3C 7C 5D\n4H KS 2C TH\n".getBytes(StandardCharsets.UTF_8)));
+            new PokerHandsHandler().handle(new String[]{"-"});
+            assertEquals("""
+                3H JS 3C 7C 5D => One Pair\r
+                Line #2 (4H KS 2C TH) failed with exception: java.lang.IllegalArgumentException: Expected 5 Cards but received 4\r
+                """, consoleContent.toString());
+        } finally {
+            System.setIn(stdin);
+        }
+    }
+
+    @Test
+    public void testFollowRequiresFilePath() {
+        String[] args = {"--follow", "-"};
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, (() -> new PokerHandsHandler().handle(args)));
+        assertEquals("--follow requires a single file path", exception.getMessage());
+    }
+
+    @Test
+    public void testMultipleFilesAreMergedAndTagged() throws Exception {
+        String[] args = {"src/test/resources/valid-file.txt", "src/test/resources/mixed-results-file.txt"};
+        new PokerHandsHandler().handle(args);
+        String valid = Paths.get("src/test/resources/valid-file.txt").toString();
+        String mixed = Paths.get("src/test/resources/mixed-results-file.txt").toString();
+        assertEquals(valid + ":1: 3H JS 3C 7C 5D => One Pair\r\n"
+                + mixed + ":1: 3H JS 3C 7C 5D => One Pair\r\n"
+                + mixed + ":2: Line #2 (4H KS UC TH 5C) failed with exception: org.challenge.exceptions.UnmatchedCardValueException: Card Rank U was not able to be matched\r\n"
+                + mixed + ":3: Line #3 (4H KS 2C TH 5X) failed with exception: org.challenge.exceptions.UnmatchedCardValueException: Card Suit X was not able to be matched\r\n"
+                + mixed + ":4: Line #4 (4H KS 2C TH 5X2D) failed with exception: java.lang.IllegalArgumentException: Invalid card length, expected 2 characters but was 4\r\n"
+                + mixed + ":5: Line #5 (4H KS 2C TH) failed with exception: java.lang.IllegalArgumentException: Expected 5 Cards but received 4\r\n"
+                + mixed + ":6: Line #6 (4H KS 2C TH 4H) failed with exception: org.challenge.exceptions.DuplicateCardException: Hand contains duplicate card(s)\r\n"
+                + mixed + ":7: 2S 3S 6S 5S 4S => Straight Flush\r\n", consoleContent.toString());
+    }
+
+    @Test
+    public void testSummaryOption() throws Exception {
+        String[] args = {"--summary", "src/test/resources/mixed-results-file.txt"};
+        new PokerHandsHandler().handle(args);
+        String output = consoleContent.toString();
+        assertTrue(output.startsWith("Hand Rank                 Count   Percent\r\n"));
+        assertTrue(output.contains("One Pair                      1  50.0000%\r\n"));
+        assertTrue(output.contains("Invalid lines: 5\r\n"));
+    }
+
+    @Test
+    public void testCacheOptionKeepsResults() throws Exception {
+        new PokerHandsHandler().handle(new String[] {"src/test/resources/mixed-results-file.txt"});
+        String uncached = consoleContent.toString();
+        consoleContent.reset();
+
+        Path metrics = Files.createTempFile("poker-hands", ".jsonl");
+        try {
+            new PokerHandsHandler().handle(new String[] {"--cache=64", "--cache-policy=fifo", "--metrics=" + metrics, "src/test/resources/mixed-results-file.txt"});
+            assertEquals(uncached, consoleContent.toString());
+            List<String> snapshots = Files.readAllLines(metrics);
+            assertTrue(snapshots.get(snapshots.size() - 1).contains(",\"cache\":{\"hits\":0,\"misses\":2,"));
+        } finally {
+            Files.deleteIfExists(metrics);
+        }
+    }
+
+    @Test
+    public void testMetricsOptionWritesSnapshots() throws Exception {
+        Path metrics = Files.createTempFile("poker-hands", ".jsonl");
+        try {
+            String[] args = {"--metrics=" + metrics, "src/test/resources/mixed-results-file.txt"};
+            new PokerHandsHandler().handle(args);
+            List<String> snapshots = Files.readAllLines(metrics);
+            String last = snapshots.get(snapshots.size() - 1);
+            assertTrue(last.contains("\"lines\":7,\"hands\":2,\"errors\":5,"));
+            assertTrue(last.contains("\"errorsByExceptionType\":{\"IllegalArgumentException\":2,\"UnmatchedCardValueException\":2,\"DuplicateCardException\":1}"));
+        } finally {
+            Files.deleteIfExists(metrics);
+        }
+    }
+
+    @Test
+    public void testCachePolicyRequiresCache() {
+        String[] args = {"--cache-policy=clock"};
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, (() -> new PokerHandsHandler().handle(args)));
+        assertEquals("--cache-policy requires --cache", exception.getMessage());
+    }
+
+    @Test
+    public void testQueryListsStoredHandsOfOneRank() throws Exception {
+        Path metrics = Files.createTempFile("poker-hands", ".jsonl");
+        try {
+            String[] args = {"--query=straight-flush", "--store-memory=0", "--metrics=" + metrics, "src/test/resources/mixed-results-file.txt"};
+            new PokerHandsHandler().handle(args);
+            String output = consoleContent.toString();
+            assertTrue(output.startsWith("Line #2 (4H KS UC TH 5C) failed with exception"));
+            assertTrue(output.endsWith("7: 2S 3S 4S 5S 6S => Straight Flush\r\n"));
+            assertFalse(output.contains("One Pair"));
+            List<String> snapshots = Files.readAllLines(metrics);
+            assertTrue(snapshots.get(snapshots.size() - 1).contains(",\"store\":{\"hands\":2,\"matches\":1,"));
+        } finally {
+            Files.deleteIfExists(metrics);
+        }
+    }
+
+    @Test
+    public void testDedupOptionKeepsResults() throws Exception {
+        new PokerHandsHandler().handle(new String[] {"src/test/resources/mixed-results-file.txt"});
+        String expected = consoleContent.toString();
+        consoleContent.reset();
+
+        Path metrics = Files.createTempFile("poker-hands", ".jsonl");
+        try {
+            new PokerHandsHandler().handle(new String[] {"--dedup", "--metrics=" + metrics, "src/test/resources/mixed-results-file.txt"});
+            assertEquals(expected, consoleContent.toString());
+            List<String> snapshots = Files.readAllLines(metrics);
+            assertTrue(snapshots.get(snapshots.size() - 1).endsWith(",\"dedup\":{\"hands\":2,\"distinct\":2}}"));
+        } finally {
+            Files.deleteIfExists(metrics);
+        }
+
+        String[] args = {"--dedup", "-"};
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, (() -> new PokerHandsHandler().handle(args)));
+        assertTrue(exception.getMessage().startsWith("--dedup requires a single file path"));
+    }
+
+    @Test
+    public void testQueryRequiresOneInput() {
+        String[] args = {"--query=full_house", "a.txt", "b.txt"};
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, (() -> new PokerHandsHandler().handle(args)));
+        assertTrue(exception.getMessage().startsWith("--query requires at most one input"));
+        String[] unknownRank = {"--query=trips"};
+        exception = assertThrows(IllegalArgumentException.class, (() -> new PokerHandsHandler().handle(unknownRank)));
+        assertEquals("Unknown hand rank: trips", exception.getMessage());
+        String[] storeOnly = {"--spill-dir=/tmp"};
+        exception = assertThrows(IllegalArgumentException.class, (() -> new PokerHandsHandler().handle(storeOnly)));
+        assertEquals("--store-memory and --spill-dir require --query", exception.getMessage());
+    }
+
+    @Test
+    public void testInvalidParallelism() {
+        String[] args = {"--parallel=0"};
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, (() -> new PokerHandsHandler().handle(args)));
-        assertEquals("Too many arguments have been supplied", exception.getMessage());
+        assertEquals("Expected a positive number for option: --parallel=0", exception.getMessage());
     }
 
     @Test
@@ -0,0 +1,65 @@
+package org.challenge.handlers;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.io.InputFiles;
+import org.challenge.models.HandRank;
+import org.challenge.models.ValidationError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SummaryProcessorTest {
+
+    private static final String MIXED = "3H JS 3C 7C 5D\n4H KS UC TH 5C\n4H KS 2C TH 5X\n4H KS 2C TH 5X2D\n4H KS 2C TH\n4H KS 2C TH 4H\n\n2S 3S 6S 5S 4S\n";
+
+    @TempDir
+    Path tempDir;
+
+    private static void assertMixedCounts(RankSummary summary, long copies) {
+        assertEquals(copies, summary.getCount(HandRank.ONE_PAIR));
+        assertEquals(copies, summary.getCount(HandRank.STRAIGHT_FLUSH));
+        assertEquals(0, summary.getCount(HandRank.HIGH_CARD));
+        assertEquals(2 * copies, summary.getHandCount());
+        assertEquals(7 * copies, summary.getLineCount());
+        assertEquals(copies, summary.getErrorCount(ValidationError.UNMATCHED_RANK));
+        assertEquals(copies, summary.getErrorCount(ValidationError.UNMATCHED_SUIT));
+        assertEquals(copies, summary.getErrorCount(ValidationError.CARD_LENGTH));
+        assertEquals(copies, summary.getErrorCount(ValidationError.CARD_COUNT));
+        assertEquals(copies, summary.getErrorCount(ValidationError.DUPLICATE_CARD));
+    }
+
+    @Test()
+    public void testFilesAreSplitAndCountedAcrossThreads() throws IOException {
+        Path file = this.tempDir.resolve("hands.txt");
+        Files.writeString(file, MIXED.repeat(1000));
+        Files.writeString(this.tempDir.resolve("small.txt"), MIXED);
+
+        RankSummary summary = new SummaryProcessor(4, 1024, BitMaskHandEvaluator.INSTANCE, 5, 5).summarise(InputFiles.expand(List.of(this.tempDir.toString())));
+        assertMixedCounts(summary, 1001);
+        assertEquals(MIXED.length() * 1001L, summary.getByteCount());
+    }
+
+    @Test()
+    public void testReaderSummaryAndReport() throws IOException {
+        RankSummary summary = new SummaryProcessor(1, BitMaskHandEvaluator.INSTANCE, 5, 5).summarise(new BufferedReader(new StringReader(MIXED)));
+        assertMixedCounts(summary, 1);
+
+        List<String> report = summary.report();
+        assertEquals("Hand Rank                 Count   Percent", report.get(0));
+        assertEquals("Straight Flush                1  50.0000%", report.get(2));
+        assertEquals("Total                         2 100.0000%", report.get(11));
+        assertEquals("Invalid lines: 5", report.get(12));
+        assertEquals("  java.lang.IllegalArgumentException: 2 (CARD_LENGTH 1, CARD_COUNT 1)", report.get(13));
+        assertEquals("  org.challenge.exceptions.UnmatchedCardValueException: 2 (UNMATCHED_RANK 1, UNMATCHED_SUIT 1)", report.get(14));
+        assertEquals("  org.challenge.exceptions.DuplicateCardException: 1 (DUPLICATE_CARD 1)", report.get(15));
+        assertTrue(report.get(16).startsWith("Processed 7 lines"));
+    }
+}
@@ -0,0 +1,111 @@
+package org.challenge.io;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryHandFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static String lines(String... lines) {
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+
+    private String convertAndScore(String content, boolean holdem) throws IOException {
+        Path text = tempDir.resolve("hands.txt");
+        Path binary = tempDir.resolve("hands.bin");
+        Files.writeString(text, content, StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream warnings = new ByteArrayOutputStream();
+        new TextToBinaryConverter(holdem).convert(text, binary, new PrintStream(warnings, true, StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try(HandResultWriter writer = new HandResultWriter(output)) {
+            new BinaryHandFileProcessor(BitMaskHandEvaluator.INSTANCE).process(binary, writer);
+        }
+        return warnings.toString(StandardCharsets.UTF_8) + output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testRoundTripKeepsCardOrder() throws IOException {
+        String output = convertAndScore("3h JS 3♣ 7C 5D\n4H KS UC TH 5C\n\n2S 3S 6S 5S 4S\n", false);
+        assertEquals(lines(
+                "Line #2 (4H KS UC TH 5C) failed with exception: org.challenge.exceptions.UnmatchedCardValueException: Card Rank U was not able to be matched",
+                "3H JS 3C 7C 5D => One Pair",
+                "2S 3S 6S 5S 4S => Straight Flush"), output);
+    }
+
+    @Test
+    public void testHoldemHandsAreStoredAsMasks() throws IOException {
+        assertEquals(lines("7C 2H 5H 6H 8H 9H 5S => Flush"), convertAndScore("9H 8H 7C 6H 5S 2H 5H\n", true));
+    }
+
+    @Test
+    public void testRecordsAreFiveBytesPerHand() throws IOException {
+        Path binary = tempDir.resolve("hands.bin");
+        convertAndScore("3H JS 3C 7C 5D\n9H 9D 3S 9S 9C\n", false);
+        long indexSize = Integer.BYTES + 2 * Long.BYTES;
+        assertEquals(BinaryHandFormat.HEADER_SIZE + 2 * 5 + indexSize, Files.size(binary));
+    }
+
+    @Test
+    public void testSeekToBlock() throws IOException {
+        Path binary = tempDir.resolve("blocks.bin");
+        byte[] cards = new byte[7];
+        try(BinaryHandWriter writer = new BinaryHandWriter(binary, BinaryHandFormat.CARD_BYTES, 5, 2)) {
+            for (int hand = 0; hand < 5; hand++) {
+                for (int i = 0; i < 5; i++) {
+                    cards[i] = (byte) (hand + i);
+                }
+
+                writer.write(cards, 5, hand * 10L);
+            }
+        }
+
+        try(BinaryHandReader reader = new BinaryHandReader(binary)) {
+            assertEquals(5, reader.getHandCount());
+            assertEquals(40, reader.seekToBlock(2));
+            assertEquals(5, reader.readHand(cards));
+            assertEquals(4, cards[0]);
+            assertEquals(0, reader.readHand(cards));
+        }
+    }
+
+    @Test
+    public void testRejectsTextFile() throws IOException {
+        Path text = tempDir.resolve("hands.txt");
+        Files.writeString(text, "3H JS 3C 7C 5D\n");
+        IOException exception = assertThrows(IOException.class, () -> new BinaryHandReader(text));
+        assertTrue(exception.getMessage().startsWith("Not a binary hand file"));
+    }
+
+    @Test
+    public void testRejectsUnsupportedCardsPerHand() throws IOException {
+        Path binary = tempDir.resolve("hands.bin");
+        for (byte cardsPerHand : new byte[] {0, -1, 8, 4}) {
+            ByteBuffer header = ByteBuffer.allocate(BinaryHandFormat.HEADER_SIZE)
+                    .putInt(BinaryHandFormat.MAGIC)
+                    .putShort(BinaryHandFormat.VERSION)
+                    .put(BinaryHandFormat.CARD_BYTES)
+                    .put(cardsPerHand)
+                    .putInt(BinaryHandFormat.DEFAULT_BLOCK_SIZE)
+                    .putLong(1)
+                    .putLong(0);
+            Files.write(binary, header.array());
+            IOException exception = assertThrows(IOException.class, () -> new BinaryHandReader(binary));
+            assertEquals("Unsupported cards per hand " + cardsPerHand + ", expected 5 to 7", exception.getMessage());
+        }
+    }
+}
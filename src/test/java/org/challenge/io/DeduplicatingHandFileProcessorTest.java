@@ -0,0 +1,46 @@
+package org.challenge.io;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.evaluators.CanonicalHandIndex;
+import org.challenge.handlers.LineScorer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DeduplicatingHandFileProcessorTest {
+    private static final LineScorer FALLBACK = (line, lineNumber) -> "Line #" + lineNumber + " (" + line + ")";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testMatchesMappedProcessorAndCountsDistinctHands() throws IOException {
+        String content = "3H JS 3C 7C 5D\n5S 3D 7D JH 3C\n4H KS UC TH 5C\n\n3♡ J♠ 3♣ 7♣ 5♢\n9H 9D 3S 9S 9C\r\n2s 3s 6s 5s 4s\n3C 7D 5H JS 3D";
+        Path file = tempDir.resolve("hands.txt");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try(HandResultWriter writer = new HandResultWriter(expected)) {
+            new MappedHandFileProcessor(BitMaskHandEvaluator.INSTANCE, 5, 5, FALLBACK).process(file, writer);
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DeduplicatingHandFileProcessor processor = new DeduplicatingHandFileProcessor(new ByteLineScorer(BitMaskHandEvaluator.INSTANCE, 5, 5, FALLBACK), BitMaskHandEvaluator.INSTANCE, 5, 5);
+        try(HandResultWriter writer = new HandResultWriter(output)) {
+            processor.process(file, writer);
+        }
+
+        assertEquals(expected.toString(StandardCharsets.UTF_8), output.toString(StandardCharsets.UTF_8));
+        CanonicalHandIndex index = processor.getIndex();
+        assertEquals(6, index.getHandCount());
+        assertEquals(3, index.size());
+        assertEquals(4, index.getCount(0));
+    }
+}
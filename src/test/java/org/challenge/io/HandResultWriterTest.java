@@ -0,0 +1,73 @@
+package org.challenge.io;
+
+import org.challenge.models.HandRank;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HandResultWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static String lines(String... lines) {
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+
+    @Test
+    public void testResultsAndWarningsKeepTheirOrder() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try(HandResultWriter writer = new HandResultWriter(output)) {
+            byte[] line = "xx3H JS 3C 7C 5D".getBytes(StandardCharsets.UTF_8);
+            writer.writeResult(line, 2, line.length - 2, HandRank.ONE_PAIR);
+            writer.writeLine("Line #2 failed");
+            writer.writeResult("3♡ JS 3♣ 7C 5D", HandRank.ONE_PAIR);
+        }
+
+        assertEquals(lines("3H JS 3C 7C 5D => One Pair", "Line #2 failed", "3♡ JS 3♣ 7C 5D => One Pair"), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testNothingIsWrittenUntilFlushed() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        HandResultWriter writer = new HandResultWriter(output);
+        writer.writeResult("2S 3S 6S 5S 4S", HandRank.STRAIGHT_FLUSH);
+        assertEquals(0, output.size());
+
+        writer.flush();
+        assertEquals(lines("2S 3S 6S 5S 4S => Straight Flush"), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSmallBufferSpillsAcrossWrites() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        StringBuilder expected = new StringBuilder();
+        try(HandResultWriter writer = new HandResultWriter(output, null, 7)) {
+            for (int i = 0; i < 50; i++) {
+                writer.writeResult("A♠ KS QS JS TS", HandRank.ROYAL_FLUSH);
+                expected.append("A♠ KS QS JS TS => Royal Flush").append(System.lineSeparator());
+            }
+        }
+
+        assertEquals(expected.toString(), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testFileOutputReplacesExistingContent() throws IOException {
+        Path file = tempDir.resolve("results.txt");
+        Files.writeString(file, "previous content that is longer than the results");
+
+        try(HandResultWriter writer = HandResultWriter.toFile(file)) {
+            writer.writeResult("3H JS 3C 7C 5D", HandRank.ONE_PAIR);
+        }
+
+        assertEquals(lines("3H JS 3C 7C 5D => One Pair"), Files.readString(file));
+    }
+}
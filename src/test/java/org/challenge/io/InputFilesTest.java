@@ -0,0 +1,63 @@
+package org.challenge.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InputFilesTest {
+
+    @TempDir
+    Path tempDir;
+
+    private void create(String... names) throws IOException {
+        for (String name : names) {
+            Path file = this.tempDir.resolve(name);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, "AH KH QH JH TH\n");
+        }
+    }
+
+    private static List<Path> outputNames(List<InputFiles.InputFile> files) {
+        return files.stream().map(InputFiles.InputFile::outputName).toList();
+    }
+
+    @Test()
+    public void testDirectoryIsWalkedInPathOrder() throws IOException {
+        create("b.txt", "a.txt", "sub/c.txt");
+        List<InputFiles.InputFile> files = InputFiles.expand(List.of(this.tempDir.toString()));
+        Path name = this.tempDir.getFileName();
+        assertEquals(List.of(name.resolve("a.txt"), name.resolve("b.txt"), name.resolve("sub/c.txt")), outputNames(files));
+    }
+
+    @Test()
+    public void testGlobAndDuplicates() throws IOException {
+        create("a.txt", "b.log", "sub/c.txt");
+        String glob = this.tempDir + "/**.txt";
+        List<InputFiles.InputFile> files = InputFiles.expand(List.of(this.tempDir.resolve("sub/c.txt").toString(), glob));
+        assertEquals(List.of(this.tempDir.getRoot().relativize(this.tempDir.resolve("sub/c.txt")), Paths.get("a.txt")), outputNames(files));
+    }
+
+    @Test()
+    public void testFileArgumentsKeepTheirPath() throws IOException {
+        List<InputFiles.InputFile> files = InputFiles.expand(List.of("src/test/resources/valid-file.txt", "src/main/../test/resources/mixed-results-file.txt"));
+        assertEquals(List.of(Paths.get("src/test/resources/valid-file.txt"), Paths.get("src/test/resources/mixed-results-file.txt")), outputNames(files));
+    }
+
+    @Test()
+    public void testMissingInputs() {
+        FileNotFoundException missing = assertThrows(FileNotFoundException.class, () -> InputFiles.expand(List.of("missing.txt")));
+        assertEquals("File not found: missing.txt", missing.getMessage());
+
+        String glob = this.tempDir + "/*.none";
+        FileNotFoundException noMatch = assertThrows(FileNotFoundException.class, () -> InputFiles.expand(List.of(glob)));
+        assertEquals("No files match: " + glob, noMatch.getMessage());
+    }
+}
@@ -0,0 +1,73 @@
+package org.challenge.io;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MappedHandFileProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String process(String content, long windowSize) throws IOException {
+        Path file = tempDir.resolve("hands.txt");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try(HandResultWriter writer = new HandResultWriter(output)) {
+            new MappedHandFileProcessor(BitMaskHandEvaluator.INSTANCE, 5, 5, (line, lineNumber) -> "Line #" + lineNumber + " (" + line + ")", windowSize)
+                    .process(file, writer);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String lines(String... lines) {
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+
+    @Test
+    public void testValidAndFallbackLines() throws IOException {
+        String output = process("3H JS 3C 7C 5D\n4H KS UC TH 5C\n\n2s 3s 6s 5s 4s", MappedHandFileProcessor.DEFAULT_WINDOW_SIZE);
+        assertEquals(lines("3H JS 3C 7C 5D => One Pair", "Line #2 (4H KS UC TH 5C)", "2s 3s 6s 5s 4s => Straight Flush"), output);
+    }
+
+    @Test
+    public void testUnicodeSuitsAreParsedFromBytes() throws IOException {
+        assertEquals(lines("3♡ J♠ 3♣ 7♣ 5♢ => One Pair"), process("3♡ J♠ 3♣ 7♣ 5♢\n", MappedHandFileProcessor.DEFAULT_WINDOW_SIZE));
+    }
+
+    @Test
+    public void testCarriageReturnLineEndingsSplitAcrossWindows() throws IOException {
+        String content = "3H JS 3C 7C 5D\r\n9H 9D 3S 9S 9C\r9C 3H 9S 9H 3S\r\n";
+        String expected = lines("3H JS 3C 7C 5D => One Pair", "9H 9D 3S 9S 9C => Four of a Kind", "9C 3H 9S 9H 3S => Full House");
+        for (long window = 4; window <= content.length(); window++) {
+            assertEquals(expected, process(content, window), "Window size " + window);
+        }
+    }
+
+    @Test
+    public void testDuplicateAndTrailingSpaceLinesUseFallback() throws IOException {
+        assertEquals(lines("Line #1 (4H KS 2C TH 4H)", "Line #2 (3H JS 3C 7C 5D )"), process("4H KS 2C TH 4H\n3H JS 3C 7C 5D \n", 8));
+    }
+
+    @Test
+    public void testMappedAndReadWindowsGiveTheSameLines() throws IOException {
+        StringBuilder content = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        while(content.length() < MappedHandFileProcessor.READ_THRESHOLD * 3 / 2) {
+            content.append("3H JS 3C 7C 5D\n9H 9D 3S 9S 9C\r\n");
+            expected.append(lines("3H JS 3C 7C 5D => One Pair", "9H 9D 3S 9S 9C => Four of a Kind"));
+        }
+
+        assertEquals(expected.toString(), process(content.toString(), MappedHandFileProcessor.READ_THRESHOLD + 7));
+        assertEquals(expected.toString(), process(content.toString(), MappedHandFileProcessor.DEFAULT_WINDOW_SIZE));
+    }
+}
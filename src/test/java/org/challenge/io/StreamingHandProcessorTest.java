@@ -0,0 +1,110 @@
+package org.challenge.io;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingHandProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static StreamingHandProcessor processor(int readBufferSize) {
+        return new StreamingHandProcessor(new ByteLineScorer(BitMaskHandEvaluator.INSTANCE, 5, 5, (line, lineNumber) -> "Line #" + lineNumber + " (" + line + ")"), readBufferSize);
+    }
+
+    private static String lines(String... lines) {
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+
+    private static String process(String content, int readBufferSize) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try(HandResultWriter writer = new HandResultWriter(output)) {
+            processor(readBufferSize).process(Channels.newChannel(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))), writer);
+        }
+
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test()
+    public void testLinesSplitAcrossReads() throws IOException {
+        String content = "3H JS 3C 7C 5D\r\n4H KS UC TH 5C\n\n2s 3s 6s 5s 4♠";
+        String expected = lines("3H JS 3C 7C 5D => One Pair", "Line #2 (4H KS UC TH 5C)", "2s 3s 6s 5s 4♠ => Straight Flush");
+        assertEquals(expected, process(content, StreamingHandProcessor.DEFAULT_READ_BUFFER_SIZE));
+        assertEquals(expected, process(content, 20));
+    }
+
+    @Test()
+    public void testLineLongerThanBufferIsSkipped() throws IOException {
+        String output = process("3H JS 3C 7C 5D\n" + "X".repeat(100) + "\nAH KH QH JH TH\n", 32);
+        assertEquals(lines("3H JS 3C 7C 5D => One Pair", "Line #2 exceeds the maximum length of 32 bytes", "AH KH QH JH TH => Royal Flush"), output);
+    }
+
+    @Test()
+    public void testFollowScoresAppendedLines() throws Exception {
+        Path file = this.tempDir.resolve("growing.txt");
+        Files.writeString(file, "3H JS 3C 7C 5D\nAH KH", StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        HandResultWriter writer = new HandResultWriter(output);
+        Thread follower = Thread.ofPlatform().start(() -> {
+            try {
+                processor(StreamingHandProcessor.DEFAULT_READ_BUFFER_SIZE).follow(file, writer, 10);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        awaitOutput(output, lines("3H JS 3C 7C 5D => One Pair"));
+        Files.writeString(file, " QH JH TH\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        awaitOutput(output, lines("3H JS 3C 7C 5D => One Pair", "AH KH QH JH TH => Royal Flush"));
+
+        follower.interrupt();
+        follower.join(5000);
+        assertFalse(follower.isAlive());
+    }
+
+    @Test()
+    public void testFollowRestartsLineNumbersAfterTruncation() throws Exception {
+        Path file = this.tempDir.resolve("followed.txt");
+        Files.writeString(file, "3H JS 3C 7C 5D\n4H KS\n", StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        HandResultWriter writer = new HandResultWriter(output);
+        Thread follower = Thread.ofPlatform().start(() -> {
+            try {
+                processor(StreamingHandProcessor.DEFAULT_READ_BUFFER_SIZE).follow(file, writer, 10);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        awaitOutput(output, lines("3H JS 3C 7C 5D => One Pair", "Line #2 (4H KS)"));
+        Files.writeString(file, "2H\n", StandardCharsets.UTF_8);
+        awaitOutput(output, lines("3H JS 3C 7C 5D => One Pair", "Line #2 (4H KS)", "Line #1 (2H)"));
+
+        follower.interrupt();
+        follower.join(5000);
+        assertFalse(follower.isAlive());
+    }
+
+    private static void awaitOutput(ByteArrayOutputStream output, String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while(!expected.equals(output.toString(StandardCharsets.UTF_8)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(expected, output.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,149 @@
+package org.challenge.metrics;
+
+import org.challenge.evaluators.EvaluationCache;
+import org.challenge.models.ValidationError;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandMetricsTest {
+
+    @Test()
+    public void testPublishedRecordersAreCombined() {
+        HandMetrics metrics = new HandMetrics(1);
+        MetricsRecorder first = metrics.newRecorder();
+        MetricsRecorder second = metrics.newRecorder();
+        record(first, 3);
+        first.recordError(ValidationError.UNMATCHED_RANK, 15);
+        record(second, 2);
+        second.recordError(ValidationError.CARD_COUNT, 12);
+        second.recordError(ValidationError.CARD_LENGTH, 17);
+
+        assertEquals(0, metrics.snapshot().getLines());
+        first.publish();
+        second.publish();
+        second.publish();
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(8, snapshot.getLines());
+        assertEquals(5, snapshot.getHands());
+        assertEquals(3, snapshot.getErrors());
+        assertEquals(5 * 15 + 15 + 12 + 17, snapshot.getBytes());
+        assertEquals(Map.of("UnmatchedCardValueException", 1L, "IllegalArgumentException", 2L), snapshot.getErrorsByExceptionType());
+        assertEquals(Map.of("UNMATCHED_RANK", 1L, "CARD_COUNT", 1L, "CARD_LENGTH", 1L), snapshot.getErrorsByValidationError());
+        assertEquals(5, snapshot.getSampledLines());
+        assertEquals(200, snapshot.getEvaluationLatencyNanos().get("max"));
+    }
+
+    @Test()
+    public void testStagesAreScaledFromSamples() {
+        HandMetrics metrics = new HandMetrics(4);
+        MetricsRecorder recorder = metrics.newRecorder();
+        for (int i = 0; i < 8; i++) {
+            if(recorder.sampleNext()) {
+                recorder.recordSample(10, 20, 30);
+            }
+
+            recorder.recordHand(15);
+        }
+
+        recorder.recordRead(1_000);
+        recorder.publish();
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getSampledLines());
+        assertEquals(Map.of("READ", 1_000L, "PARSE", 80L, "EVALUATE", 160L, "WRITE", 240L), snapshot.getStageNanos());
+    }
+
+    @Test()
+    public void testThreadRecordersAreReadInPlace() throws Exception {
+        HandMetrics metrics = new HandMetrics();
+        Thread worker = new Thread(() -> record(metrics.threadRecorder(), 10));
+        worker.start();
+        worker.join();
+        record(metrics.threadRecorder(), 5);
+
+        assertSame(metrics.threadRecorder(), metrics.threadRecorder());
+        assertEquals(15, metrics.snapshot().getHands());
+    }
+
+    @Test()
+    public void testSnapshotJson() {
+        HandMetrics metrics = new HandMetrics(1);
+        EvaluationCache cache = new EvaluationCache(16, EvaluationCache.DEFAULT_POLICY);
+        cache.get(1);
+        metrics.setCache(cache);
+        MetricsRecorder recorder = metrics.newRecorder();
+        record(recorder, 2);
+        recorder.recordError(ValidationError.DUPLICATE_CARD, 15);
+        recorder.publish();
+
+        String json = metrics.snapshot().toJson();
+        assertTrue(json.startsWith("{\"timestamp\":"));
+        assertTrue(json.contains("\"lines\":3,\"hands\":2,\"errors\":1,\"bytes\":45,"));
+        assertTrue(json.contains("\"errorsByExceptionType\":{\"DuplicateCardException\":1}"));
+        assertTrue(json.contains("\"stageNanos\":{\"READ\":0,\"PARSE\":"));
+        assertTrue(json.contains("\"evaluationLatencyNanos\":{\"p50\":"));
+        assertTrue(json.contains("\"p99.9\":"));
+        assertTrue(json.endsWith("\"cache\":{\"hits\":0,\"misses\":1,\"evictions\":0,\"size\":0,\"hitRate\":0.000}}"));
+    }
+
+    @Test()
+    public void testTotalsAreAddedToLaterSnapshots() {
+        HandMetrics metrics = new HandMetrics();
+        assertFalse(metrics.snapshot().toJson().contains("\"dedup\""));
+
+        Map<String, Long> totals = new LinkedHashMap<>();
+        totals.put("hands", 10L);
+        totals.put("distinct", 3L);
+        metrics.setTotals("dedup", totals);
+        totals.put("distinct", 4L);
+
+        assertEquals(Map.of("dedup", Map.of("hands", 10L, "distinct", 3L)), metrics.snapshot().getTotals());
+        assertTrue(metrics.snapshot().toJson().endsWith("},\"dedup\":{\"hands\":10,\"distinct\":3}}"));
+    }
+
+    @Test()
+    public void testReporterWritesJsonLinesAndRegistersMBean() throws Exception {
+        HandMetrics metrics = new HandMetrics();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(HandMetrics.OBJECT_NAME);
+        try(MetricsReporter reporter = MetricsReporter.start(metrics, new PrintStream(output, true, StandardCharsets.UTF_8), 20)) {
+            MetricsRecorder recorder = metrics.newRecorder();
+            record(recorder, 4);
+            recorder.publish();
+            for (int i = 0; i < 250 && !server.isRegistered(name); i++) {
+                Thread.sleep(20);
+            }
+
+            assertEquals(4L, server.getAttribute(name, "Hands"));
+            reporter.report();
+        }
+
+        assertFalse(server.isRegistered(name));
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(lines.length >= 2);
+        assertTrue(lines[lines.length - 2].contains("\"hands\":4,"));
+        assertTrue(lines[lines.length - 1].contains("\"hands\":4,"));
+    }
+
+    private static void record(MetricsRecorder recorder, int hands) {
+        for (int i = 0; i < hands; i++) {
+            if(recorder.sampleNext()) {
+                recorder.recordSample(100, 200, 300);
+            }
+
+            recorder.recordHand(15);
+        }
+    }
+}
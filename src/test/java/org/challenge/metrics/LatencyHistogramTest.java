@@ -0,0 +1,61 @@
+package org.challenge.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test()
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 20; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(10, histogram.getValueAtPercentile(50));
+        assertEquals(20, histogram.getValueAtPercentile(100));
+        assertEquals(10.5, histogram.getMean());
+        assertEquals(20, histogram.getCount());
+    }
+
+    @Test()
+    public void testLargeValuesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(500_000, histogram.getValueAtPercentile(50), 500_000 * 0.07);
+        assertEquals(990_000, histogram.getValueAtPercentile(99), 990_000 * 0.07);
+        assertEquals(1_000_000, histogram.getValueAtPercentile(99.99));
+        assertEquals(1_000_000, histogram.getMax());
+    }
+
+    @Test()
+    public void testBucketsCoverTheirValues() {
+        for (long value : new long[] {0, 31, 32, 33, 47, 48, 1_000, 123_456_789, Long.MAX_VALUE / 2}) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(LatencyHistogram.highestValueIn(bucket) >= value);
+            assertTrue(bucket == 0 || LatencyHistogram.highestValueIn(bucket - 1) < value);
+        }
+    }
+
+    @Test()
+    public void testMergeAndReset() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        second.record(1_000);
+        second.record(-5);
+        first.merge(second);
+
+        assertEquals(3, first.getCount());
+        assertEquals(1_000, first.getMax());
+        assertEquals(0, first.getValueAtPercentile(0));
+
+        first.reset();
+        assertEquals(0, first.getCount());
+        assertEquals(0, first.getValueAtPercentile(99));
+    }
+}
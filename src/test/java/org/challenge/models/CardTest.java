@@ -4,6 +4,8 @@ import org.challenge.exceptions.UnmatchedCardValueException;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class CardTest {
@@ -64,4 +66,34 @@ public class CardTest {
         assertEquals(CardRank.TWO, card.getCardRank());
         assertEquals(CardSuit.SPADES, card.getCardSuit());
     }
+
+    @Test()
+    public void testValueOfReturnsSharedInstance() throws UnmatchedCardValueException {
+        assertSame(Card.valueOf("QH"), Card.valueOf("qh"));
+        assertSame(Card.valueOf("QH"), Card.valueOf("Q♡"));
+        assertSame(Card.valueOf("QH"), Card.fromMaskIndex(Long.numberOfTrailingZeros(Card.valueOf("QH").getCardMask())));
+    }
+
+    @Test()
+    public void testValueOfKeepsValidation() {
+        UnmatchedCardValueException exception = assertThrows(UnmatchedCardValueException.class, () -> Card.valueOf("2X"));
+        assertEquals("Card Suit X was not able to be matched", exception.getMessage());
+        IllegalArgumentException lengthException = assertThrows(IllegalArgumentException.class, () -> Card.valueOf("2"));
+        assertEquals("Invalid card length, expected 2 characters but was 1", lengthException.getMessage());
+    }
+
+    @Test()
+    public void testConstructedCardEqualsSharedInstance() throws UnmatchedCardValueException {
+        assertEquals(Card.valueOf("TS"), new Card("ts"));
+        assertEquals(Card.valueOf("TS").hashCode(), new Card("T♠").hashCode());
+    }
+
+    @Test()
+    public void testCharacterLookups() {
+        assertEquals(CardRank.TEN, CardRank.findByChar('t'));
+        assertNull(CardRank.findByChar('♠'));
+        assertEquals(CardSuit.SPADES, CardSuit.findByChar('♠'));
+        assertEquals(CardSuit.CLUBS, CardSuit.findByText("c"));
+        assertNull(CardSuit.findByText("CC"));
+    }
 }
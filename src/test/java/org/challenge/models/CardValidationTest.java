@@ -0,0 +1,86 @@
+package org.challenge.models;
+
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CardValidationTest {
+
+    private static long validate(String line) {
+        return CardValidation.validateHand(line.split(" "), 5, 5, null);
+    }
+
+    @Test()
+    public void testValidHandReturnsCardMask() throws Throwable {
+        Card[] cards = new Card[5];
+        long result = CardValidation.validateHand("3H JS 3♣ 7c 5D".split(" "), 5, 5, cards);
+        assertFalse(CardValidation.isError(result));
+        assertEquals(new Hand("3H JS 3C 7C 5D".split(" ")).getCardMask(), result);
+        assertSame(Card.valueOf("3C"), cards[2]);
+    }
+
+    @Test()
+    public void testErrorKindAndPosition() {
+        long result = validate("4H KS UC TH 5C");
+        assertTrue(CardValidation.isError(result));
+        assertEquals(ValidationError.UNMATCHED_RANK, CardValidation.error(result));
+        assertEquals(2, CardValidation.position(result));
+
+        result = validate("4H KS 2C TH 5X");
+        assertEquals(ValidationError.UNMATCHED_SUIT, CardValidation.error(result));
+        assertEquals(4, CardValidation.position(result));
+
+        result = validate("4H KS 2C TH 5X2D");
+        assertEquals(ValidationError.CARD_LENGTH, CardValidation.error(result));
+        assertEquals(4, CardValidation.position(result));
+
+        result = validate("4H KS 2C TH");
+        assertEquals(ValidationError.CARD_COUNT, CardValidation.error(result));
+
+        result = validate("4H KS 2C TH 4H");
+        assertEquals(ValidationError.DUPLICATE_CARD, CardValidation.error(result));
+        assertEquals(4, CardValidation.position(result));
+
+        result = validate("4H KS 2C 4♡ TH");
+        assertEquals(ValidationError.DUPLICATE_CARD, CardValidation.error(result));
+        assertEquals(3, CardValidation.position(result));
+    }
+
+    @Test()
+    public void testDescribeMatchesExceptionText() {
+        String[] lines = {"4H KS UC TH 5C", "4H KS 2C TH 5X", "4H KS 2C TH 5X2D", "4H KS 2C TH", "4H KS 2C TH 4H", "UC 4H KS 4H 2C"};
+        for (String line : lines) {
+            String[] input = line.split(" ");
+            Throwable thrown = assertThrows(Throwable.class, () -> new Hand(input));
+            assertEquals(thrown.toString(), CardValidation.describe(validate(line), input));
+        }
+    }
+
+    @Test()
+    public void testHoldemCardCountMessage() {
+        String[] input = "4H KS 2C TH".split(" ");
+        long result = CardValidation.validateHand(input, 5, 7, null);
+        assertEquals("java.lang.IllegalArgumentException: Expected 5 to 7 Cards but received 4", CardValidation.describe(result, input));
+    }
+
+    @Test()
+    public void testThrowIfErrorUsesExistingExceptionTypes() {
+        String[] unmatched = "4H KS UC TH 5C".split(" ");
+        assertThrows(UnmatchedCardValueException.class, () -> CardValidation.throwIfError(validate("4H KS UC TH 5C"), unmatched));
+
+        String[] duplicate = "4H KS 2C TH 4H".split(" ");
+        assertThrows(DuplicateCardException.class, () -> CardValidation.throwIfError(validate("4H KS 2C TH 4H"), duplicate));
+
+        String[] count = "4H KS".split(" ");
+        assertThrows(IllegalArgumentException.class, () -> CardValidation.throwIfError(validate("4H KS"), count));
+    }
+
+    @Test()
+    public void testValidateCard() throws UnmatchedCardValueException {
+        assertEquals(Card.valueOf("TS").getCardMask(), CardValidation.validateCard("t♠"));
+        assertEquals(ValidationError.NULL_CARD, CardValidation.error(CardValidation.validateCard(null)));
+        assertEquals(ValidationError.UNMATCHED_SUIT, CardValidation.error(CardValidation.validateCard("TX")));
+    }
+}
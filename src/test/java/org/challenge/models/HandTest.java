@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class HandTest {
 
@@ -29,6 +30,19 @@ public class HandTest {
         assertEquals("Hand contains duplicate card(s)", exception.getMessage());
     }
 
+    @Test()
+    public void testDuplicateCardsWithUnicodeSuitException() {
+        String[] handInput = {"2H", "2♡", "4H", "5H", "6H"};
+        DuplicateCardException exception = assertThrows(DuplicateCardException.class, () -> new Hand(handInput));
+        assertEquals("Hand contains duplicate card(s)", exception.getMessage());
+    }
+
+    @Test()
+    public void testCardMaskHasOneBitPerCard() throws UnmatchedCardValueException, DuplicateCardException {
+        String[] handInput = {"2H", "3C", "4D", "5S", "6H"};
+        assertEquals(5, Long.bitCount(new Hand(handInput).getCardMask()));
+    }
+
     @Test()
     public void testTooFewCards() {
         String[] handInput = {"2H", "3H", "4H", "5H"};
@@ -97,6 +111,12 @@ public class HandTest {
         assertEquals(HandRank.FLUSH, new Hand(handInput).determineHandRank());
     }
 
+    @Test()
+    public void testForThreeAndTwoSuitSplitIsNotFlush() throws UnmatchedCardValueException, DuplicateCardException {
+        String[] handInput = {"2C", "3C", "9C", "TD", "KD"};
+        assertEquals(HandRank.HIGH_CARD, new Hand(handInput).determineHandRank());
+    }
+
     @Test()
     public void testForFullHouse() throws UnmatchedCardValueException, DuplicateCardException {
         String[] handInput = {"3H", "3S", "3D", "KS", "KH"};
@@ -132,4 +152,33 @@ public class HandTest {
         String[] handInput = {"QH", "KH", "AH", "2H", "3H"};
         assertEquals(HandRank.FLUSH, new Hand(handInput).determineHandRank());
     }
+
+    @Test()
+    public void testKickerDecidesBetweenPairs() throws UnmatchedCardValueException, DuplicateCardException {
+        Hand aceKicker = new Hand(new String[]{"9H", "9D", "AC", "4S", "2H"});
+        Hand kingKicker = new Hand(new String[]{"9S", "9C", "KC", "QS", "JH"});
+        assertTrue(aceKicker.compareTo(kingKicker) > 0);
+        assertTrue(aceKicker.getStrength() > kingKicker.getStrength());
+    }
+
+    @Test()
+    public void testFullHouseComparesTripsBeforePair() throws UnmatchedCardValueException, DuplicateCardException {
+        Hand threesOverAces = new Hand(new String[]{"3H", "3S", "3D", "AS", "AH"});
+        Hand twosOverKings = new Hand(new String[]{"2H", "2S", "2D", "KS", "KH"});
+        assertTrue(threesOverAces.compareTo(twosOverKings) > 0);
+    }
+
+    @Test()
+    public void testAceLowStraightLosesToSixHighStraight() throws UnmatchedCardValueException, DuplicateCardException {
+        Hand wheel = new Hand(new String[]{"AD", "2H", "3S", "4D", "5C"});
+        Hand sixHigh = new Hand(new String[]{"2D", "3H", "4S", "5D", "6C"});
+        assertTrue(wheel.compareTo(sixHigh) < 0);
+    }
+
+    @Test()
+    public void testSameRanksDifferentSuitsTie() throws UnmatchedCardValueException, DuplicateCardException {
+        Hand first = new Hand(new String[]{"2H", "4C", "5H", "6H", "QD"});
+        Hand second = new Hand(new String[]{"2S", "4D", "5C", "6C", "QH"});
+        assertEquals(0, first.compareTo(second));
+    }
 }
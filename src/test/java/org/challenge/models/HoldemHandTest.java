@@ -0,0 +1,98 @@
+package org.challenge.models;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HoldemHandTest {
+
+    private static HoldemHand hand(String cards) throws UnmatchedCardValueException, DuplicateCardException {
+        return new HoldemHand(cards.split(" "));
+    }
+
+    @Test
+    public void testTooFewCards() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> hand("2H 3H 4H 5H"));
+        assertEquals("Expected 5 to 7 Cards but received 4", exception.getMessage());
+    }
+
+    @Test
+    public void testTooManyCards() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> hand("2H 3H 4H 5H 6H 7H 8H 9H"));
+        assertEquals("Expected 5 to 7 Cards but received 8", exception.getMessage());
+    }
+
+    @Test
+    public void testDuplicateCard() {
+        DuplicateCardException exception = assertThrows(DuplicateCardException.class, () -> hand("2H 3H 4H 5H 6H 2♡"));
+        assertEquals("Hand contains duplicate card(s)", exception.getMessage());
+    }
+
+    @Test
+    public void testFlushBeatsStraightOnTheSameBoard() throws UnmatchedCardValueException, DuplicateCardException {
+        HoldemHand hand = hand("9H 8H 7C 6H 5S 2H KH");
+        assertEquals(HandRank.FLUSH, hand.determineHandRank());
+    }
+
+    @Test
+    public void testStraightFlushInsideSevenCards() throws UnmatchedCardValueException, DuplicateCardException {
+        assertEquals(HandRank.STRAIGHT_FLUSH, hand("AD 2D 3D 4D 5D KC KS").determineHandRank());
+        assertEquals(HandRank.ROYAL_FLUSH, hand("AS KS QS JS TS 9S 8S").determineHandRank());
+    }
+
+    @Test
+    public void testTwoTripsMakeAFullHouse() throws UnmatchedCardValueException, DuplicateCardException {
+        assertEquals(HandRank.FULL_HOUSE, hand("4H 4D 4C 9S 9H 9D 2C").determineHandRank());
+    }
+
+    @Test
+    public void testThirdPairCanPlayAsKicker() throws UnmatchedCardValueException, DuplicateCardException {
+        HoldemHand withQueenKicker = hand("AH AD QC QS KH KD 2C");
+        HoldemHand withJackKicker = hand("AS AC KS KC JH TD 2D");
+        assertEquals(HandRank.TWO_PAIR, withQueenKicker.determineHandRank());
+        assertTrue(withQueenKicker.compareTo(withJackKicker) > 0);
+    }
+
+    @Test
+    public void testMatchesBestOfTwentyOneCombinations() {
+        long[] deck = new long[52];
+        int count = 0;
+        for (CardRank rank : CardRank.values()) {
+            if(rank == CardRank.ONE) {
+                continue;
+            }
+
+            for (CardSuit suit : CardSuit.values()) {
+                deck[count++] = 1L << (suit.getIndex() * Card.SUIT_SHIFT + rank.getIndex());
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        long[] cards = new long[7];
+        for (int trial = 0; trial < 20000; trial++) {
+            long mask = 0;
+            for (int i = 0; i < cards.length; i++) {
+                do {
+                    cards[i] = deck[random.nextInt(deck.length)];
+                } while((mask & cards[i]) != 0);
+
+                mask |= cards[i];
+            }
+
+            int best = 0;
+            for (int skipA = 0; skipA < cards.length; skipA++) {
+                for (int skipB = skipA + 1; skipB < cards.length; skipB++) {
+                    long fiveCards = mask & ~cards[skipA] & ~cards[skipB];
+                    best = Math.max(best, BitMaskHandEvaluator.INSTANCE.determineStrength(fiveCards));
+                }
+            }
+
+            assertEquals(best, BitMaskHandEvaluator.INSTANCE.determineStrength(mask), "Card mask " + Long.toHexString(mask));
+        }
+    }
+}
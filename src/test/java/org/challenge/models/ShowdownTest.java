@@ -0,0 +1,50 @@
+package org.challenge.models;
+
+import org.challenge.exceptions.DuplicateCardException;
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShowdownTest {
+
+    private static Hand hand(String cards) throws UnmatchedCardValueException, DuplicateCardException {
+        return new Hand(cards.split(" "));
+    }
+
+    @Test
+    public void testSingleWinner() throws UnmatchedCardValueException, DuplicateCardException {
+        Hand pairOfKings = hand("KH KD 2C 5S 9H");
+        Hand pairOfQueens = hand("QH QD AC JS TH");
+        assertEquals(List.of(pairOfKings), Showdown.findWinners(List.of(pairOfQueens, pairOfKings)));
+    }
+
+    @Test
+    public void testSplitPot() throws UnmatchedCardValueException, DuplicateCardException {
+        Hand first = hand("2H 3H 4D 5S 6C");
+        Hand second = hand("2D 3C 4H 5C 6S");
+        Hand third = hand("AH AD KC QS JH");
+        assertArrayEquals(new int[]{0, 1}, Showdown.findWinnerIndexes(new Hand[]{first, second, third}));
+    }
+
+    @Test
+    public void testNoHands() {
+        assertTrue(Showdown.findWinners(List.of()).isEmpty());
+        assertEquals(0, Showdown.findWinnerIndexes(new Hand[0]).length);
+    }
+
+    @Test
+    public void testSortStrongestFirst() throws UnmatchedCardValueException, DuplicateCardException {
+        Hand highCard = hand("2H 4C 5H 6H QD");
+        Hand flush = hand("2H 3H 9H TH KH");
+        Hand twoPair = hand("2H 2C 4S 4H TD");
+        List<Hand> hands = new ArrayList<>(List.of(highCard, flush, twoPair));
+
+        Showdown.sortStrongestFirst(hands);
+
+        assertEquals(List.of(flush, twoPair, highCard), hands);
+    }
+}
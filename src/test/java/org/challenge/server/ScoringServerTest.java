@@ -0,0 +1,134 @@
+package org.challenge.server;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.io.ByteLineScorer;
+import org.challenge.io.StreamingHandProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoringServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ScoringServer server;
+    private Thread serverThread;
+
+    private SocketAddress start(SocketAddress address) throws IOException {
+        this.server = new ScoringServer(address, () -> new ByteLineScorer(BitMaskHandEvaluator.INSTANCE, 5, 5, (line, lineNumber) -> "Line #" + lineNumber + " (" + line + ")"), 4);
+        this.serverThread = Thread.ofVirtual().start(() -> {
+            try {
+                this.server.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        return this.server.getLocalAddress();
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        if(this.server != null) {
+            this.server.close();
+            this.serverThread.join();
+        }
+    }
+
+    private static String lines(String... lines) {
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+
+    private static String exchange(SocketAddress address, String request) throws IOException {
+        try(SocketChannel channel = address instanceof UnixDomainSocketAddress ? SocketChannel.open(StandardProtocolFamily.UNIX) : SocketChannel.open()) {
+            channel.connect(address);
+            channel.write(ByteBuffer.wrap(request.getBytes(StandardCharsets.UTF_8)));
+            channel.shutdownOutput();
+
+            ByteArrayOutputStream response = new ByteArrayOutputStream();
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            while(channel.read(buffer) >= 0) {
+                response.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+
+            return response.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test()
+    public void testPipelinedLinesOverTcp() throws IOException {
+        SocketAddress address = start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        String response = exchange(address, "3H JS 3C 7C 5D\n4H KS UC TH 5C\r\n\n2s 3s 6s 5s 4♠");
+        assertEquals(lines("3H JS 3C 7C 5D => One Pair", "Line #2 (4H KS UC TH 5C)", "2s 3s 6s 5s 4♠ => Straight Flush"), response);
+    }
+
+    @Test()
+    public void testUnixDomainSocketIsRemovedOnClose() throws Exception {
+        Path socket = this.tempDir.resolve("scoring.sock");
+        SocketAddress address = start(UnixDomainSocketAddress.of(socket));
+        assertEquals(lines("AH KH QH JH TH => Royal Flush"), exchange(address, "AH KH QH JH TH\n"));
+
+        this.server.close();
+        assertFalse(Files.exists(socket));
+    }
+
+    @Test()
+    public void testOverlongLineIsReportedAndSkipped() throws IOException {
+        SocketAddress address = start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        String request = "X".repeat(StreamingHandProcessor.DEFAULT_READ_BUFFER_SIZE * 2) + "\n3H JS 3C 7C 5D\n";
+        assertEquals(lines("Line #1 exceeds the maximum length of " + StreamingHandProcessor.DEFAULT_READ_BUFFER_SIZE + " bytes", "3H JS 3C 7C 5D => One Pair"), exchange(address, request));
+    }
+
+    @Test()
+    public void testLoadGeneratorReceivesEveryResult() throws Exception {
+        SocketAddress address = start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        // More connections than the server's 4 permits, so some wait in the accept backlog until others finish
+        LoadGenerator.Result result = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> new LoadGenerator(address, 42).run(8, 500));
+        assertEquals(4_000, result.hands());
+        assertEquals(result.hands(), result.responses());
+    }
+
+    @Test()
+    public void testLoadGeneratorReportsConnectionClosedEarly() throws Exception {
+        try(ServerSocketChannel silentServer = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            Thread.ofVirtual().start(() -> {
+                // Reads every hand and then closes the connection without answering any of them
+                try(SocketChannel connection = silentServer.accept()) {
+                    ByteBuffer buffer = ByteBuffer.allocate(1024);
+                    while(connection.read(buffer) >= 0) {
+                        buffer.clear();
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            IOException exception = assertThrows(IOException.class, () -> new LoadGenerator(silentServer.getLocalAddress(), 42).run(1, 10));
+            assertEquals("Server closed the connection after 0 of 10 results", exception.getMessage());
+        }
+    }
+
+    @Test()
+    public void testParseAddress() {
+        assertEquals(new InetSocketAddress(InetAddress.getLoopbackAddress(), 7000), ScoringServer.parseAddress("7000"));
+        assertEquals(UnixDomainSocketAddress.of("/tmp/poker.sock"), ScoringServer.parseAddress("/tmp/poker.sock"));
+    }
+}
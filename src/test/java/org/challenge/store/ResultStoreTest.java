@@ -0,0 +1,131 @@
+package org.challenge.store;
+
+import org.challenge.evaluators.BitMaskHandEvaluator;
+import org.challenge.exceptions.UnmatchedCardValueException;
+import org.challenge.models.Card;
+import org.challenge.models.HandRank;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static long cardMask(String hand) throws UnmatchedCardValueException {
+        long mask = 0;
+        for (String card : hand.split(" ")) {
+            mask |= new Card(card).getCardMask();
+        }
+
+        return mask;
+    }
+
+    @Test()
+    public void testAppendAndRead() throws IOException, UnmatchedCardValueException {
+        try(ResultStore store = new ResultStore(ResultStore.DEFAULT_MEMORY_LIMIT, tempDir)) {
+            long fullHouse = cardMask("9C 3H 9S 9H 3S");
+            int strength = BitMaskHandEvaluator.INSTANCE.determineStrength(fullHouse);
+            assertEquals(0, store.append(12, fullHouse, strength));
+
+            assertEquals(1, store.size());
+            assertEquals(12, store.getLineNumber(0));
+            assertEquals(fullHouse, store.getCardMask(0));
+            assertEquals(strength, store.getStrength(0));
+            assertEquals(HandRank.FULL_HOUSE, store.getHandRank(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getStrength(1));
+        }
+    }
+
+    @Test()
+    public void testScansAcrossDirectAndSpilledSegments() throws IOException {
+        List<Long> expected = new ArrayList<>();
+        long[] rankCounts = new long[HandRank.values().length];
+        SplittableRandom random = new SplittableRandom(23);
+        int segmentBytes = 64 * ResultStore.RECORD_SIZE;
+        try(ResultStore store = new ResultStore(2L * segmentBytes, tempDir, 64)) {
+            for (long line = 1; line <= 1000; line++) {
+                long mask = randomHand(random);
+                int strength = BitMaskHandEvaluator.INSTANCE.determineStrength(mask);
+                store.append(line, mask, strength);
+                HandRank rank = BitMaskHandEvaluator.INSTANCE.determineHandRank(mask);
+                rankCounts[rank.ordinal()]++;
+                if(rank == HandRank.TWO_PAIR) {
+                    expected.add(line);
+                }
+            }
+
+            assertEquals(2L * segmentBytes, store.getMemoryBytes());
+            assertEquals(14L * segmentBytes, store.getSpilledBytes());
+            // The spill file is unlinked as soon as it is opened where the platform allows it
+            try(var files = Files.list(tempDir)) {
+                assertTrue(files.count() <= 1);
+            }
+
+            List<Long> lines = new ArrayList<>();
+            long visited = store.scan(HandRank.TWO_PAIR, (index, lineNumber, cardMask, strength) -> {
+                assertEquals(index + 1, lineNumber);
+                assertEquals(HandRank.TWO_PAIR, store.getHandRank(index));
+                lines.add(lineNumber);
+            });
+            assertEquals(expected, lines);
+            assertEquals(expected.size(), visited);
+
+            for (HandRank rank : HandRank.values()) {
+                assertEquals(rankCounts[rank.ordinal()], store.count(rank), rank.name());
+            }
+
+            long[] total = new long[1];
+            store.scan((index, lineNumber, cardMask, strength) -> total[0]++);
+            assertEquals(1000, total[0]);
+        }
+
+        try(var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test()
+    public void testCloseLeavesNoSpillFile() throws IOException, UnmatchedCardValueException {
+        long flush = cardMask("2H 5H 9H JH KH");
+        int strength = BitMaskHandEvaluator.INSTANCE.determineStrength(flush);
+        ResultStore store = new ResultStore(0, tempDir, 64);
+        for (long line = 1; line <= 200; line++) {
+            store.append(line, flush, strength);
+        }
+
+        assertEquals(0, store.getMemoryBytes());
+        assertEquals(200, store.count(HandRank.FLUSH));
+        assertEquals(strength, store.getStrength(199));
+        store.close();
+        store.close();
+
+        try(var files = Files.list(tempDir)) {
+            assertEquals(List.of(), files.filter(file -> file.getFileName().toString().endsWith(".spill")).toList());
+        }
+    }
+
+    @Test()
+    public void testRejectsInvalidSegments() {
+        assertThrows(IllegalArgumentException.class, () -> new ResultStore(0, tempDir, 100));
+        assertThrows(IllegalArgumentException.class, () -> new ResultStore(-1, tempDir));
+    }
+
+    private static long randomHand(SplittableRandom random) {
+        long mask = 0;
+        while(Long.bitCount(mask) < 5) {
+            mask |= 1L << (random.nextInt(4) * Card.SUIT_SHIFT + 1 + random.nextInt(13));
+        }
+
+        return mask;
+    }
+}